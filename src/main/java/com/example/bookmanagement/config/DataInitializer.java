@@ -3,6 +3,7 @@ package com.example.bookmanagement.config;
 import com.example.bookmanagement.entity.Admin;
 import com.example.bookmanagement.entity.Book;
 import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
 import com.example.bookmanagement.entity.Member;
 import com.example.bookmanagement.repository.AdminRepository;
 import com.example.bookmanagement.repository.BookRepository;
@@ -121,61 +122,63 @@ public class DataInitializer implements CommandLineRunner {
                 // 김민수 - 자바의 정석 (3주 전 대출 → 1주 전 반납)
                 loanCount += createLoan(bookList.get(0), memberList.get(0),
                         LocalDate.now().minusDays(21), LocalDate.now().minusDays(7),
-                        LocalDate.now().minusDays(8), "RETURNED");
+                        LocalDate.now().minusDays(8), LoanStatus.RETURNED);
 
                 // 이서연 - 클린 코드 (4주 전 대출 → 2주 전 반납)
                 loanCount += createLoan(bookList.get(2), memberList.get(1),
                         LocalDate.now().minusDays(28), LocalDate.now().minusDays(14),
-                        LocalDate.now().minusDays(15), "RETURNED");
+                        LocalDate.now().minusDays(15), LoanStatus.RETURNED);
 
                 // 박지훈 - 이펙티브 자바 (5주 전 대출 → 3주 전 반납)
                 loanCount += createLoan(bookList.get(3), memberList.get(2),
                         LocalDate.now().minusDays(35), LocalDate.now().minusDays(21),
-                        LocalDate.now().minusDays(20), "RETURNED");
+                        LocalDate.now().minusDays(20), LoanStatus.RETURNED);
 
                 // 최유진 - 헤드 퍼스트 디자인 패턴 (6주 전 대출 → 5주 전 반납)
                 loanCount += createLoan(bookList.get(7), memberList.get(3),
                         LocalDate.now().minusDays(42), LocalDate.now().minusDays(28),
-                        LocalDate.now().minusDays(35), "RETURNED");
+                        LocalDate.now().minusDays(35), LoanStatus.RETURNED);
 
                 // 정하늘 - 데이터베이스 개론 (3주 전 대출 → 5일 전 반납)
                 loanCount += createLoan(bookList.get(10), memberList.get(4),
                         LocalDate.now().minusDays(21), LocalDate.now().minusDays(7),
-                        LocalDate.now().minusDays(5), "RETURNED");
+                        LocalDate.now().minusDays(5), LoanStatus.RETURNED);
 
                 // 강도현 - 점프 투 파이썬 (2주 전 대출 → 3일 전 반납)
                 loanCount += createLoan(bookList.get(13), memberList.get(5),
                         LocalDate.now().minusDays(14), LocalDate.now(),
-                        LocalDate.now().minusDays(3), "RETURNED");
+                        LocalDate.now().minusDays(3), LoanStatus.RETURNED);
 
                 // 2) 현재 대출 중 3건 (APPROVED)
                 // 김민수 - 모던 자바 인 액션 (1주 전 대출, 반납 예정 7일 후)
                 loanCount += createLoan(bookList.get(5), memberList.get(0),
                         LocalDate.now().minusDays(7), LocalDate.now().plusDays(7),
-                        null, "APPROVED");
+                        null, LoanStatus.APPROVED);
 
                 // 윤서아 - 리팩터링 (10일 전 대출, 반납 예정 4일 후)
                 loanCount += createLoan(bookList.get(9), memberList.get(6),
                         LocalDate.now().minusDays(10), LocalDate.now().plusDays(4),
-                        null, "APPROVED");
+                        null, LoanStatus.APPROVED);
 
                 // 임재원 - 알고리즘 문제 해결 전략 (3일 전 대출, 반납 예정 11일 후)
                 loanCount += createLoan(bookList.get(12), memberList.get(7),
                         LocalDate.now().minusDays(3), LocalDate.now().plusDays(11),
-                        null, "APPROVED");
+                        null, LoanStatus.APPROVED);
 
                 // 3) 승인 대기 1건 (REQUESTED)
                 // 한소희 - 객체지향의 사실과 오해 (오늘 신청)
                 loanCount += createLoan(bookList.get(4), memberList.get(8),
                         LocalDate.now(), LocalDate.now().plusDays(14),
-                        null, "REQUESTED");
+                        null, LoanStatus.REQUESTED);
 
                 // 4) 반납 대기 1건 (RETURN_REQUESTED)
                 // 오준영 - HTTP 완벽 가이드 (2주 전 대출, 반납 신청)
                 loanCount += createLoan(bookList.get(14), memberList.get(9),
                         LocalDate.now().minusDays(14), LocalDate.now(),
-                        null, "RETURN_REQUESTED");
+                        null, LoanStatus.RETURN_REQUESTED);
 
+                // 샘플 대출은 서비스를 거치지 않으므로 회원별 대출 중 권수를 대출 기록으로 맞춤
+                memberRepository.recountActiveLoans();
                 System.out.println("=== 샘플 대출 이력 " + loanCount + "건 생성 ===");
             }
         }
@@ -184,7 +187,7 @@ public class DataInitializer implements CommandLineRunner {
     // 대출 기록 생성 헬퍼 메서드
     private int createLoan(Book book, Member member,
                            LocalDate borrowDate, LocalDate returnDueDate,
-                           LocalDate returnedDate, String status) {
+                           LocalDate returnedDate, LoanStatus status) {
         Loan loan = new Loan();
         loan.setBook(book);
         loan.setMember(member);
@@ -0,0 +1,10 @@
+package com.example.bookmanagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 작업 활성화 (연체 처리 OverdueSweeper 등)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
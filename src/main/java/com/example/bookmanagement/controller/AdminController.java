@@ -1,6 +1,7 @@
 package com.example.bookmanagement.controller;
 
 import com.example.bookmanagement.entity.Admin;
+import com.example.bookmanagement.search.SearchResultCache;
 import com.example.bookmanagement.service.AdminService;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -10,7 +11,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import java.util.Map;
 import java.util.Optional;
 
 // 관리자 전용 컨트롤러 (관리자 정보 수정, 관리자 등록)
@@ -20,10 +23,13 @@ public class AdminController {
 
     private final AdminService adminService;
     private final PasswordEncoder passwordEncoder;
+    private final SearchResultCache searchResultCache;
 
-    public AdminController(AdminService adminService, PasswordEncoder passwordEncoder) {
+    public AdminController(AdminService adminService, PasswordEncoder passwordEncoder,
+                           SearchResultCache searchResultCache) {
         this.adminService = adminService;
         this.passwordEncoder = passwordEncoder;
+        this.searchResultCache = searchResultCache;
     }
 
     // 최초 로그인 시 관리자 정보 입력 페이지
@@ -90,4 +96,11 @@ public class AdminController {
         return "redirect:/admin/profile";
     }
 
+    // 도서 검색 결과 캐시 통계 (JSON: 적중률, 교체 횟수 등)
+    @GetMapping("/search-cache")
+    @ResponseBody
+    public Map<String, Object> searchCacheStats() {
+        return searchResultCache.stats();
+    }
+
 }
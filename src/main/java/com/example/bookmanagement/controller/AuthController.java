@@ -4,6 +4,7 @@ import com.example.bookmanagement.entity.Admin;
 import com.example.bookmanagement.entity.Member;
 import com.example.bookmanagement.repository.MemberRepository;
 import com.example.bookmanagement.service.AdminService;
+import com.example.bookmanagement.service.MemberService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -12,7 +13,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
-import java.time.LocalDateTime;
 import java.util.Optional;
 
 // 인증 관련 컨트롤러 (로그인, 회원가입, 비밀번호 찾기)
@@ -21,12 +21,14 @@ import java.util.Optional;
 public class AuthController {
 
     private final AdminService adminService;
+    private final MemberService memberService;
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
 
-    public AuthController(AdminService adminService, MemberRepository memberRepository,
-                          PasswordEncoder passwordEncoder) {
+    public AuthController(AdminService adminService, MemberService memberService,
+                          MemberRepository memberRepository, PasswordEncoder passwordEncoder) {
         this.adminService = adminService;
+        this.memberService = memberService;
         this.memberRepository = memberRepository;
         this.passwordEncoder = passwordEncoder;
     }
@@ -66,8 +68,8 @@ public class AuthController {
         member.setUsername(username);
         member.setPassword(passwordEncoder.encode(password));
         member.setRole("USER");
-        member.setCreatedAt(LocalDateTime.now());
-        memberRepository.save(member);
+        // 회원 검색 색인에도 반영되도록 MemberService를 통해 저장
+        memberService.save(member);
 
         redirectAttributes.addFlashAttribute("message", "회원가입이 완료되었습니다. 로그인해주세요.");
         return "redirect:/auth/login";
@@ -2,8 +2,15 @@ package com.example.bookmanagement.controller;
 
 import com.example.bookmanagement.entity.Book;
 import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.search.BookSearchResult;
+import com.example.bookmanagement.search.Suggestion;
 import com.example.bookmanagement.service.BookService;
+import com.example.bookmanagement.service.KeysetPage;
 import com.example.bookmanagement.service.LoanService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,9 +18,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.io.IOException;
+import java.util.List;
+import java.util.Set;
 
 // 도서 관리 컨트롤러 (CRUD만 담당, 대출/반납은 LoanController)
 @Controller
@@ -33,20 +43,60 @@ public class BookController {
     public String list(
             @RequestParam(required = false, defaultValue = "all") String type,
             @RequestParam(required = false, defaultValue = "") String keyword,
+            @RequestParam(required = false, defaultValue = "") String author,
+            @RequestParam(required = false, defaultValue = "") String publisher,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size,
             Model model) {
 
-        if (keyword.isEmpty()) {
-            model.addAttribute("books", bookService.findAll());
+        Set<Long> borrowedIds;
+        Pageable pageable = PageRequest.of(Math.max(page, 0), KeysetPage.size(size), Sort.by("id"));
+        boolean filtered = !author.isEmpty() || !publisher.isEmpty() || available != null;
+        if (keyword.isEmpty() && !filtered) {
+            // 전체 목록은 키셋 페이징 (도서 수와 무관하게 페이지당 size+1건만 조회)
+            borrowedIds = loanService.getBorrowedBookIds();
+            KeysetPage<Book> result = bookService.findPage(after, before, KeysetPage.size(size));
+            model.addAttribute("books", result.getContent());
+            PageLinks.addTo(model, result);
+        } else if (keyword.isEmpty() || !bookService.isSearchIndexReady()) {
+            // 검색어 없이 상세 조건만 있거나 색인 생성 전이면 DB 조건 검색 (한 번의 쿼리 + COUNT)
+            borrowedIds = loanService.getBorrowedBookIds();
+            Page<Book> result = bookService.searchByCondition(type, keyword, author, publisher, available, pageable);
+            model.addAttribute("books", result.getContent());
+            model.addAttribute("totalCount", result.getTotalElements());
+            PageLinks.addTo(model, result);
         } else {
-            model.addAttribute("books", bookService.search(type, keyword));
+            // 색인 검색 → 상세 조건 → 항목별 건수는 같은 ID 목록으로 계산
+            // 같은 조건의 결과가 캐시에 있으면 검색·대출 조회 없이 그대로 사용
+            BookSearchResult result = bookService.searchPage(type, keyword, author, publisher, available,
+                    pageable, loanService::getBorrowedBookIds);
+            borrowedIds = result.getBorrowedIds();
+            model.addAttribute("books", result.getBooks().getContent());
+            model.addAttribute("totalCount", result.getBooks().getTotalElements());
+            model.addAttribute("facets", result.getFacets());
+            PageLinks.addTo(model, result.getBooks());
         }
-        model.addAttribute("borrowedBookIds", loanService.getBorrowedBookIds());
+        model.addAttribute("borrowedBookIds", borrowedIds);
         model.addAttribute("type", type);
         model.addAttribute("keyword", keyword);
+        model.addAttribute("author", author);
+        model.addAttribute("publisher", publisher);
+        model.addAttribute("available", available);
 
         return "book/list";
     }
 
+    // 검색창 자동완성 (JSON) - 전체 페이지를 다시 그리지 않고 후보만 반환
+    @GetMapping("/autocomplete")
+    @ResponseBody
+    public List<Suggestion> autocomplete(@RequestParam(required = false, defaultValue = "") String q,
+                                         @RequestParam(required = false, defaultValue = "8") int limit) {
+        return bookService.autocomplete(q, limit);
+    }
+
     // 도서 등록 폼
     @GetMapping("/new")
     public String newForm(Model model) {
@@ -93,6 +143,8 @@ public class BookController {
 
         // 대출 이력 추가
         model.addAttribute("loanHistory", loanService.findByBookId(id));
+        // 이 책을 빌린 회원이 함께 빌린 책
+        model.addAttribute("borrowedTogether", bookService.findBorrowedTogether(id));
 
         return "book/detail";
     }
@@ -140,15 +192,21 @@ public class BookController {
             // 이미지 변경 없음 → 기존 유지
             book.setCoverImage(existing.getCoverImage());
         }
-        bookService.update(id, book);
+        try {
+            bookService.update(id, book);
+        } catch (RuntimeException e) {
+            // 대출 중인 권보다 적게 보유 권수를 줄이려는 경우 등
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/books/" + id + "/edit";
+        }
         redirectAttributes.addFlashAttribute("message", "도서 정보가 수정되었습니다.");
         return "redirect:/books";
     }
 
-    // 도서 삭제 (대출 중인 도서는 삭제 불가)
+    // 도서 삭제 (한 권이라도 대출 중인 도서는 삭제 불가)
     @PostMapping("/{id}/delete")
     public String delete(@PathVariable Long id, RedirectAttributes redirectAttributes) {
-        if (loanService.isBookBorrowed(id)) {
+        if (loanService.hasActiveLoans(id)) {
             redirectAttributes.addFlashAttribute("error", "대출 중인 도서는 삭제할 수 없습니다. 반납 후 다시 시도해주세요.");
             return "redirect:/books";
         }
@@ -157,7 +215,7 @@ public class BookController {
         if (book.getCoverImage() != null) {
             bookService.deleteCoverImage(book.getCoverImage());
         }
-        // 과거 대출 이력 먼저 삭제 (외래키 제약조건)
+        // 과거 대출 이력 먼저 삭제 (외래키 제약조건, 소장본은 BookService.delete에서 삭제)
         loanService.deleteByBookId(id);
         bookService.delete(id);
         redirectAttributes.addFlashAttribute("message", "도서가 삭제되었습니다.");
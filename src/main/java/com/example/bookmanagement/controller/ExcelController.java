@@ -2,6 +2,7 @@ package com.example.bookmanagement.controller;
 
 import com.example.bookmanagement.entity.Book;
 import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
 import com.example.bookmanagement.entity.LoginHistory;
 import com.example.bookmanagement.service.BookService;
 import com.example.bookmanagement.service.ExcelService;
@@ -80,13 +81,16 @@ public class ExcelController {
         }
     }
 
-    // 대출/반납 목록 엑셀 다운로드
+    // 대출/반납 목록 엑셀 다운로드 (status: 상태 필터, overdue=true: 연체만)
     @GetMapping("/loans")
     public ResponseEntity<byte[]> loanListExcel(
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) LoanStatus status,
+            @RequestParam(required = false, defaultValue = "false") boolean overdue) {
         try {
             List<Loan> loans;
-            if (status != null && !status.isEmpty()) {
+            if (overdue) {
+                loans = loanService.findOverdueLoans();
+            } else if (status != null) {
                 loans = loanService.findByStatus(status);
             } else {
                 loans = loanService.findAll();
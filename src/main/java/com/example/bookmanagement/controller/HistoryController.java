@@ -1,10 +1,13 @@
 package com.example.bookmanagement.controller;
 
+import com.example.bookmanagement.entity.LoginHistory;
+import com.example.bookmanagement.service.KeysetPage;
 import com.example.bookmanagement.service.LoginHistoryService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 
 // 이력 관리 컨트롤러 (관리자용)
 @Controller
@@ -17,10 +20,15 @@ public class HistoryController {
         this.loginHistoryService = loginHistoryService;
     }
 
-    // 로그인 이력 페이지
+    // 로그인 이력 페이지 (최신순 키셋 페이징)
     @GetMapping("/login")
-    public String loginHistory(Model model) {
-        model.addAttribute("histories", loginHistoryService.findAll());
+    public String loginHistory(@RequestParam(required = false) Long after,
+                               @RequestParam(required = false) Long before,
+                               @RequestParam(required = false, defaultValue = "50") int size,
+                               Model model) {
+        KeysetPage<LoginHistory> result = loginHistoryService.findPage(after, before, KeysetPage.size(size));
+        model.addAttribute("histories", result.getContent());
+        PageLinks.addTo(model, result);
         return "admin/login-history";
     }
 }
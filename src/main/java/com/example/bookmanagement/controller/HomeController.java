@@ -3,6 +3,7 @@ package com.example.bookmanagement.controller;
 import com.example.bookmanagement.service.BookService;
 import com.example.bookmanagement.service.LoanService;
 import com.example.bookmanagement.service.MemberService;
+import com.example.bookmanagement.service.PopularBookRanking;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -15,11 +16,14 @@ public class HomeController {
     private final BookService bookService;
     private final MemberService memberService;
     private final LoanService loanService;
+    private final PopularBookRanking popularBookRanking;
 
-    public HomeController(BookService bookService, MemberService memberService, LoanService loanService) {
+    public HomeController(BookService bookService, MemberService memberService, LoanService loanService,
+                          PopularBookRanking popularBookRanking) {
         this.bookService = bookService;
         this.memberService = memberService;
         this.loanService = loanService;
+        this.popularBookRanking = popularBookRanking;
     }
 
     // 루트 URL → 역할에 따라 분기
@@ -49,6 +53,9 @@ public class HomeController {
         model.addAttribute("recentLoans", loanService.findActiveLoans());
         model.addAttribute("pendingCount", loanService.countPendingRequests());
         model.addAttribute("returnRequestCount", loanService.countReturnRequests());
+        model.addAttribute("overdueCount", loanService.countOverdueLoans());
+        // 인기 도서 (기간별 순위는 메모리 카운터, 도서 정보만 기본키 조회)
+        model.addAttribute("popularRankings", popularBookRanking.rankings(PopularBookRanking.TOP_LIMIT));
 
         return "dashboard";
     }
@@ -1,10 +1,16 @@
 package com.example.bookmanagement.controller;
 
 import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
 import com.example.bookmanagement.entity.Member;
 import com.example.bookmanagement.service.BookService;
+import com.example.bookmanagement.service.BulkResult;
+import com.example.bookmanagement.service.KeysetPage;
 import com.example.bookmanagement.service.LoanService;
 import com.example.bookmanagement.service.MemberService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,6 +28,9 @@ import java.util.Set;
 @RequestMapping("/loans")
 public class LoanController {
 
+    // 대출 폼의 회원 선택 목록에 처음 넣어두는 인원 수
+    private static final int INITIAL_MEMBER_OPTIONS = 50;
+
     private final LoanService loanService;
     private final BookService bookService;
     private final MemberService memberService;
@@ -32,18 +41,28 @@ public class LoanController {
         this.memberService = memberService;
     }
 
-    // 대출/반납 내역 (상태별 필터링 지원)
+    // 대출/반납 내역 (상태별 필터링 지원, overdue=true면 연체 표시된 대출만)
+    // 최신순 키셋 페이징 (after: 다음 페이지, before: 이전 페이지)
     @GetMapping
-    public String list(@RequestParam(required = false) String status, Model model) {
-        if (status != null && !status.isEmpty()) {
-            model.addAttribute("loans", loanService.findByStatus(status));
-            model.addAttribute("currentStatus", status);
-        } else {
-            model.addAttribute("loans", loanService.findAll());
+    public String list(@RequestParam(required = false) LoanStatus status,
+                       @RequestParam(required = false, defaultValue = "false") boolean overdue,
+                       @RequestParam(required = false) Long after,
+                       @RequestParam(required = false) Long before,
+                       @RequestParam(required = false, defaultValue = "20") int size,
+                       Model model) {
+        KeysetPage<Loan> result = overdue
+                ? loanService.findOverduePage(after, before, KeysetPage.size(size))
+                : loanService.findPage(status, after, before, KeysetPage.size(size));
+        model.addAttribute("loans", result.getContent());
+        PageLinks.addTo(model, result);
+        if (status != null && !overdue) {
+            model.addAttribute("currentStatus", status.name());
         }
+        model.addAttribute("overdueOnly", overdue);
         // 상태별 건수 (탭 뱃지용)
         model.addAttribute("pendingCount", loanService.countPendingRequests());
         model.addAttribute("returnRequestCount", loanService.countReturnRequests());
+        model.addAttribute("overdueCount", loanService.countOverdueLoans());
         return "loan/list";
     }
 
@@ -61,7 +80,9 @@ public class LoanController {
         }
 
         model.addAttribute("books", availableBooks);
-        model.addAttribute("members", memberService.findAll());
+        // 회원은 처음 일부만 목록에 넣고, 나머지는 이름/전화번호 뒷자리 조회로 찾음 (/members/lookup)
+        model.addAttribute("members", memberService.findPage(
+                PageRequest.of(0, INITIAL_MEMBER_OPTIONS, Sort.by("id"))).getContent());
         return "loan/form";
     }
 
@@ -72,7 +93,13 @@ public class LoanController {
                          RedirectAttributes redirectAttributes) {
         Book book = bookService.findById(bookId);
         Member member = memberService.findById(memberId);
-        loanService.borrow(book, member);
+        try {
+            loanService.borrow(book, member);
+        } catch (RuntimeException e) {
+            // 대출 가능한 권 없음 / 회원 대출 한도 초과 등
+            redirectAttributes.addFlashAttribute("error", e.getMessage());
+            return "redirect:/loans";
+        }
         redirectAttributes.addFlashAttribute("message",
                 "'" + book.getTitle() + "' 도서가 " + member.getName() + " 회원에게 대출되었습니다.");
         return "redirect:/loans";
@@ -109,4 +136,33 @@ public class LoanController {
         redirectAttributes.addFlashAttribute("message", "반납이 확인되었습니다.");
         return "redirect:/loans";
     }
+
+    // 일괄 처리 (목록에서 선택한 여러 건을 한 번에 승인/거절/반납 확인)
+    // 처리 후 보던 상태 탭으로 돌아가고, 건별 결과는 목록 위에 표시
+    @PostMapping("/bulk")
+    public String bulk(@RequestParam String action,
+                       @RequestParam(required = false) List<Long> ids,
+                       @RequestParam(required = false) LoanStatus status,
+                       RedirectAttributes redirectAttributes) {
+        String redirect = "redirect:/loans" + (status != null ? "?status=" + status.name() : "");
+        if (ids == null || ids.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "처리할 대출 기록을 선택해주세요.");
+            return redirect;
+        }
+
+        BulkResult result;
+        if ("approve".equals(action)) {
+            result = loanService.approveAll(ids);
+        } else if ("reject".equals(action)) {
+            result = loanService.rejectAll(ids);
+        } else if ("confirm-return".equals(action)) {
+            result = loanService.confirmReturnAll(ids);
+        } else {
+            throw new RuntimeException("알 수 없는 일괄 처리입니다: " + action);
+        }
+
+        redirectAttributes.addFlashAttribute(result.getSuccessCount() > 0 ? "message" : "error", result.getSummary());
+        redirectAttributes.addFlashAttribute("bulkResult", result);
+        return redirect;
+    }
 }
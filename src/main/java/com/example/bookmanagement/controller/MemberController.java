@@ -1,8 +1,14 @@
 package com.example.bookmanagement.controller;
 
 import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.search.MemberSuggestion;
+import com.example.bookmanagement.service.KeysetPage;
 import com.example.bookmanagement.service.LoanService;
 import com.example.bookmanagement.service.MemberService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,7 +16,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import java.util.List;
 
 // 회원 관리 컨트롤러
 @Controller
@@ -30,19 +38,31 @@ public class MemberController {
     public String list(
             @RequestParam(required = false, defaultValue = "all") String type,
             @RequestParam(required = false, defaultValue = "") String keyword,
+            @RequestParam(required = false, defaultValue = "0") int page,
+            @RequestParam(required = false, defaultValue = "20") int size,
             Model model) {
 
-        if (keyword.isEmpty()) {
-            model.addAttribute("members", memberService.findAll());
-        } else {
-            model.addAttribute("members", memberService.search(type, keyword));
-        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), KeysetPage.size(size), Sort.by("id"));
+        Page<Member> result = keyword.isEmpty()
+                ? memberService.findPage(pageable)
+                : memberService.search(type, keyword, pageable);
+        model.addAttribute("members", result.getContent());
+        model.addAttribute("totalCount", result.getTotalElements());
+        PageLinks.addTo(model, result);
         model.addAttribute("type", type);
         model.addAttribute("keyword", keyword);
 
         return "member/list";
     }
 
+    // 대출 데스크 회원 조회 (JSON) - 이름 일부 또는 전화번호 뒷자리
+    @GetMapping("/lookup")
+    @ResponseBody
+    public List<MemberSuggestion> lookup(@RequestParam(required = false, defaultValue = "") String q,
+                                         @RequestParam(required = false, defaultValue = "20") int limit) {
+        return memberService.lookup(q, KeysetPage.size(limit));
+    }
+
     // 회원 등록 폼
     @GetMapping("/new")
     public String newForm(Model model) {
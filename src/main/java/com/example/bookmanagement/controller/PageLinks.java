@@ -0,0 +1,36 @@
+package com.example.bookmanagement.controller;
+
+import com.example.bookmanagement.service.KeysetPage;
+import org.springframework.data.domain.Page;
+import org.springframework.ui.Model;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
+
+// 목록 화면의 이전/다음 링크 (fragments/pagination :: pager에서 사용)
+// 현재 요청의 검색 조건(type, keyword, status 등)은 그대로 두고 페이지 파라미터만 교체
+final class PageLinks {
+
+    private PageLinks() {
+    }
+
+    // 키셋 페이징: after(다음) / before(이전) 커서
+    static void addTo(Model model, KeysetPage<?> page) {
+        model.addAttribute("prevUrl", page.isHasPrevious() ? link("before", page.getFirstId(), "after") : null);
+        model.addAttribute("nextUrl", page.isHasNext() ? link("after", page.getLastId(), "before") : null);
+    }
+
+    // 번호 페이징: page (0부터 시작)
+    static void addTo(Model model, Page<?> page) {
+        model.addAttribute("prevUrl", page.hasPrevious() ? link("page", page.getNumber() - 1, null) : null);
+        model.addAttribute("nextUrl", page.hasNext() ? link("page", page.getNumber() + 1, null) : null);
+        model.addAttribute("pageLabel", (page.getNumber() + 1) + " / " + Math.max(1, page.getTotalPages()));
+    }
+
+    private static String link(String param, Object value, String removeParam) {
+        ServletUriComponentsBuilder builder = ServletUriComponentsBuilder.fromCurrentRequest();
+        if (removeParam != null) builder.replaceQueryParam(removeParam);
+        // 요청 쿼리 문자열은 이미 인코딩되어 있으므로 다시 인코딩하지 않음 (build(true))
+        UriComponents uri = builder.replaceQueryParam(param, value).build(true);
+        return uri.getPath() + "?" + uri.getQuery();
+    }
+}
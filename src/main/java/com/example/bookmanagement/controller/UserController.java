@@ -1,13 +1,25 @@
 package com.example.bookmanagement.controller;
 
 import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Hold;
 import com.example.bookmanagement.entity.Loan;
 import com.example.bookmanagement.entity.Member;
 import com.example.bookmanagement.repository.MemberRepository;
+import com.example.bookmanagement.search.BookSearchResult;
+import com.example.bookmanagement.search.Suggestion;
 import com.example.bookmanagement.service.BookService;
+import com.example.bookmanagement.service.HoldService;
+import com.example.bookmanagement.service.IdempotencyService;
+import com.example.bookmanagement.service.KeysetPage;
 import com.example.bookmanagement.service.LoanService;
+import com.example.bookmanagement.service.MemberService;
+import com.example.bookmanagement.service.PopularBookRanking;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,6 +27,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.ArrayList;
 import java.util.List;
@@ -28,14 +41,24 @@ public class UserController {
 
     private final BookService bookService;
     private final LoanService loanService;
+    private final HoldService holdService;
+    private final MemberService memberService;
     private final MemberRepository memberRepository;
+    private final PopularBookRanking popularBookRanking;
+    private final IdempotencyService idempotencyService;
     private final PasswordEncoder passwordEncoder;
 
-    public UserController(BookService bookService, LoanService loanService,
-                          MemberRepository memberRepository, PasswordEncoder passwordEncoder) {
+    public UserController(BookService bookService, LoanService loanService, HoldService holdService,
+                          MemberService memberService, MemberRepository memberRepository,
+                          PopularBookRanking popularBookRanking, IdempotencyService idempotencyService,
+                          PasswordEncoder passwordEncoder) {
         this.bookService = bookService;
         this.loanService = loanService;
+        this.holdService = holdService;
+        this.memberService = memberService;
         this.memberRepository = memberRepository;
+        this.popularBookRanking = popularBookRanking;
+        this.idempotencyService = idempotencyService;
         this.passwordEncoder = passwordEncoder;
     }
 
@@ -52,6 +75,7 @@ public class UserController {
         model.addAttribute("member", member);
         model.addAttribute("myLoans", loanService.findByMemberId(member.getId()));
         model.addAttribute("totalBooks", bookService.count());
+        model.addAttribute("popularRankings", popularBookRanking.rankings(PopularBookRanking.TOP_LIMIT));
         return "user/dashboard";
     }
 
@@ -59,22 +83,61 @@ public class UserController {
     @GetMapping("/books")
     public String books(@RequestParam(required = false, defaultValue = "all") String type,
                         @RequestParam(required = false, defaultValue = "") String keyword,
+                        @RequestParam(required = false, defaultValue = "") String author,
+                        @RequestParam(required = false, defaultValue = "") String publisher,
+                        @RequestParam(required = false) Boolean available,
+                        @RequestParam(required = false) Long after,
+                        @RequestParam(required = false) Long before,
+                        @RequestParam(required = false, defaultValue = "0") int page,
+                        @RequestParam(required = false, defaultValue = "20") int size,
                         Model model) {
         List<Book> books;
-        if (keyword.isEmpty()) {
-            books = bookService.findAll();
+        Set<Long> borrowedIds;
+        Pageable pageable = PageRequest.of(Math.max(page, 0), KeysetPage.size(size), Sort.by("id"));
+        boolean filtered = !author.isEmpty() || !publisher.isEmpty() || available != null;
+        if (keyword.isEmpty() && !filtered) {
+            // 전체 목록은 키셋 페이징
+            borrowedIds = loanService.getBorrowedBookIds();
+            KeysetPage<Book> result = bookService.findPage(after, before, KeysetPage.size(size));
+            books = result.getContent();
+            PageLinks.addTo(model, result);
+        } else if (keyword.isEmpty() || !bookService.isSearchIndexReady()) {
+            // 검색어 없이 상세 조건만 있거나 색인 생성 전이면 DB 조건 검색 (한 번의 쿼리 + COUNT)
+            borrowedIds = loanService.getBorrowedBookIds();
+            Page<Book> result = bookService.searchByCondition(type, keyword, author, publisher, available, pageable);
+            books = result.getContent();
+            model.addAttribute("totalCount", result.getTotalElements());
+            PageLinks.addTo(model, result);
         } else {
-            books = bookService.search(type, keyword);
+            // 색인 검색 → 상세 조건 → 항목별 건수는 같은 ID 목록으로 계산
+            // 같은 조건의 결과가 캐시에 있으면 검색·대출 조회 없이 그대로 사용
+            BookSearchResult result = bookService.searchPage(type, keyword, author, publisher, available,
+                    pageable, loanService::getBorrowedBookIds);
+            borrowedIds = result.getBorrowedIds();
+            books = result.getBooks().getContent();
+            model.addAttribute("totalCount", result.getBooks().getTotalElements());
+            model.addAttribute("facets", result.getFacets());
+            PageLinks.addTo(model, result.getBooks());
         }
 
-        Set<Long> borrowedIds = loanService.getBorrowedBookIds();
         model.addAttribute("books", books);
         model.addAttribute("borrowedBookIds", borrowedIds);
         model.addAttribute("type", type);
         model.addAttribute("keyword", keyword);
+        model.addAttribute("author", author);
+        model.addAttribute("publisher", publisher);
+        model.addAttribute("available", available);
         return "user/books";
     }
 
+    // 검색창 자동완성 (JSON)
+    @GetMapping("/books/autocomplete")
+    @ResponseBody
+    public List<Suggestion> autocomplete(@RequestParam(required = false, defaultValue = "") String q,
+                                         @RequestParam(required = false, defaultValue = "8") int limit) {
+        return bookService.autocomplete(q, limit);
+    }
+
     // 도서 상세 (사용자용)
     // 본인 대출이면 정보 전체 표시, 타인이면 마스킹 처리
     @GetMapping("/books/{id}")
@@ -104,8 +167,16 @@ public class UserController {
             }
         }
 
+        // 예약 대기 인원 / 내 예약 여부 (대출 중일 때 예약 버튼 표시용)
+        if (activeLoan != null) {
+            model.addAttribute("holdCount", holdService.countByBookId(id));
+            model.addAttribute("hasHold", holdService.hasHold(id, getCurrentMember(authentication).getId()));
+        }
+
         // 대출 이력 추가
         model.addAttribute("loanHistory", loanService.findByBookId(id));
+        // 이 책을 빌린 회원이 함께 빌린 책
+        model.addAttribute("borrowedTogether", bookService.findBorrowedTogether(id));
 
         return "book/detail";
     }
@@ -126,36 +197,77 @@ public class UserController {
         return phone;
     }
 
-    // 대출 신청
+    // 대출 신청 (같은 폼 키로 다시 보내면 처음 결과를 그대로 표시, 신청/알림은 한 번만)
     @PostMapping("/books/{bookId}/request")
     public String requestLoan(@PathVariable Long bookId,
+                              @RequestParam(required = false) String idempotencyKey,
                               Authentication authentication,
                               RedirectAttributes redirectAttributes) {
         Member member = getCurrentMember(authentication);
         Book book = bookService.findById(bookId);
+        IdempotencyService.Result result = idempotencyService.execute(
+                member.getId(), idempotencyKey, "LOAN_REQUEST:" + bookId, () -> {
+                    loanService.requestLoan(book, member);
+                    return "'" + book.getTitle() + "' 대출 신청이 완료되었습니다. 관리자 승인을 기다려주세요.";
+                });
+        redirectAttributes.addFlashAttribute(result.isSuccess() ? "message" : "error", result.getMessage());
+        return "redirect:/user/books";
+    }
+
+    // 예약 (대출 중인 도서 → 반납되면 순서대로 대출 신청으로 전환)
+    @PostMapping("/books/{bookId}/hold")
+    public String placeHold(@PathVariable Long bookId,
+                            Authentication authentication,
+                            RedirectAttributes redirectAttributes) {
+        Member member = getCurrentMember(authentication);
+        Book book = bookService.findById(bookId);
         try {
-            loanService.requestLoan(book, member);
+            holdService.placeHold(book, member);
             redirectAttributes.addFlashAttribute("message",
-                    "'" + book.getTitle() + "' 대출 신청이 완료되었습니다. 관리자 승인을 기다려주세요.");
+                    "'" + book.getTitle() + "' 예약이 완료되었습니다. 반납되면 순서대로 대출 신청됩니다.");
         } catch (RuntimeException e) {
             redirectAttributes.addFlashAttribute("error", e.getMessage());
         }
         return "redirect:/user/books";
     }
 
-    // 내 대출 현황
+    // 예약 취소
+    @PostMapping("/holds/{id}/cancel")
+    public String cancelHold(@PathVariable Long id,
+                             Authentication authentication,
+                             RedirectAttributes redirectAttributes) {
+        holdService.cancelHold(id, getCurrentMember(authentication).getId());
+        redirectAttributes.addFlashAttribute("message", "예약이 취소되었습니다.");
+        return "redirect:/user/my-loans";
+    }
+
+    // 내 대출 현황 (+ 예약 대기 목록과 내 순서)
     @GetMapping("/my-loans")
     public String myLoans(Authentication authentication, Model model) {
         Member member = getCurrentMember(authentication);
         model.addAttribute("loans", loanService.findByMemberId(member.getId()));
+        List<Hold> holds = holdService.findByMemberId(member.getId());
+        model.addAttribute("holds", holds);
+        model.addAttribute("holdRanks", holdService.ranksOf(holds));
+        // 대출 한도 대비 현재 권수
+        model.addAttribute("activeLoanCount", loanService.countActiveLoansByMember(member.getId()));
+        model.addAttribute("maxActiveLoans", loanService.getMaxActiveLoans());
         return "user/my-loans";
     }
 
-    // 반납 신청
+    // 반납 신청 (같은 폼 키로 다시 보내면 처음 결과를 그대로 표시, 관리자 알림은 한 번만)
     @PostMapping("/loans/{id}/return")
-    public String requestReturn(@PathVariable Long id, RedirectAttributes redirectAttributes) {
-        loanService.requestReturn(id);
-        redirectAttributes.addFlashAttribute("message", "반납 신청이 완료되었습니다. 관리자 확인을 기다려주세요.");
+    public String requestReturn(@PathVariable Long id,
+                                @RequestParam(required = false) String idempotencyKey,
+                                Authentication authentication,
+                                RedirectAttributes redirectAttributes) {
+        Member member = getCurrentMember(authentication);
+        IdempotencyService.Result result = idempotencyService.execute(
+                member.getId(), idempotencyKey, "RETURN_REQUEST:" + id, () -> {
+                    loanService.requestReturn(id, member.getId());
+                    return "반납 신청이 완료되었습니다. 관리자 확인을 기다려주세요.";
+                });
+        redirectAttributes.addFlashAttribute(result.isSuccess() ? "message" : "error", result.getMessage());
         return "redirect:/user/my-loans";
     }
 
@@ -176,7 +288,8 @@ public class UserController {
         Member member = getCurrentMember(authentication);
         member.setName(name);
         member.setPhone(phone.replaceAll("-", ""));
-        memberRepository.save(member);
+        // 회원 검색 색인에도 반영되도록 MemberService를 통해 수정
+        memberService.update(member.getId(), member);
         redirectAttributes.addFlashAttribute("message", "정보가 수정되었습니다.");
         return "redirect:/user/profile";
     }
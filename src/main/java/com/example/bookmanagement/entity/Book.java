@@ -5,13 +5,17 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
 // @Entity: 이 클래스가 DB의 'book' 테이블과 1:1 매핑됨
 // 대출 관련 정보는 Loan 엔티티에서 관리 (책임 분리)
 @Entity
-@Table(name = "book")
+// updated_at 인덱스: 검색 색인 스냅샷 이후 바뀐 도서만 조회할 때 사용
+@Table(name = "book", indexes = @Index(name = "idx_book_updated_at", columnList = "updated_at"))
 public class Book {
 
     @Id
@@ -36,9 +40,19 @@ public class Book {
     @Column(length = 255)
     private String coverImage; // 표지 이미지 파일명
 
+    // 보유 권수 / 대출 가능 권수 (소장본은 BookCopy)
+    // 두 값은 InventoryService의 조건부 UPDATE로만 바뀜 → updatable = false로 도서 수정 시 덮어쓰지 않음
+    @Column(nullable = false, updatable = false)
+    private int totalCopies = 1;
+
+    @Column(nullable = false, updatable = false)
+    private int availableCopies = 1;
+
     @Column(updatable = false)
     private LocalDateTime createdAt; // 등록일시
 
+    private LocalDateTime updatedAt; // 최종 수정일시 (등록/수정 시 자동 갱신)
+
     // 기본 생성자 (JPA 필수)
     public Book() {
     }
@@ -51,6 +65,13 @@ public class Book {
         this.createdAt = LocalDateTime.now();
     }
 
+    // 저장/수정 직전에 수정일시 갱신
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
     // --- Getter / Setter ---
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -73,6 +94,15 @@ public class Book {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
     public String getCoverImage() { return coverImage; }
     public void setCoverImage(String coverImage) { this.coverImage = coverImage; }
+
+    public int getTotalCopies() { return totalCopies; }
+    public void setTotalCopies(int totalCopies) { this.totalCopies = totalCopies; }
+
+    public int getAvailableCopies() { return availableCopies; }
+    public void setAvailableCopies(int availableCopies) { this.availableCopies = availableCopies; }
 }
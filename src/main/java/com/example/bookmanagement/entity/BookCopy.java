@@ -0,0 +1,61 @@
+package com.example.bookmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+// 소장본 엔티티: 도서(Book, 서지 정보) 한 권의 실물 한 권
+// 같은 책을 여러 권 보유하면 Book 한 건 + BookCopy 여러 건 (도서를 중복 등록하지 않음)
+// (book_id, on_loan) 인덱스로 대출 가능한 소장본 한 권을 바로 찾음
+@Entity
+@Table(name = "book_copy",
+        uniqueConstraints = @UniqueConstraint(name = "uk_copy_book_no", columnNames = {"book_id", "copy_no"}),
+        indexes = @Index(name = "idx_copy_book_on_loan", columnList = "book_id, on_loan"))
+public class BookCopy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    // 도서 안에서의 소장본 번호 (1번, 2번 ...)
+    @Column(nullable = false)
+    private Integer copyNo;
+
+    // 대출(신청) 중인지
+    @Column(nullable = false)
+    private boolean onLoan = false;
+
+    // 기본 생성자 (JPA 필수)
+    public BookCopy() {
+    }
+
+    public BookCopy(Book book, Integer copyNo) {
+        this.book = book;
+        this.copyNo = copyNo;
+    }
+
+    // --- Getter / Setter ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Book getBook() { return book; }
+    public void setBook(Book book) { this.book = book; }
+
+    public Integer getCopyNo() { return copyNo; }
+    public void setCopyNo(Integer copyNo) { this.copyNo = copyNo; }
+
+    public boolean isOnLoan() { return onLoan; }
+    public void setOnLoan(boolean onLoan) { this.onLoan = onLoan; }
+}
@@ -0,0 +1,75 @@
+package com.example.bookmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import java.time.LocalDateTime;
+
+// 예약(대기) 엔티티: 대출 중인 도서를 반납 순서대로 기다리는 회원
+// 도서별 FIFO 대기열 → position이 작을수록 앞 순서
+// (book_id, position) UNIQUE 인덱스로 맨 앞 한 건을 바로 찾음 (반납 시 대기열 길이와 무관하게 승격)
+@Entity
+@NamedEntityGraph(name = Hold.WITH_BOOK, attributeNodes = @NamedAttributeNode("book"))
+@NamedEntityGraph(name = Hold.WITH_MEMBER, attributeNodes = @NamedAttributeNode("member"))
+@Table(name = "loan_hold",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_hold_book_position", columnNames = {"book_id", "position"}),
+                // 같은 도서를 두 번 예약할 수 없음
+                @UniqueConstraint(name = "uk_hold_book_member", columnNames = {"book_id", "member_id"})
+        },
+        indexes = @Index(name = "idx_hold_member", columnList = "member_id"))
+public class Hold {
+
+    // 엔티티 그래프 이름
+    public static final String WITH_BOOK = "Hold.withBook";
+    public static final String WITH_MEMBER = "Hold.withMember";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+
+    // 도서 안에서의 대기 순서 (마지막 번호 + 1, 앞 순서가 빠져도 번호는 그대로)
+    @Column(nullable = false)
+    private Long position;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt; // 예약 일시
+
+    // 기본 생성자 (JPA 필수)
+    public Hold() {
+    }
+
+    // --- Getter / Setter ---
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Book getBook() { return book; }
+    public void setBook(Book book) { this.book = book; }
+
+    public Member getMember() { return member; }
+    public void setMember(Member member) { this.member = member; }
+
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
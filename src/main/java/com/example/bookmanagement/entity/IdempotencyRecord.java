@@ -0,0 +1,71 @@
+package com.example.bookmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+// 중복 제출 방지 키 (idempotency_record): 같은 폼을 두 번 보내도 처음 결과를 그대로 돌려주기 위한 기록
+// 키는 "회원 ID:폼 키" (폼마다 화면을 그릴 때 새로 만든 키), 처리 전 completed=false로 먼저 선점
+// 메모리 캐시(IdempotencyService)에서 밀려나거나 서버가 재시작/여러 대여도 이 표로 확인
+// 읽기/쓰기는 IdempotencyRecordRepository (새 기록 INSERT의 기본키 충돌로 선점 여부 판단)
+// ID를 직접 정하므로 Persistable로 새 기록임을 알림 → save가 SELECT 후 UPDATE(merge)하지 않고 항상 INSERT
+@Entity
+@Table(name = "idempotency_record", indexes = @Index(name = "idx_idempotency_created", columnList = "created_at"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String id;
+
+    @Column(nullable = false, length = 50)
+    private String action;       // 처리 종류 (예: LOAN_REQUEST:12)
+
+    @Column(nullable = false)
+    private boolean completed;   // 처리 완료 여부 (false면 처리 중)
+
+    @Column(nullable = false)
+    private boolean success;
+
+    @Column(length = 500)
+    private String message;      // 처음 처리 결과 메시지 (재요청 시 그대로 표시)
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;   // 선점 시각 (처리 중인 채로 오래 남은 키를 다시 가져갈 때 갱신)
+
+    @Transient
+    private boolean isNew;       // 생성자로 만든 새 기록만 true (DB에서 읽은 기록은 false)
+
+    // 기본 생성자 (JPA 필수)
+    public IdempotencyRecord() {
+    }
+
+    // 키 선점용 새 기록 (처리 중)
+    public IdempotencyRecord(String id, String action, LocalDateTime createdAt) {
+        this.id = id;
+        this.action = action;
+        this.createdAt = createdAt;
+        this.isNew = true;
+    }
+
+    // --- Getter ---
+    @Override
+    public String getId() { return id; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public String getAction() { return action; }
+
+    public boolean isCompleted() { return completed; }
+
+    public boolean isSuccess() { return success; }
+
+    public String getMessage() { return message; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -2,34 +2,75 @@ package com.example.bookmanagement.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 // @Entity: 이 클래스가 DB의 'loan' 테이블과 1:1 매핑됨
 // 대출/반납 기록을 저장하는 엔티티
 // Book과 Member를 연결하는 "다리" 역할
+// 도서/회원은 기본 지연 로딩(LAZY), 화면별로 필요한 연관만 엔티티 그래프로 한 번에 조인해서 조회
+// (LoanRepository의 @EntityGraph 참고 → 목록 행마다 도서/회원 SELECT가 추가로 나가지 않음)
 @Entity
-@Table(name = "loan")
+@NamedEntityGraph(name = Loan.WITH_BOOK_AND_MEMBER,
+        attributeNodes = {@NamedAttributeNode("book"), @NamedAttributeNode("member")})
+@NamedEntityGraph(name = Loan.WITH_BOOK, attributeNodes = @NamedAttributeNode("book"))
+@NamedEntityGraph(name = Loan.WITH_MEMBER, attributeNodes = @NamedAttributeNode("member"))
+// 상태별 목록/건수와 대출 중 도서·회원 조회가 (status, ...) 인덱스만으로 처리되도록 복합 인덱스 추가
+@Table(name = "loan", indexes = {
+        @Index(name = "idx_loan_status_book", columnList = "status, book_id"),
+        @Index(name = "idx_loan_status_member", columnList = "status, member_id"),
+        // 연체 처리(OverdueSweeper)와 연체 목록/건수: overdue 일치 + 반납기한 범위로 조회
+        @Index(name = "idx_loan_overdue_due", columnList = "overdue, return_due_date"),
+        // 보관 대상(오래된 반납 완료 기록) 조회
+        @Index(name = "idx_loan_status_returned", columnList = "status, returned_date"),
+        // 인기 도서 기간별 순위 재계산 (최근 대출일 범위)
+        @Index(name = "idx_loan_borrow_date", columnList = "borrow_date")
+})
 public class Loan {
 
+    // 엔티티 그래프 이름
+    public static final String WITH_BOOK_AND_MEMBER = "Loan.withBookAndMember";
+    public static final String WITH_BOOK = "Loan.withBook";
+    public static final String WITH_MEMBER = "Loan.withMember";
+
+    // 대출 중으로 보는 상태 (LoanStatus.isBorrowed) → 이 상태인 대출은 소장본당 하나만 허용
+    // 상태가 추가되어도 isBorrowed 하나만 고치면 되도록 enum에서 만들고, 공용 상수라 변경 불가로 감쌈
+    public static final Set<LoanStatus> BORROWED_STATUSES = Collections.unmodifiableSet(
+            Arrays.stream(LoanStatus.values())
+                    .filter(LoanStatus::isBorrowed)
+                    .collect(Collectors.toCollection(() -> EnumSet.noneOf(LoanStatus.class))));
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     // @ManyToOne: 여러 대출 기록이 하나의 도서를 참조할 수 있음
     // (한 도서가 시간 차를 두고 여러 번 대출될 수 있으므로)
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "book_id", nullable = false)
     private Book book;
 
     // @ManyToOne: 여러 대출 기록이 하나의 회원을 참조할 수 있음
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "member_id", nullable = false)
     private Member member;
 
@@ -42,24 +83,46 @@ public class Loan {
     private LocalDate returnedDate; // 실제 반납일 (null이면 아직 대출 중)
 
     // 대출 상태: REQUESTED(신청) → APPROVED(승인) → RETURN_REQUESTED(반납신청) → RETURNED(반납완료)
+    @Enumerated(EnumType.STRING)
     @Column(length = 30)
-    private String status;
+    private LoanStatus status;
 
     @Column(updatable = false)
     private LocalDateTime createdAt; // 기록 생성일시
 
+    // 대출된 소장본 (도서 한 권 = 여러 소장본 중 하나, 소장본 도입 전 반납된 기록은 null)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "copy_id")
+    private BookCopy copy;
+
+    // 대출 중이면 소장본 ID, 아니면 null (저장 시 status로 자동 설정)
+    // UNIQUE 제약 → 같은 소장본의 대출 중 기록이 동시에 두 건 저장되는 것을 DB가 막음 (NULL은 여러 건 허용)
+    @Column(name = "active_copy_id", unique = true)
+    private Long activeCopyId;
+
+    // 연체 처리 여부 (OverdueSweeper가 반납기한이 지난 대출 중 기록에 true로 표시)
+    // → 연체 목록/건수를 행마다 날짜 계산 없이 SQL 조건으로 조회
+    @Column(nullable = false)
+    private boolean overdue = false;
+
     // 기본 생성자 (JPA 필수)
     public Loan() {
     }
 
+    @PrePersist
+    @PreUpdate
+    public void syncActiveCopyId() {
+        this.activeCopyId = status != null && status.isBorrowed() && copy != null ? copy.getId() : null;
+    }
+
     // 대출 중인지 확인 (승인 상태이고 반납 안 됨)
     public boolean isActive() {
-        return "APPROVED".equals(this.status) && this.returnedDate == null;
+        return this.status == LoanStatus.APPROVED && this.returnedDate == null;
     }
 
-    // 연체 여부 확인
+    // 연체 여부 확인 (다음 연체 처리 전이라도 화면에는 날짜 기준으로 바로 표시)
     public boolean isOverdue() {
-        return isActive() && LocalDate.now().isAfter(this.returnDueDate);
+        return isActive() && (overdue || LocalDate.now().isAfter(this.returnDueDate));
     }
 
     // --- Getter / Setter ---
@@ -81,9 +144,17 @@ public class Loan {
     public LocalDate getReturnedDate() { return returnedDate; }
     public void setReturnedDate(LocalDate returnedDate) { this.returnedDate = returnedDate; }
 
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
+    public LoanStatus getStatus() { return status; }
+    public void setStatus(LoanStatus status) { this.status = status; }
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public BookCopy getCopy() { return copy; }
+    public void setCopy(BookCopy copy) { this.copy = copy; }
+
+    public Long getActiveCopyId() { return activeCopyId; }
+
+    // 연체 처리 표시 여부 (DB 값 그대로)
+    public boolean isOverdueMarked() { return overdue; }
 }
@@ -0,0 +1,102 @@
+package com.example.bookmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.Table;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// 보관된 대출 기록 (loan_archive): 반납 후 일정 기간이 지난 기록을 LoanArchiver가 loan 테이블에서 옮겨 옴
+// loan 테이블에는 진행 중/최근 기록만 남아 승인/반납 처리와 상태별 조회가 작은 테이블만 읽음
+// ID는 원래 대출 기록 ID 그대로 (자동 생성 아님), 보관된 기록은 수정하지 않음
+@Entity
+@NamedEntityGraph(name = LoanArchive.WITH_BOOK, attributeNodes = @NamedAttributeNode("book"))
+@NamedEntityGraph(name = LoanArchive.WITH_MEMBER, attributeNodes = @NamedAttributeNode("member"))
+@NamedEntityGraph(name = LoanArchive.WITH_BOOK_AND_MEMBER,
+        attributeNodes = {@NamedAttributeNode("book"), @NamedAttributeNode("member")})
+// 도서별/회원별 이력은 최신순으로 조회
+@Table(name = "loan_archive", indexes = {
+        @Index(name = "idx_loan_archive_book_created", columnList = "book_id, created_at"),
+        @Index(name = "idx_loan_archive_member_created", columnList = "member_id, created_at")
+})
+public class LoanArchive {
+
+    // 엔티티 그래프 이름
+    public static final String WITH_BOOK = "LoanArchive.withBook";
+    public static final String WITH_MEMBER = "LoanArchive.withMember";
+    public static final String WITH_BOOK_AND_MEMBER = "LoanArchive.withBookAndMember";
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "book_id", nullable = false)
+    private Book book;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "member_id", nullable = false)
+    private Member member;
+
+    @Column(nullable = false)
+    private LocalDate borrowDate;
+
+    @Column(nullable = false)
+    private LocalDate returnDueDate;
+
+    private LocalDate returnedDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 30)
+    private LoanStatus status;
+
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt; // 보관 처리 일시
+
+    // 기본 생성자 (JPA 필수)
+    public LoanArchive() {
+    }
+
+    // 화면/내보내기에서 대출 기록과 같은 형태로 다루기 위한 변환 (저장되지 않는 Loan 객체)
+    public Loan toLoan() {
+        Loan loan = new Loan();
+        loan.setId(id);
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(borrowDate);
+        loan.setReturnDueDate(returnDueDate);
+        loan.setReturnedDate(returnedDate);
+        loan.setStatus(status);
+        loan.setCreatedAt(createdAt);
+        return loan;
+    }
+
+    // --- Getter ---
+    public Long getId() { return id; }
+
+    public Book getBook() { return book; }
+
+    public Member getMember() { return member; }
+
+    public LocalDate getBorrowDate() { return borrowDate; }
+
+    public LocalDate getReturnDueDate() { return returnDueDate; }
+
+    public LocalDate getReturnedDate() { return returnedDate; }
+
+    public LoanStatus getStatus() { return status; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,58 @@
+package com.example.bookmanagement.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+// 대출 이벤트 로그 (loan_event): 대출 상태가 바뀔 때마다 한 줄씩 추가만 함 (수정/삭제 없음)
+// loan 테이블은 현재 상태만 덮어쓰고 거절 시 행을 지우므로, 이력/통계는 이 로그를 재생해서 다시 계산
+// 대출/도서/회원은 ID만 저장 (외래키 없음 → 대출 삭제/보관, 도서/회원 삭제 후에도 로그는 그대로)
+// 쓰기는 LoanEventLog의 JDBC 배치 INSERT, ID 순서 = 발생 순서
+@Entity
+@Table(name = "loan_event", indexes = @Index(name = "idx_loan_event_loan", columnList = "loan_id"))
+public class LoanEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long loanId;
+
+    @Column(nullable = false)
+    private Long bookId;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private LoanEventType type;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt; // 발생 일시
+
+    // 기본 생성자 (JPA 필수)
+    public LoanEvent() {
+    }
+
+    // --- Getter ---
+    public Long getId() { return id; }
+
+    public Long getLoanId() { return loanId; }
+
+    public Long getBookId() { return bookId; }
+
+    public Long getMemberId() { return memberId; }
+
+    public LoanEventType getType() { return type; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
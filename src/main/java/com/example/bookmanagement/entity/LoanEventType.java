@@ -0,0 +1,11 @@
+package com.example.bookmanagement.entity;
+
+// 대출 이벤트 종류 (loan_event.type, 이름 문자열 그대로 저장)
+// 직접 대출은 신청 없이 APPROVED, 예약 승격은 REQUESTED로 기록
+public enum LoanEventType {
+    REQUESTED,
+    APPROVED,
+    REJECTED,
+    RETURN_REQUESTED,
+    RETURNED
+}
@@ -0,0 +1,15 @@
+package com.example.bookmanagement.entity;
+
+// 대출 상태 (DB에는 이름 문자열 그대로 저장: @Enumerated(EnumType.STRING))
+// 상태 흐름: REQUESTED(신청) → APPROVED(승인) → RETURN_REQUESTED(반납신청) → RETURNED(반납완료)
+public enum LoanStatus {
+    REQUESTED,
+    APPROVED,
+    RETURN_REQUESTED,
+    RETURNED;
+
+    // 대출 중으로 보는 상태인지 (신청 / 승인 / 반납 신청)
+    public boolean isBorrowed() {
+        return this != RETURNED;
+    }
+}
@@ -36,6 +36,11 @@ public class Member {
     @Column(updatable = false)
     private LocalDateTime createdAt; // 등록일시
 
+    // 현재 대출(신청/승인/반납 대기) 중인 권수 → 대출 한도 확인용
+    // LoanService의 조건부 UPDATE로만 증감 (updatable = false로 회원 수정 시 덮어쓰지 않음, 폼 바인딩용 setter 없음)
+    @Column(nullable = false, updatable = false)
+    private int activeLoanCount = 0;
+
     // 기본 생성자 (JPA 필수)
     public Member() {
     }
@@ -77,4 +82,6 @@ public class Member {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public int getActiveLoanCount() { return activeLoanCount; }
 }
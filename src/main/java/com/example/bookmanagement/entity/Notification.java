@@ -21,7 +21,7 @@ public class Notification {
     @Column(nullable = false)
     private Long recipientId;
 
-    // 알림 유형: LOAN_REQUESTED, LOAN_APPROVED, LOAN_REJECTED, RETURN_REQUESTED, RETURN_CONFIRMED
+    // 알림 유형: LOAN_REQUESTED, LOAN_APPROVED, LOAN_REJECTED, RETURN_REQUESTED, RETURN_CONFIRMED, LOAN_OVERDUE, HOLD_READY
     @Column(nullable = false, length = 30)
     private String type;
 
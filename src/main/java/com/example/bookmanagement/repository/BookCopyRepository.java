@@ -0,0 +1,43 @@
+package com.example.bookmanagement.repository;
+
+import com.example.bookmanagement.entity.BookCopy;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// 소장본 DB 접근 담당
+// 대출 가능한 소장본 찾기는 (book_id, on_loan) 인덱스 → 대출 기록을 읽지 않음
+@Repository
+public interface BookCopyRepository extends JpaRepository<BookCopy, Long> {
+
+    // 대출 가능한 소장본 한 권 (번호 순)
+    Optional<BookCopy> findFirstByBookIdAndOnLoanFalseOrderByCopyNoAsc(Long bookId);
+
+    // 대출 중 표시 (아직 대출 가능일 때만 → 다른 요청이 먼저 가져갔으면 0)
+    @Modifying
+    @Query("UPDATE BookCopy c SET c.onLoan = true WHERE c.id = :id AND c.onLoan = false")
+    int markOnLoan(@Param("id") Long id);
+
+    // 반납/거절된 소장본을 대출 가능으로 (UPDATE 한 번)
+    @Modifying
+    @Query("UPDATE BookCopy c SET c.onLoan = false WHERE c.id IN :ids")
+    int markReturned(@Param("ids") Collection<Long> ids);
+
+    // 마지막 소장본 번호 (추가 소장본은 +1부터)
+    @Query("SELECT MAX(c.copyNo) FROM BookCopy c WHERE c.book.id = :bookId")
+    Integer findLastCopyNo(@Param("bookId") Long bookId);
+
+    // 보유 권수를 줄일 때 뺄 소장본 (대출 가능한 것 중 번호가 큰 순)
+    List<BookCopy> findByBookIdAndOnLoanFalseOrderByCopyNoDesc(Long bookId, Pageable pageable);
+
+    // 특정 도서의 소장본 전체 삭제 (도서 삭제 시)
+    @Modifying
+    @Query("DELETE FROM BookCopy c WHERE c.book.id = :bookId")
+    int deleteByBookId(@Param("bookId") Long bookId);
+}
@@ -1,8 +1,16 @@
 package com.example.bookmanagement.repository;
 
 import com.example.bookmanagement.entity.Book;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 // @Repository: 이 인터페이스가 DB 접근 담당임을 선언
@@ -12,8 +20,9 @@ import java.util.List;
 //   - save(book): 저장/수정
 //   - deleteById(id): 삭제
 // 즉, SQL을 직접 작성하지 않아도 됨!
+// JpaSpecificationExecutor: BookSpecifications 조건을 조합한 단일 쿼리 검색 (findAll(spec, pageable) 등)
 @Repository
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
 
     // --- 검색용 커스텀 메서드 ---
     // Spring Data JPA는 메서드 이름만으로 SQL을 자동 생성해줌
@@ -21,13 +30,59 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 
     // 제목으로 검색 (부분 일치, 대소문자 무시)
     List<Book> findByTitleContainingIgnoreCase(String title);
+    // 여러 필드 조합 검색은 BookSpecifications 참고
 
-    // 저자로 검색
-    List<Book> findByAuthorContainingIgnoreCase(String author);
+    // --- 키셋 페이징 (ID 기준, COUNT 없이 size+1건만 조회) ---
+    Slice<Book> findByIdGreaterThan(Long id, Pageable pageable);
 
-    // 출판사로 검색
-    List<Book> findByPublisherContainingIgnoreCase(String publisher);
+    Slice<Book> findByIdLessThan(Long id, Pageable pageable);
 
-    // ISBN으로 검색
-    List<Book> findByIsbnContaining(String isbn);
+    // --- 검색 색인 스냅샷 따라잡기용 ---
+
+    // 기준 시각 이후 등록/수정된 도서 (수정일시가 없는 기존 데이터는 등록일시로 판단)
+    @Query("SELECT b FROM Book b WHERE b.updatedAt > :since OR b.createdAt > :since")
+    List<Book> findChangedSince(LocalDateTime since);
+
+    // 전체 도서 ID만 조회 (스냅샷에 남아 있는 삭제된 도서를 걸러낼 때 사용, 기본키 인덱스만 읽음)
+    @Query("SELECT b.id FROM Book b")
+    List<Long> findAllIds();
+
+    // --- 소장본 재고 (InventoryService 전용) ---
+    // 대출 가능 권수는 조건부 UPDATE 한 문장으로만 바꿈 → 읽고 계산해서 쓰는 사이에 다른 요청이 끼어들 틈이 없음
+
+    // 대출 가능 권수 1 차감 (남은 권이 있을 때만, 없으면 0)
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies - 1 WHERE b.id = :id AND b.availableCopies > 0")
+    int takeCopy(@Param("id") Long id);
+
+    // 반납된 권수만큼 대출 가능 권수 증가 (보유 권수를 넘지 않도록)
+    @Modifying
+    @Query("UPDATE Book b SET b.availableCopies = b.availableCopies + :count "
+            + "WHERE b.id IN :ids AND b.availableCopies + :count <= b.totalCopies")
+    int putBackCopies(@Param("ids") Collection<Long> ids, @Param("count") int count);
+
+    // 보유 권수 변경 (대출 가능 권수도 같은 만큼, 줄일 때는 대출 가능한 권수 안에서만)
+    @Modifying
+    @Query("UPDATE Book b SET b.totalCopies = b.totalCopies + :delta, b.availableCopies = b.availableCopies + :delta "
+            + "WHERE b.id = :id AND b.availableCopies + :delta >= 0 AND b.totalCopies + :delta >= 1")
+    int adjustCopies(@Param("id") Long id, @Param("delta") int delta);
+
+    // 보유/대출 가능 권수 직접 설정 (소장본 도입 전 도서 변환 시 한 번)
+    @Modifying
+    @Query("UPDATE Book b SET b.totalCopies = :total, b.availableCopies = :available WHERE b.id = :id")
+    int setCopyCounts(@Param("id") Long id, @Param("total") int total, @Param("available") int available);
+
+    @Query("SELECT b.totalCopies FROM Book b WHERE b.id = :id")
+    Integer findTotalCopies(@Param("id") Long id);
+
+    @Query("SELECT b.availableCopies FROM Book b WHERE b.id = :id")
+    Integer findAvailableCopies(@Param("id") Long id);
+
+    // 대출 가능한 소장본이 없는 도서 ID (대출 중 도서 비트맵 생성용)
+    @Query("SELECT b.id FROM Book b WHERE b.availableCopies = 0")
+    List<Long> findUnavailableIds();
+
+    // 소장본이 아직 없는 도서 (소장본 도입 전 데이터)
+    @Query("SELECT b FROM Book b WHERE NOT EXISTS (SELECT c.id FROM BookCopy c WHERE c.book = b)")
+    List<Book> findWithoutCopies();
 }
@@ -0,0 +1,88 @@
+package com.example.bookmanagement.repository;
+
+import com.example.bookmanagement.entity.Book;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import java.util.Collection;
+import java.util.Locale;
+
+// 도서 조건 검색용 Specification 모음
+// 조건끼리 .and()로 조합하면 하나의 SELECT(+ 페이징 시 COUNT)로 실행됨
+// 예) keyword("all", "자바").and(publisherContains("한빛")).and(available(true))
+//   → WHERE (title LIKE ? OR author LIKE ? OR publisher LIKE ? OR isbn LIKE ?)
+//       AND publisher LIKE ? AND available_copies > 0
+// 값이 비어 있는 조건은 null을 반환하고, Specification 조합 시 null은 무시됨
+public final class BookSpecifications {
+
+    private BookSpecifications() {
+    }
+
+    // 검색 유형별 부분 일치 (title / author / publisher / isbn, 그 외는 네 필드 OR)
+    public static Specification<Book> keyword(String type, String keyword) {
+        if (isBlank(keyword)) return null;
+        String pattern = likePattern(keyword);
+        return (root, query, cb) -> {
+            switch (type == null ? "all" : type) {
+                case "title":
+                    return like(cb, root.get("title"), pattern);
+                case "author":
+                    return like(cb, root.get("author"), pattern);
+                case "publisher":
+                    return like(cb, root.get("publisher"), pattern);
+                case "isbn":
+                    return like(cb, root.get("isbn"), pattern);
+                default:
+                    return cb.or(
+                            like(cb, root.get("title"), pattern),
+                            like(cb, root.get("author"), pattern),
+                            like(cb, root.get("publisher"), pattern),
+                            like(cb, root.get("isbn"), pattern));
+            }
+        };
+    }
+
+    public static Specification<Book> authorContains(String author) {
+        if (isBlank(author)) return null;
+        String pattern = likePattern(author);
+        return (root, query, cb) -> like(cb, root.get("author"), pattern);
+    }
+
+    public static Specification<Book> publisherContains(String publisher) {
+        if (isBlank(publisher)) return null;
+        String pattern = likePattern(publisher);
+        return (root, query, cb) -> like(cb, root.get("publisher"), pattern);
+    }
+
+    // true: 대출 가능한 소장본이 있는 도서만, false: 모두 대출 중인 도서만, null: 조건 없음
+    // 도서의 대출 가능 권수 컬럼만 비교 → 대출 기록 서브쿼리 없음
+    public static Specification<Book> available(Boolean available) {
+        if (available == null) return null;
+        return (root, query, cb) -> available
+                ? cb.gt(root.get("availableCopies"), 0)
+                : cb.equal(root.get("availableCopies"), 0);
+    }
+
+    // 메모리 색인(초성/오타 허용 등)에서 찾은 ID로 제한할 때 사용
+    public static Specification<Book> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    private static Predicate like(CriteriaBuilder cb, Expression<String> field, String pattern) {
+        return cb.like(cb.lower(field), pattern, '\\');
+    }
+
+    // 대소문자 무시 + LIKE 특수문자(%, _) 이스케이프
+    static String likePattern(String value) {
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
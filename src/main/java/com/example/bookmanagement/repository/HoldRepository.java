@@ -0,0 +1,57 @@
+package com.example.bookmanagement.repository;
+
+import com.example.bookmanagement.entity.Hold;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+// 예약(대기) DB 접근 담당
+// 도서별 조회는 모두 (book_id, position) 인덱스를 사용
+@Repository
+public interface HoldRepository extends JpaRepository<Hold, Long> {
+
+    // 도서별 대기열 맨 앞 (반납 시 승격 대상, 여러 도서를 한 번에)
+    // 도서마다 (book_id, position) 인덱스의 첫 항목만 확인 + 행 잠금 → 예약 취소와 겹치지 않음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(Hold.WITH_MEMBER)
+    @Query("SELECT h FROM Hold h WHERE h.book.id IN :bookIds "
+            + "AND h.position = (SELECT MIN(h2.position) FROM Hold h2 WHERE h2.book.id = h.book.id)")
+    List<Hold> findQueueHeads(@Param("bookIds") Collection<Long> bookIds);
+
+    // 대기열에서 position 다음 순서부터 (맨 앞 예약자가 대출 한도라 다음 예약자를 찾을 때, 최대 pageable 크기만큼 + 행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(Hold.WITH_MEMBER)
+    @Query("SELECT h FROM Hold h WHERE h.book.id = :bookId AND h.position > :position ORDER BY h.position")
+    List<Hold> findQueueAfter(@Param("bookId") Long bookId, @Param("position") Long position, Pageable pageable);
+
+    // 대기열 마지막 번호 (새 예약은 +1)
+    @Query("SELECT MAX(h.position) FROM Hold h WHERE h.book.id = :bookId")
+    Long findLastPosition(@Param("bookId") Long bookId);
+
+    // 예약별 내 앞의 대기 인원 (여러 예약을 GROUP BY 한 번으로, 앞에 아무도 없는 예약은 행이 없음) → [예약 ID, 인원]
+    @Query("SELECT h.id, COUNT(h2) FROM Hold h, Hold h2 WHERE h.id IN :ids "
+            + "AND h2.book.id = h.book.id AND h2.position < h.position GROUP BY h.id")
+    List<Object[]> countAheadGroupById(@Param("ids") Collection<Long> ids);
+
+    // 도서의 대기 인원
+    long countByBookId(Long bookId);
+
+    boolean existsByBookIdAndMemberId(Long bookId, Long memberId);
+
+    // 내 예약 목록 (도서 정보 표시)
+    @EntityGraph(Hold.WITH_BOOK)
+    List<Hold> findByMemberIdOrderByCreatedAtDesc(Long memberId);
+
+    // 특정 도서의 예약 전체 삭제 (도서 삭제 시)
+    void deleteByBookId(Long bookId);
+
+    // 특정 회원의 예약 전체 삭제 (회원 삭제 시)
+    void deleteByMemberId(Long memberId);
+}
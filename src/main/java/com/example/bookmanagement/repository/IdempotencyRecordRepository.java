@@ -0,0 +1,38 @@
+package com.example.bookmanagement.repository;
+
+import com.example.bookmanagement.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+// 중복 제출 방지 키 DB 접근 담당 (IdempotencyService)
+// 선점은 saveAndFlush(새 기록) → 기본키 충돌이면 이미 있는 키
+// IdempotencyService는 트랜잭션 없이 호출하므로 변경 쿼리마다 자체 트랜잭션 (바로 커밋)
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // 처리 결과 저장
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.completed = true, r.success = :success, r.message = :message "
+            + "WHERE r.id = :id")
+    int complete(@Param("id") String id, @Param("success") boolean success, @Param("message") String message);
+
+    // 처리 중인 채로 남은 키 가져오기: 읽어 온 선점 시각이 그대로일 때만 새 시각으로 바꿈
+    // → 여러 요청이 동시에 시도해도 1건을 바꾼 요청 하나만 다시 처리
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.createdAt = :now "
+            + "WHERE r.id = :id AND r.completed = false AND r.createdAt = :claimedAt")
+    int takeOver(@Param("id") String id, @Param("claimedAt") LocalDateTime claimedAt, @Param("now") LocalDateTime now);
+
+    // 만료된 키 삭제
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") LocalDateTime before);
+}
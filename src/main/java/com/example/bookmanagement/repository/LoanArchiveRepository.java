@@ -0,0 +1,53 @@
+package com.example.bookmanagement.repository;
+
+import com.example.bookmanagement.entity.LoanArchive;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+// 보관된 대출 기록 DB 접근 담당 (조회 전용 + LoanArchiver의 옮겨 담기)
+@Repository
+public interface LoanArchiveRepository extends JpaRepository<LoanArchive, Long> {
+
+    // 전체 보관 기록 (엑셀/PDF 내보내기)
+    @Override
+    @EntityGraph(LoanArchive.WITH_BOOK_AND_MEMBER)
+    List<LoanArchive> findAll();
+
+    // 회원의 보관 기록 (내 대출 현황, 최신순)
+    @EntityGraph(LoanArchive.WITH_BOOK)
+    List<LoanArchive> findByMemberIdOrderByCreatedAtDesc(Long memberId);
+
+    // 도서의 보관 기록 (대출 이력, 최신순)
+    @EntityGraph(LoanArchive.WITH_MEMBER)
+    List<LoanArchive> findByBookIdOrderByCreatedAtDesc(Long bookId);
+
+    // 도서별 대출 횟수 → [도서 ID, 횟수] (자동완성 인기순, loan 테이블 집계와 합산)
+    @Query("SELECT a.book.id, COUNT(a) FROM LoanArchive a GROUP BY a.book.id")
+    List<Object[]> countGroupByBookId();
+
+    // 회원별로 빌린 도서 (중복 제거) → [회원 ID, 도서 ID] (함께 빌린 도서 행렬, loan 테이블 결과와 합침)
+    @Query("SELECT DISTINCT a.member.id, a.book.id FROM LoanArchive a")
+    List<Object[]> findMemberBookPairs();
+
+    // loan → loan_archive 복사 (INSERT ... SELECT 한 번, 행을 메모리로 읽지 않음)
+    @Modifying
+    @Query("INSERT INTO LoanArchive (id, book, member, borrowDate, returnDueDate, returnedDate, status, createdAt, archivedAt) "
+            + "SELECT l.id, l.book, l.member, l.borrowDate, l.returnDueDate, l.returnedDate, l.status, l.createdAt, "
+            + "LOCAL DATETIME FROM Loan l WHERE l.id IN :ids")
+    int copyFromLoans(@Param("ids") Collection<Long> ids);
+
+    // 특정 회원/도서의 보관 기록 삭제 (회원/도서 삭제 시)
+    @Modifying
+    @Query("DELETE FROM LoanArchive a WHERE a.member.id = :memberId")
+    int deleteByMemberId(@Param("memberId") Long memberId);
+
+    @Modifying
+    @Query("DELETE FROM LoanArchive a WHERE a.book.id = :bookId")
+    int deleteByBookId(@Param("bookId") Long bookId);
+}
@@ -1,23 +1,50 @@
 package com.example.bookmanagement.repository;
 
 import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 // 대출 기록 DB 접근 담당
+// 목록 조회 메서드는 화면에서 쓰는 연관(도서/회원)을 @EntityGraph로 함께 조회 (행마다 추가 SELECT 방지)
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
 
+    // 전체 대출 기록 (엑셀/PDF 내보내기)
+    @Override
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    List<Loan> findAll();
+
     // 현재 대출 중인 기록 (반납일이 null = 아직 반납 안 함)
     List<Loan> findByReturnedDateIsNull();
 
     // 반납 완료된 기록
     List<Loan> findByReturnedDateIsNotNull();
 
-    // 특정 도서의 활성 대출 기록 (대출 중인지 확인용)
-    Optional<Loan> findByBookIdAndReturnedDateIsNull(Long bookId);
+    // 특정 도서의 활성 대출 기록 중 가장 오래된 것 (상세 화면 대여자 표시, 소장본이 여러 권이면 여러 건)
+    @EntityGraph(Loan.WITH_MEMBER)
+    Optional<Loan> findFirstByBookIdAndReturnedDateIsNullOrderByIdAsc(Long bookId);
+
+    // 도서에 활성 대출 기록이 있는지 (도서 삭제 전 확인)
+    boolean existsByBookIdAndReturnedDateIsNull(Long bookId);
+
+    // 회원이 이 도서를 이미 대출(신청) 중인지
+    boolean existsByBookIdAndMemberIdAndReturnedDateIsNull(Long bookId, Long memberId);
+
+    // 특정 도서의 대출 중 기록 (소장본 도입 전 기록에 소장본 배정 시)
+    List<Loan> findByBookIdAndStatusInOrderByIdAsc(Long bookId, Collection<LoanStatus> statuses);
 
     // 현재 대출 중인 건수
     long countByReturnedDateIsNull();
@@ -30,20 +57,130 @@ public interface LoanRepository extends JpaRepository<Loan, Long> {
 
     // --- 상태(status)별 조회 ---
     // 특정 상태의 대출 목록
-    List<Loan> findByStatus(String status);
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    List<Loan> findByStatus(LoanStatus status);
 
     // 특정 상태 건수
-    long countByStatus(String status);
+    long countByStatus(LoanStatus status);
 
-    // 특정 도서의 활성 대출 (승인됨 상태)
-    Optional<Loan> findByBookIdAndStatus(Long bookId, String status);
+    // 상태별 건수 한 번에 → [상태, 건수] (LoanStatusCounters 초기화용)
+    @Query("SELECT l.status, COUNT(l) FROM Loan l GROUP BY l.status")
+    List<Object[]> countGroupByStatus();
 
-    // 특정 회원의 대출 기록 (상태 포함)
+    // 특정 회원의 대출 기록 (상태 포함, 내 대출 현황 - 회원은 이미 알고 있으므로 도서만)
+    @EntityGraph(Loan.WITH_BOOK)
     List<Loan> findByMemberIdOrderByCreatedAtDesc(Long memberId);
 
-    // 특정 도서의 전체 대출 이력 (최신순)
+    // 특정 도서의 전체 대출 이력 (최신순, 대여자 표시용으로 회원만)
+    @EntityGraph(Loan.WITH_MEMBER)
     List<Loan> findByBookIdOrderByCreatedAtDesc(Long bookId);
 
+    // --- 키셋 페이징 (ID 기준, COUNT 없이 size+1건만 조회) ---
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    Slice<Loan> findByIdLessThan(Long id, Pageable pageable);
+
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    Slice<Loan> findByIdGreaterThan(Long id, Pageable pageable);
+
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    Slice<Loan> findByStatusAndIdLessThan(LoanStatus status, Long id, Pageable pageable);
+
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    Slice<Loan> findByStatusAndIdGreaterThan(LoanStatus status, Long id, Pageable pageable);
+
+    // 도서별 대출 횟수 (승인 이후 단계만 집계, 자동완성 인기순 정렬용) → [도서 ID, 횟수]
+    @Query("SELECT l.book.id, COUNT(l) FROM Loan l WHERE l.status <> com.example.bookmanagement.entity.LoanStatus.REQUESTED GROUP BY l.book.id")
+    List<Object[]> countBorrowsGroupByBookId();
+
+    // 최근 대출 횟수 (대출일 since 이후, 도서·대출일별) → [도서 ID, 대출일, 횟수] (인기 도서 기간별 순위 재계산용)
+    @Query("SELECT l.book.id, l.borrowDate, COUNT(l) FROM Loan l WHERE l.borrowDate >= :since"
+            + " AND l.status <> com.example.bookmanagement.entity.LoanStatus.REQUESTED GROUP BY l.book.id, l.borrowDate")
+    List<Object[]> countBorrowsGroupByBookIdAndDate(@Param("since") LocalDate since);
+
+    // 회원별로 빌린 도서 (승인 이후 단계만, 중복 제거) → [회원 ID, 도서 ID] (함께 빌린 도서 행렬 생성용)
+    @Query("SELECT DISTINCT l.member.id, l.book.id FROM Loan l WHERE l.status <> com.example.bookmanagement.entity.LoanStatus.REQUESTED")
+    List<Object[]> findBorrowedMemberBookPairs();
+
+    // 소장본 수를 줄일 때 삭제되는 소장본을 가리키는 지난 기록의 연결 해제
+    @Modifying
+    @Query("UPDATE Loan l SET l.copy = NULL WHERE l.copy.id IN :copyIds")
+    int detachCopies(@Param("copyIds") Collection<Long> copyIds);
+
+    // --- 일괄 처리 (관리자 일괄 승인/거절/반납 확인) ---
+    // 처리 대상 조회 + 행 잠금 (처리하는 동안 다른 요청이 상태를 바꾸지 못하게 함, 알림 문구용으로 도서 함께)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(Loan.WITH_BOOK)
+    List<Loan> findByIdIn(Collection<Long> ids);
+
+    // 승인 대기 → 승인 (UPDATE 한 번, active_copy_id는 대출 중 그대로라 변경 없음)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Loan l SET l.status = com.example.bookmanagement.entity.LoanStatus.APPROVED, "
+            + "l.borrowDate = :borrowDate, l.returnDueDate = :returnDueDate "
+            + "WHERE l.id IN :ids AND l.status = com.example.bookmanagement.entity.LoanStatus.REQUESTED")
+    int approveAllByIdIn(@Param("ids") Collection<Long> ids,
+                         @Param("borrowDate") LocalDate borrowDate,
+                         @Param("returnDueDate") LocalDate returnDueDate);
+
+    // 반납 대기 → 반납 완료 (UPDATE 한 번)
+    // 벌크 UPDATE는 @PreUpdate가 실행되지 않으므로 active_copy_id도 직접 비움
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Loan l SET l.status = com.example.bookmanagement.entity.LoanStatus.RETURNED, "
+            + "l.returnedDate = :returnedDate, l.activeCopyId = NULL "
+            + "WHERE l.id IN :ids AND l.status = com.example.bookmanagement.entity.LoanStatus.RETURN_REQUESTED")
+    int confirmReturnAllByIdIn(@Param("ids") Collection<Long> ids,
+                               @Param("returnedDate") LocalDate returnedDate);
+
+    // 단건 반납 완료 (상태가 맞을 때만 → 바뀐 행 수로 실제 반납 여부 확인, active_copy_id도 직접 비움)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Loan l SET l.status = com.example.bookmanagement.entity.LoanStatus.RETURNED, "
+            + "l.returnedDate = :returnedDate, l.activeCopyId = NULL WHERE l.id = :id AND l.status IN :from")
+    int returnById(@Param("id") Long id, @Param("from") Collection<LoanStatus> from,
+                   @Param("returnedDate") LocalDate returnedDate);
+
+    // 단건 반납 신청 (대출 중(승인) 상태일 때만 → 바뀐 행 수로 실제 변경 여부 확인)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Loan l SET l.status = com.example.bookmanagement.entity.LoanStatus.RETURN_REQUESTED "
+            + "WHERE l.id = :id AND l.status = com.example.bookmanagement.entity.LoanStatus.APPROVED")
+    int requestReturnById(@Param("id") Long id);
+
+    // 단건 거절 (승인 대기 상태일 때만 삭제 → 바뀐 행 수로 실제 거절 여부 확인)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Loan l WHERE l.id = :id AND l.status = com.example.bookmanagement.entity.LoanStatus.REQUESTED")
+    int deleteRequestedById(@Param("id") Long id);
+
+    // --- 연체 (OverdueSweeper가 overdue 표시, 화면/내보내기는 표시된 것만 조회) ---
+    // 반납기한이 지났는데 아직 연체 표시가 없는 대출 중 기록 (ID 순 배치 + 행 잠금, 알림 문구용으로 도서 함께)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(Loan.WITH_BOOK)
+    @Query("SELECT l FROM Loan l WHERE l.overdue = false AND l.returnDueDate < :today "
+            + "AND l.status = com.example.bookmanagement.entity.LoanStatus.APPROVED AND l.id > :afterId ORDER BY l.id")
+    List<Loan> findNewlyOverdue(@Param("today") LocalDate today, @Param("afterId") Long afterId, Pageable pageable);
+
+    // 연체 표시 (UPDATE 한 번)
+    @Modifying
+    @Query("UPDATE Loan l SET l.overdue = true WHERE l.id IN :ids")
+    int markOverdueByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 연체 중인 대출 (반납기한 오래된 순, 엑셀/PDF 내보내기)
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    List<Loan> findByStatusAndOverdueTrueOrderByReturnDueDateAsc(LoanStatus status);
+
+    // 연체 중인 건수 (대시보드/대출 목록 뱃지)
+    long countByStatusAndOverdueTrue(LoanStatus status);
+
+    // 연체 목록 키셋 페이징
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    Slice<Loan> findByStatusAndOverdueTrueAndIdLessThan(LoanStatus status, Long id, Pageable pageable);
+
+    @EntityGraph(Loan.WITH_BOOK_AND_MEMBER)
+    Slice<Loan> findByStatusAndOverdueTrueAndIdGreaterThan(LoanStatus status, Long id, Pageable pageable);
+
+    // --- 보관 (LoanArchiver가 오래된 반납 완료 기록을 loan_archive로 옮김) ---
+    // 반납일이 기준일 이전인 반납 완료 기록 ID (ID 순 묶음, idx_loan_status_returned 인덱스)
+    @Query("SELECT l.id FROM Loan l WHERE l.status = com.example.bookmanagement.entity.LoanStatus.RETURNED "
+            + "AND l.returnedDate < :cutoff AND l.id > :afterId ORDER BY l.id")
+    List<Long> findArchivableIds(@Param("cutoff") LocalDate cutoff, @Param("afterId") Long afterId, Pageable pageable);
+
     // 특정 회원의 대출 기록 전체 삭제
     void deleteByMemberId(Long memberId);
 
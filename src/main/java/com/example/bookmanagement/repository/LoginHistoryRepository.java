@@ -1,6 +1,8 @@
 package com.example.bookmanagement.repository;
 
 import com.example.bookmanagement.entity.LoginHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
@@ -12,6 +14,11 @@ public interface LoginHistoryRepository extends JpaRepository<LoginHistory, Long
     // 전체 로그인 이력 (최신순)
     List<LoginHistory> findAllByOrderByLoginTimeDesc();
 
+    // 키셋 페이징 (ID 기준 최신순, COUNT 없이 size+1건만 조회)
+    Slice<LoginHistory> findByIdLessThan(Long id, Pageable pageable);
+
+    Slice<LoginHistory> findByIdGreaterThan(Long id, Pageable pageable);
+
     // 특정 사용자의 로그인 이력
     List<LoginHistory> findByUsernameOrderByLoginTimeDesc(String username);
 }
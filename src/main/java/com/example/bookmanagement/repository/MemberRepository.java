@@ -2,19 +2,18 @@ package com.example.bookmanagement.repository;
 
 import com.example.bookmanagement.entity.Member;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.Optional;
 
-// 회원 DB 접근 담당
+// 회원 DB 접근 담당 (검색은 MemberSpecifications 조합)
 @Repository
-public interface MemberRepository extends JpaRepository<Member, Long> {
-
-    // 이름으로 검색
-    List<Member> findByNameContainingIgnoreCase(String name);
-
-    // 전화번호로 검색
-    List<Member> findByPhoneContaining(String phone);
+public interface MemberRepository extends JpaRepository<Member, Long>, JpaSpecificationExecutor<Member> {
 
     // 아이디로 회원 찾기 (로그인용)
     Optional<Member> findByUsername(String username);
@@ -24,4 +23,27 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
 
     // 아이디 중복 확인
     boolean existsByUsername(String username);
+
+    // --- 대출 중 권수 (대출 한도) ---
+    // 읽고 비교하지 않고 조건부 UPDATE 한 문장으로 확인 + 증가 → 동시에 신청해도 한도를 넘지 않음
+
+    // 한도 미만일 때만 1 증가 (한도에 도달했으면 0)
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoanCount = m.activeLoanCount + 1 WHERE m.id = :id AND m.activeLoanCount < :limit")
+    int takeLoanSlot(@Param("id") Long id, @Param("limit") int limit);
+
+    // 반납/거절된 권수만큼 감소 (0 아래로 내려가지 않도록)
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoanCount = m.activeLoanCount - :count WHERE m.id IN :ids AND m.activeLoanCount >= :count")
+    int releaseLoanSlots(@Param("ids") Collection<Long> ids, @Param("count") int count);
+
+    @Query("SELECT m.activeLoanCount FROM Member m WHERE m.id = :id")
+    Integer findActiveLoanCount(@Param("id") Long id);
+
+    // 대출 기록 기준으로 다시 계산 (컬럼 추가 전 데이터 보정 / 샘플 데이터 생성 후, 회원 행 전체 UPDATE)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Member m SET m.activeLoanCount = "
+            + "(SELECT COUNT(l) FROM Loan l WHERE l.member = m AND l.returnedDate IS NULL)")
+    int recountActiveLoans();
 }
@@ -0,0 +1,29 @@
+package com.example.bookmanagement.repository;
+
+import com.example.bookmanagement.entity.Member;
+import org.springframework.data.jpa.domain.Specification;
+
+// 회원 조건 검색용 Specification (BookSpecifications와 같은 방식)
+public final class MemberSpecifications {
+
+    private MemberSpecifications() {
+    }
+
+    // 검색 유형별 부분 일치 (name / phone, 그 외는 두 필드 OR를 한 번의 쿼리로)
+    public static Specification<Member> keyword(String type, String keyword) {
+        if (keyword == null || keyword.trim().isEmpty()) return null;
+        String pattern = BookSpecifications.likePattern(keyword);
+        return (root, query, cb) -> {
+            switch (type == null ? "all" : type) {
+                case "name":
+                    return cb.like(cb.lower(root.get("name")), pattern, '\\');
+                case "phone":
+                    return cb.like(root.get("phone"), pattern, '\\');
+                default:
+                    return cb.or(
+                            cb.like(cb.lower(root.get("name")), pattern, '\\'),
+                            cb.like(root.get("phone"), pattern, '\\'));
+            }
+        };
+    }
+}
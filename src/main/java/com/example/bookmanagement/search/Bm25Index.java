@@ -0,0 +1,287 @@
+package com.example.bookmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+
+// 정확도순 검색용 역색인 (BM25F: 필드별 가중치를 둔 BM25)
+// 한국어는 형태소 분석 없이도 부분 일치가 되도록 2글자 조각(bigram)을 검색 단위(용어)로 사용
+// 검색 흐름: 용어별 문서 목록(ID 순)을 함께 훑으며 문서마다 점수 계산 → 크기 N짜리 최소 힙으로 상위 N개만 남김
+// → 일치 문서가 많아도 메모리/정렬/엔티티 조회는 상위 N개에 대해서만 일어남
+public class Bm25Index {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // 필드별 가중치 (생성 시 지정, 순서 = put()에 넘기는 필드 순서)
+    private final double[] fieldWeights;
+
+    // 용어 → (문서 ID → 필드별 출현 횟수), 문서 ID 오름차순 (여러 용어 목록을 ID 순으로 함께 훑기 위함)
+    private final Map<String, NavigableMap<Long, int[]>> postings = new HashMap<>();
+
+    // 문서 ID → 필드별 용어 수 / 문서가 가진 용어 목록 (삭제용)
+    private final Map<Long, int[]> fieldLengths = new HashMap<>();
+    private final Map<Long, Set<String>> termsByDoc = new HashMap<>();
+    private final long[] totalLengths;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public Bm25Index(double... fieldWeights) {
+        this.fieldWeights = fieldWeights.clone();
+        this.totalLengths = new long[fieldWeights.length];
+    }
+
+    // 문서 추가/교체 (fields 순서는 생성자 가중치 순서와 같아야 함)
+    public void put(Long id, String... fields) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            int[] lengths = new int[fieldWeights.length];
+            Set<String> docTerms = new LinkedHashSet<>();
+            for (int f = 0; f < fieldWeights.length && f < fields.length; f++) {
+                List<String> terms = terms(fields[f]);
+                lengths[f] = terms.size();
+                totalLengths[f] += terms.size();
+                for (String term : terms) {
+                    postings.computeIfAbsent(term, k -> new TreeMap<>())
+                            .computeIfAbsent(id, k -> new int[fieldWeights.length])[f]++;
+                    docTerms.add(term);
+                }
+            }
+            fieldLengths.put(id, lengths);
+            termsByDoc.put(id, docTerms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            fieldLengths.clear();
+            termsByDoc.clear();
+            Arrays.fill(totalLengths, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 일치하는 문서 ID 전체 (점수 계산 없음, 순서 없음 → 전체 건수/항목별 건수용)
+    public Set<Long> matches(String query) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(terms(query)));
+        Set<Long> result = new HashSet<>();
+        if (queryTerms.isEmpty()) {
+            return result;
+        }
+        int minMatch = minMatch(queryTerms.size());
+        lock.readLock().lock();
+        try {
+            scan(queryTerms, false, (id, score, matched) -> {
+                if (matched >= minMatch) result.add(id);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    // 점수 높은 순 상위 limit개 문서 ID
+    public Set<Long> search(String query, int limit) {
+        return search(query, id -> true, limit);
+    }
+
+    // 점수 높은 순 상위 limit개 문서 ID (include가 false인 문서는 제외 → 상세 조건으로 걸러낸 결과 안에서 순위)
+    // 문서 점수가 나오는 대로 크기 limit짜리 최소 힙에 넣음 (가장 낮은 점수가 맨 위) → 메모리는 limit에 비례
+    // 페이지를 넘길 때는 limit = 해당 페이지 끝까지의 건수로 호출
+    public Set<Long> search(String query, Predicate<Long> include, int limit) {
+        return top(query, include::test, limit, false);
+    }
+
+    // search()와 같지만 일치 문서를 하나도 건너뛰지 않고 모두 visit에 넘김 (visit이 true인 문서만 순위 대상)
+    // → 같은 한 번의 훑기에서 호출한 쪽이 전체 건수/항목별 건수를 셈 (일치 ID 전체 목록을 따로 만들지 않음)
+    public Set<Long> searchAll(String query, LongPredicate visit, int limit) {
+        return top(query, visit, limit, true);
+    }
+
+    // visitAll이 false면 힙에 들어갈 수 없는 점수의 문서는 include 확인 없이 건너뜀
+    private Set<Long> top(String query, LongPredicate include, int limit, boolean visitAll) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(terms(query)));
+        Set<Long> result = new LinkedHashSet<>();
+        if (queryTerms.isEmpty() || (limit <= 0 && !visitAll)) {
+            return result;
+        }
+        int minMatch = minMatch(queryTerms.size());
+
+        // 점수 오름차순, 같은 점수면 ID가 큰 쪽이 아래 (결과는 점수 내림차순 → ID 오름차순)
+        Comparator<Scored> byScore = Comparator.<Scored>comparingDouble(d -> d.score)
+                .thenComparing(d -> d.id, Comparator.reverseOrder());
+        PriorityQueue<Scored> heap = new PriorityQueue<>(Math.min(Math.max(limit, 0), 1024) + 1, byScore);
+        lock.readLock().lock();
+        try {
+            scan(queryTerms, true, (id, score, matched) -> {
+                if (matched < minMatch) return;
+                if (!visitAll && heap.size() >= limit && score < heap.peek().score) return;
+                if (!include.test(id) || limit <= 0) return;
+                Scored doc = new Scored(id, score);
+                if (heap.size() < limit) {
+                    heap.add(doc);
+                } else if (byScore.compare(doc, heap.peek()) > 0) {
+                    heap.poll();
+                    heap.add(doc);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Scored> top = new ArrayList<>(heap);
+        top.sort(byScore.reversed());
+        for (Scored doc : top) {
+            result.add(doc.id);
+        }
+        return result;
+    }
+
+    // 용어별 문서 목록(ID 오름차순)을 함께 훑으면서 문서 하나씩 모든 용어의 점수를 합산 (문서 단위 처리)
+    // → 일치 문서 전체의 점수 표를 만들지 않음, 동시에 들고 있는 것은 용어별 위치 하나씩
+    // 읽기 잠금을 잡은 상태에서 호출
+    private void scan(List<String> queryTerms, boolean scored, DocVisitor visitor) {
+        int docCount = fieldLengths.size();
+        if (docCount == 0) return;
+        double[] avgLengths = new double[fieldWeights.length];
+        for (int f = 0; f < fieldWeights.length; f++) {
+            avgLengths[f] = Math.max(1.0, (double) totalLengths[f] / docCount);
+        }
+
+        // 현재 문서 ID가 가장 작은 용어 커서가 맨 위
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>(queryTerms.size(),
+                Comparator.comparingLong((Cursor c) -> c.docId));
+        for (String term : queryTerms) {
+            NavigableMap<Long, int[]> docs = postings.get(term);
+            if (docs == null) continue;
+            double idf = Math.log(1 + (docCount - docs.size() + 0.5) / (docs.size() + 0.5));
+            Cursor cursor = new Cursor(docs.entrySet().iterator(), idf);
+            if (cursor.advance()) cursors.add(cursor);
+        }
+
+        while (!cursors.isEmpty()) {
+            long docId = cursors.peek().docId;
+            int[] lengths = scored ? fieldLengths.get(docId) : null;
+            double score = 0;
+            int matched = 0;
+            while (!cursors.isEmpty() && cursors.peek().docId == docId) {
+                Cursor cursor = cursors.poll();
+                if (scored) {
+                    // 필드별 길이 정규화 후 가중치를 곱해 하나의 tf로 합침 (BM25F)
+                    double weightedTf = 0;
+                    for (int f = 0; f < cursor.tf.length; f++) {
+                        if (cursor.tf[f] == 0) continue;
+                        weightedTf += fieldWeights[f] * cursor.tf[f] / (1 - B + B * lengths[f] / avgLengths[f]);
+                    }
+                    score += cursor.idf * weightedTf * (K1 + 1) / (weightedTf + K1);
+                }
+                matched++;
+                if (cursor.advance()) cursors.add(cursor);
+            }
+            visitor.visit(docId, score, matched);
+        }
+    }
+
+    private interface DocVisitor {
+        void visit(long id, double score, int matched);
+    }
+
+    // 용어 하나의 문서 목록 위치
+    private static final class Cursor {
+        final Iterator<Map.Entry<Long, int[]>> docs;
+        final double idf;
+        long docId;
+        int[] tf;
+
+        Cursor(Iterator<Map.Entry<Long, int[]>> docs, double idf) {
+            this.docs = docs;
+            this.idf = idf;
+        }
+
+        boolean advance() {
+            if (!docs.hasNext()) return false;
+            Map.Entry<Long, int[]> e = docs.next();
+            docId = e.getKey();
+            tf = e.getValue();
+            return true;
+        }
+    }
+
+    private static final class Scored {
+        final long id;
+        final double score;
+
+        Scored(long id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+    }
+
+    // 검색 용어가 3개 이상이면 절반 이상 일치한 문서만 (한두 조각만 겹친 문서는 제외)
+    private static int minMatch(int termCount) {
+        return termCount <= 2 ? 1 : (termCount + 1) / 2;
+    }
+
+    // 분석기: 소문자 변환 → 글자/숫자가 아닌 문자로 단어 분리 → 1글자 단어는 그대로, 나머지는 2글자 조각
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) return terms;
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            if (word.length() == 1) {
+                terms.add(word);
+                continue;
+            }
+            for (int i = 0; i + 2 <= word.length(); i++) {
+                terms.add(word.substring(i, i + 2));
+            }
+        }
+        return terms;
+    }
+
+    private void removeInternal(Long id) {
+        Set<String> old = termsByDoc.remove(id);
+        if (old == null) return;
+        int[] lengths = fieldLengths.remove(id);
+        for (int f = 0; f < lengths.length; f++) {
+            totalLengths[f] -= lengths[f];
+        }
+        for (String term : old) {
+            Map<Long, int[]> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(id);
+                if (docs.isEmpty()) postings.remove(term);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.bookmanagement.search;
+
+import java.util.List;
+
+// 검색 결과의 항목별 건수 (출판사 / 저자 / 대출 가능 여부)
+// BookSearchIndex.facets()가 일치하는 도서 ID를 한 번만 훑으면서 함께 계산
+// 검색 결과 캐시에 그대로 들어가므로 변경 불가
+public class BookFacets {
+
+    // 항목 값 하나와 그 값을 가진 검색 결과 수
+    public static class Count {
+        private final String value;
+        private final int count;
+
+        public Count(String value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        public String getValue() { return value; }
+        public int getCount() { return count; }
+    }
+
+    private final List<Count> publishers;  // 건수 많은 순 상위 N개
+    private final List<Count> authors;
+    private final int available;           // 대출 가능
+    private final int onLoan;              // 대출 중 (신청/승인/반납 대기 포함)
+
+    public BookFacets(List<Count> publishers, List<Count> authors, int available, int onLoan) {
+        this.publishers = List.copyOf(publishers);
+        this.authors = List.copyOf(authors);
+        this.available = available;
+        this.onLoan = onLoan;
+    }
+
+    public List<Count> getPublishers() { return publishers; }
+    public List<Count> getAuthors() { return authors; }
+    public int getAvailable() { return available; }
+    public int getOnLoan() { return onLoan; }
+    public int getTotal() { return available + onLoan; }
+}
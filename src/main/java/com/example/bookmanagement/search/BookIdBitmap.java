@@ -0,0 +1,292 @@
+package com.example.bookmanagement.search;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 도서 ID 집합을 압축 비트맵으로 보관 (Roaring 비트맵 방식)
+// ID 상위 비트(id >>> 16)로 6만 5천 개 단위 구간(container)을 나누고, 구간마다
+//   - 값이 적으면(ARRAY_MAX 이하) 정렬된 char 배열 → 이진 탐색
+//   - 많아지면 1024개 long(65536비트) 비트맵 → 비트 하나 확인
+// 로 저장 → HashSet<Long>처럼 ID마다 객체를 만들지 않고, contains()도 박싱/할당 없이 동작
+public class BookIdBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    // 구간 수 상한 (ID 2^36 미만까지 저장 가능)
+    private static final int MAX_CONTAINERS = 1 << 20;
+
+    // 구간 번호 = 배열 인덱스 (빈 구간은 null)
+    private Container[] containers = new Container[0];
+    private int cardinality;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> view = new View();
+
+    public boolean contains(long id) {
+        if (id < 0) return false;
+        long high = id >>> 16;
+        lock.readLock().lock();
+        try {
+            if (high >= containers.length) return false;
+            Container c = containers[(int) high];
+            return c != null && c.contains((char) id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void add(long id) {
+        int high = highBits(id);
+        lock.writeLock().lock();
+        try {
+            if (high >= containers.length) {
+                containers = Arrays.copyOf(containers, Math.max(high + 1, containers.length * 2));
+            }
+            Container c = containers[high];
+            if (c == null) {
+                c = new ArrayContainer();
+            }
+            int before = c.cardinality();
+            containers[high] = c.add((char) id);
+            cardinality += containers[high].cardinality() - before;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        if (id < 0) return;
+        long high = id >>> 16;
+        lock.writeLock().lock();
+        try {
+            if (high >= containers.length) return;
+            Container c = containers[(int) high];
+            if (c == null) return;
+            int before = c.cardinality();
+            c = c.remove((char) id);
+            cardinality += c.cardinality() - before;
+            containers[(int) high] = c.cardinality() == 0 ? null : c;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 전체 교체 (시작 시 생성 / 대량 변경 후 재생성)
+    public void replaceAll(Iterable<Long> ids) {
+        BookIdBitmap fresh = new BookIdBitmap();
+        for (Long id : ids) {
+            if (id != null) fresh.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            containers = fresh.containers;
+            cardinality = fresh.cardinality;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cardinality;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 오름차순 ID 배열 (읽는 시점의 복사본)
+    public long[] toArray() {
+        lock.readLock().lock();
+        try {
+            long[] result = new long[cardinality];
+            int n = 0;
+            for (int high = 0; high < containers.length; high++) {
+                Container c = containers[high];
+                if (c != null) {
+                    n = c.copyTo(result, n, (long) high << 16);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 읽기 전용 Set<Long> 뷰 (항상 현재 상태를 반영, 수정 메서드는 UnsupportedOperationException)
+    // 기존 Set<Long> 인자(템플릿의 contains, 엑셀/PDF 등)를 그대로 쓰기 위함
+    public Set<Long> asSet() {
+        return view;
+    }
+
+    private static int highBits(long id) {
+        if (id < 0 || (id >>> 16) >= MAX_CONTAINERS) {
+            throw new IllegalArgumentException("비트맵에 저장할 수 없는 ID: " + id);
+        }
+        return (int) (id >>> 16);
+    }
+
+    private final class View extends AbstractSet<Long> {
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Long && BookIdBitmap.this.contains((Long) o);
+        }
+
+        @Override
+        public int size() {
+            return BookIdBitmap.this.size();
+        }
+
+        @Override
+        public Iterator<Long> iterator() {
+            long[] ids = BookIdBitmap.this.toArray();
+            return new Iterator<Long>() {
+                private int i = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return i < ids.length;
+                }
+
+                @Override
+                public Long next() {
+                    if (i >= ids.length) throw new NoSuchElementException();
+                    return ids[i++];
+                }
+            };
+        }
+    }
+
+    // 구간 하나 (하위 16비트 값의 집합)
+    // add/remove는 종류가 바뀔 수 있으므로 이후 사용할 container를 반환
+    private interface Container {
+        boolean contains(char low);
+        Container add(char low);
+        Container remove(char low);
+        int cardinality();
+        int copyTo(long[] out, int offset, long base);
+    }
+
+    // 값이 적은 구간: 정렬된 배열
+    private static final class ArrayContainer implements Container {
+        private char[] values = new char[4];
+        private int size;
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, size, low) >= 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            int pos = Arrays.binarySearch(values, 0, size, low);
+            if (pos >= 0) return this;
+            if (size >= ARRAY_MAX) {
+                return toBitmap().add(low);
+            }
+            int insert = -pos - 1;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, values.length * 2));
+            }
+            System.arraycopy(values, insert, values, insert + 1, size - insert);
+            values[insert] = low;
+            size++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            int pos = Arrays.binarySearch(values, 0, size, low);
+            if (pos < 0) return this;
+            System.arraycopy(values, pos + 1, values, pos, size - pos - 1);
+            size--;
+            return this;
+        }
+
+        @Override
+        public int cardinality() {
+            return size;
+        }
+
+        @Override
+        public int copyTo(long[] out, int offset, long base) {
+            for (int i = 0; i < size; i++) {
+                out[offset++] = base | values[i];
+            }
+            return offset;
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer();
+            for (int i = 0; i < size; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    // 값이 많은 구간: 65536비트 비트맵
+    private static final class BitmapContainer implements Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        @Override
+        public boolean contains(char low) {
+            return (words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            long before = words[low >>> 6];
+            long after = before | (1L << low);
+            if (before != after) {
+                words[low >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            long before = words[low >>> 6];
+            long after = before & ~(1L << low);
+            if (before == after) return this;
+            words[low >>> 6] = after;
+            cardinality--;
+            // 배열로 충분히 작아지면 다시 배열 구간으로
+            if (cardinality <= ARRAY_MAX / 2) {
+                ArrayContainer array = new ArrayContainer();
+                for (int w = 0; w < words.length; w++) {
+                    long word = words[w];
+                    while (word != 0) {
+                        array.add((char) (w * 64 + Long.numberOfTrailingZeros(word)));
+                        word &= word - 1;
+                    }
+                }
+                return array;
+            }
+            return this;
+        }
+
+        @Override
+        public int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        public int copyTo(long[] out, int offset, long base) {
+            for (int w = 0; w < words.length; w++) {
+                long word = words[w];
+                while (word != 0) {
+                    out[offset++] = base | (w * 64L + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return offset;
+        }
+    }
+}
@@ -0,0 +1,593 @@
+package com.example.bookmanagement.search;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanArchiveRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// 도서 검색용 메모리 색인 (제목 / 저자 / 출판사 / ISBN + 제목·저자의 초성/자모, 오타 허용, 자동완성, 정확도순)
+// 앱 시작 시 스냅샷 파일(없으면 전체 도서)로 만들고, 이후에는 BookService의 등록/수정/삭제가 커밋될 때 부분 갱신
+// 자동완성 인기순(대출 횟수)은 LoanService의 대출 승인/직접 대출이 커밋될 때 갱신
+// (롤백된 변경은 색인에 남지 않음)
+@Component
+public class BookSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BookSearchIndex.class);
+
+    private final BookRepository bookRepository;
+    private final LoanRepository loanRepository;
+    private final LoanArchiveRepository loanArchiveRepository;
+
+    private final NgramIndex titleIndex = new NgramIndex();
+    private final NgramIndex authorIndex = new NgramIndex();
+    private final NgramIndex publisherIndex = new NgramIndex();
+    private final NgramIndex isbnIndex = new NgramIndex();
+
+    // 초성/자모 검색용: 색인 시점에 한 번만 분해해서 저장 (검색 시에는 검색어만 분해)
+    private final NgramIndex titleChosungIndex = new NgramIndex();
+    private final NgramIndex authorChosungIndex = new NgramIndex();
+    private final NgramIndex titleJamoIndex = new NgramIndex();
+    private final NgramIndex authorJamoIndex = new NgramIndex();
+
+    // 오타 허용 검색용: 제목·저자의 각 단어(+ 짧은 필드는 전체)를 공백/기호 제거 후 등록
+    private final LevenshteinTrie fuzzyIndex = new LevenshteinTrie();
+
+    // 정확도순 전체 검색: 제목 > 저자 > 출판사 > 소개 순으로 가중치
+    private final Bm25Index rankedIndex = new Bm25Index(3.0, 2.0, 1.0, 0.5);
+
+    private static final Pattern ISBN_LIKE = Pattern.compile("[0-9][0-9-]*");
+
+    // 오타 허용 검색 결과 최대 건수 (가까운 순)
+    private static final int FUZZY_LIMIT = 100;
+
+    // 필드 전체를 하나의 용어로도 등록하는 최대 길이 ("클린코드"처럼 띄어쓰기 없이 입력하는 경우용)
+    private static final int FUZZY_WHOLE_FIELD_MAX = 20;
+
+    // 자동완성: 제목·저자 후보, 가중치 = 대출 횟수 (저자는 그 저자 도서들의 합)
+    private final CompletionTrie completions = new CompletionTrie();
+
+    // 저자 후보 키 → 그 저자의 도서 ID / 도서 ID → 저자 후보 키 (저자 가중치 합산용)
+    private final Map<String, Set<Long>> booksByAuthor = new HashMap<>();
+    private final Map<Long, String> authorKeyByBook = new HashMap<>();
+
+    // 색인 완료 전에는 BookService가 DB 검색으로 대체
+    private volatile boolean ready = false;
+
+    // 재시작 시 전체 재색인을 피하기 위한 스냅샷 파일과, 스냅샷에 넣을 색인 대상 필드
+    private final IndexSnapshot snapshot;
+    private final Map<Long, IndexSnapshot.Document> documents = new ConcurrentHashMap<>();
+
+    // 이 시각까지의 DB 변경은 색인에 반영됨 (스냅샷에 함께 저장)
+    private volatile LocalDateTime syncedAt;
+
+    // 스냅샷 이후 변경분 조회 시 기준 시각을 이만큼 앞당김 (서버 간 시계 차이, 늦게 커밋된 트랜잭션 대비)
+    private static final long CATCH_UP_OVERLAP_MINUTES = 5;
+
+    public BookSearchIndex(BookRepository bookRepository, LoanRepository loanRepository,
+                           LoanArchiveRepository loanArchiveRepository,
+                           @Value("${search.index.snapshot-path:data/search-index.snapshot}") String snapshotPath) {
+        this.bookRepository = bookRepository;
+        this.loanRepository = loanRepository;
+        this.loanArchiveRepository = loanArchiveRepository;
+        this.snapshot = new IndexSnapshot(Paths.get(snapshotPath));
+    }
+
+    // DataInitializer(CommandLineRunner)의 샘플 데이터까지 반영되도록 준비 완료 이벤트에서 생성
+    // 스냅샷 파일이 있으면: 스냅샷 + 그 이후 바뀐 도서만 DB에서 조회 (book 테이블 전체를 읽지 않음)
+    // 없거나 읽을 수 없으면: 전체 도서로 생성 후 스냅샷 저장
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        if (snapshot.exists()) {
+            try {
+                int changed = restoreFromSnapshot();
+                log.info("검색 색인 스냅샷 복원: {}권 (변경분 {}건 반영, {}ms)", documents.size(), changed,
+                        System.currentTimeMillis() - start);
+                return;
+            } catch (IOException e) {
+                log.warn("검색 색인 스냅샷을 사용할 수 없어 DB에서 다시 만듭니다: {}", e.getMessage());
+            }
+        }
+        LocalDateTime syncStart = LocalDateTime.now();
+        rebuild(bookRepository.findAll());
+        syncedAt = syncStart;
+        saveSnapshot();
+        log.info("검색 색인 생성: {}권 ({}ms)", documents.size(), System.currentTimeMillis() - start);
+    }
+
+    // 스냅샷 문서 + (스냅샷 시각 - 여유 시간) 이후 등록/수정된 도서 - 삭제된 도서 → 한 번에 색인 생성
+    // 반환값: 반영한 변경(등록/수정/삭제) 건수
+    private int restoreFromSnapshot() throws IOException {
+        IndexSnapshot.Loaded loaded = snapshot.read();
+        LocalDateTime syncStart = LocalDateTime.now();
+
+        Map<Long, Book> books = new LinkedHashMap<>();
+        for (IndexSnapshot.Document doc : loaded.documents) {
+            books.put(doc.id, doc.toBook());
+        }
+        int changed = 0;
+        for (Book book : bookRepository.findChangedSince(loaded.syncedAt.minusMinutes(CATCH_UP_OVERLAP_MINUTES))) {
+            books.put(book.getId(), book);
+            changed++;
+        }
+        Set<Long> existingIds = new HashSet<>(bookRepository.findAllIds());
+        int before = books.size();
+        books.keySet().retainAll(existingIds);
+        changed += before - books.size();
+
+        rebuild(new ArrayList<>(books.values()));
+        syncedAt = syncStart;
+        if (changed > 0) {
+            saveSnapshot();
+        }
+        return changed;
+    }
+
+    // 종료 시 현재 색인 상태를 저장 → 다음 기동 시 따라잡을 변경분이 줄어듦
+    @PreDestroy
+    public void saveSnapshot() {
+        if (!ready || syncedAt == null) return;
+        try {
+            snapshot.write(syncedAt, new ArrayList<>(documents.values()));
+        } catch (IOException e) {
+            log.warn("검색 색인 스냅샷 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    public void rebuild(List<Book> books) {
+        ready = false;
+        documents.clear();
+        titleIndex.clear();
+        authorIndex.clear();
+        publisherIndex.clear();
+        isbnIndex.clear();
+        titleChosungIndex.clear();
+        authorChosungIndex.clear();
+        titleJamoIndex.clear();
+        authorJamoIndex.clear();
+        fuzzyIndex.clear();
+        rankedIndex.clear();
+        for (Book book : books) {
+            addToSearchIndexes(book);
+        }
+        loadCompletions(books);
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 도서 등록/수정 시 호출 (커밋 후 반영, 같은 ID면 덮어씀)
+    public void add(Book book) {
+        AfterCommit.run(() -> {
+            addToSearchIndexes(book);
+            putCompletion(book);
+        });
+    }
+
+    private void addToSearchIndexes(Book book) {
+        documents.put(book.getId(), IndexSnapshot.Document.of(book));
+        titleIndex.put(book.getId(), book.getTitle());
+        authorIndex.put(book.getId(), book.getAuthor());
+        publisherIndex.put(book.getId(), book.getPublisher());
+        isbnIndex.put(book.getId(), book.getIsbn());
+        titleChosungIndex.put(book.getId(), Hangul.toChosung(book.getTitle()));
+        authorChosungIndex.put(book.getId(), Hangul.toChosung(book.getAuthor()));
+        titleJamoIndex.put(book.getId(), Hangul.toJamo(book.getTitle()));
+        authorJamoIndex.put(book.getId(), Hangul.toJamo(book.getAuthor()));
+        fuzzyIndex.put(book.getId(), fuzzyTerms(book));
+        rankedIndex.put(book.getId(), book.getTitle(), book.getAuthor(), book.getPublisher(), book.getDescription());
+    }
+
+    // 도서 삭제 시 호출 (커밋 후 반영)
+    public void remove(Long bookId) {
+        AfterCommit.run(() -> removeFromSearchIndexes(bookId));
+    }
+
+    private void removeFromSearchIndexes(Long bookId) {
+        documents.remove(bookId);
+        titleIndex.remove(bookId);
+        authorIndex.remove(bookId);
+        publisherIndex.remove(bookId);
+        isbnIndex.remove(bookId);
+        titleChosungIndex.remove(bookId);
+        authorChosungIndex.remove(bookId);
+        titleJamoIndex.remove(bookId);
+        authorJamoIndex.remove(bookId);
+        fuzzyIndex.remove(bookId);
+        rankedIndex.remove(bookId);
+        removeCompletion(bookId);
+    }
+
+    // 대출 승인/직접 대출 시 호출 → 자동완성 인기순 반영 (커밋 후, 롤백되면 그대로)
+    public void recordBorrow(Long bookId) {
+        AfterCommit.run(() -> {
+            completions.addWeight(titleKey(bookId), 1);
+            String authorKey;
+            synchronized (booksByAuthor) {
+                authorKey = authorKeyByBook.get(bookId);
+            }
+            if (authorKey != null) {
+                completions.addWeight(authorKey, 1);
+            }
+        });
+    }
+
+    // 접두어 자동완성 (대출 횟수 많은 순)
+    public List<Suggestion> complete(String prefix, int limit) {
+        return completions.complete(prefix, Math.max(1, Math.min(limit, CompletionTrie.TOP_K)));
+    }
+
+    // 검색 유형별 일치하는 도서 ID
+    // type: title / author / publisher / isbn (ID 오름차순), chosung(초성·자모), fuzzy(오타 허용),
+    // 그 외(전체)는 제목·저자·출판사·소개 중 일치하는 도서 전체 (순서 없음, 정확도순 정렬은 rank())
+    public Set<Long> search(String type, String keyword) {
+        switch (type) {
+            case "title":
+                return titleIndex.search(keyword);
+            case "author":
+                return authorIndex.search(keyword);
+            case "publisher":
+                return publisherIndex.search(keyword);
+            case "isbn":
+                return isbnIndex.search(keyword);
+            case "chosung":
+                return searchChosung(keyword);
+            case "fuzzy":
+                return searchFuzzy(keyword);
+            default:
+                return isIsbnLike(keyword) ? isbnIndex.search(keyword) : rankedIndex.matches(keyword);
+        }
+    }
+
+    // 정확도순으로 보여주는 검색인지 (전체 검색, 숫자/하이픈만 있는 검색어는 ISBN 부분 일치라 ID 순서)
+    public boolean isRanked(String type, String keyword) {
+        switch (type) {
+            case "title":
+            case "author":
+            case "publisher":
+            case "isbn":
+            case "chosung":
+            case "fuzzy":
+                return false;
+            default:
+                return !isIsbnLike(keyword);
+        }
+    }
+
+    // 정확도순 검색 (BM25F): include를 만족하는 일치 도서 중 점수 높은 순 상위 limit개 (페이지 끝까지의 건수만 계산)
+    public Set<Long> rank(String keyword, Predicate<Long> include, int limit) {
+        return rankedIndex.search(keyword, include, limit);
+    }
+
+    private static boolean isIsbnLike(String keyword) {
+        return ISBN_LIKE.matcher(keyword.trim()).matches();
+    }
+
+    // 정확도순 검색 한 페이지 (BM25F 한 번 훑기)
+    // 상세 조건에 맞는 일치 도서의 전체 건수/항목별 건수를 세면서 점수 상위 limit개(페이지 끝까지)만 남김
+    // → search() + filter() + facets() + rank()처럼 일치 ID 전체 목록을 만들고 여러 번 훑지 않음
+    // 상세 조건 적용 전에도 일치하는 도서가 없으면 null (호출한 쪽에서 오타 허용 검색으로 대체)
+    public RankedPage rankPage(String keyword, String author, String publisher, Boolean available,
+                               Set<Long> borrowedIds, int limit, int facetLimit) {
+        Filter filter = new Filter(author, publisher, available, borrowedIds);
+        FacetCounter counter = new FacetCounter(borrowedIds);
+        int[] matched = {0};
+        Set<Long> top = rankedIndex.searchAll(keyword, id -> {
+            matched[0]++;
+            IndexSnapshot.Document doc = documents.get(id);
+            if (doc == null || !filter.test(id, doc)) return false;
+            counter.add(id, doc);
+            return true;
+        }, limit);
+        if (matched[0] == 0) {
+            return null;
+        }
+        return new RankedPage(new ArrayList<>(top), counter.toFacets(facetLimit));
+    }
+
+    // 정확도순 검색 한 페이지 결과: 페이지 끝까지의 상위 ID(점수 순) + 항목별 건수(전체 건수 포함)
+    public static final class RankedPage {
+        private final List<Long> ids;
+        private final BookFacets facets;
+
+        RankedPage(List<Long> ids, BookFacets facets) {
+            this.ids = ids;
+            this.facets = facets;
+        }
+
+        public List<Long> getIds() { return ids; }
+        public BookFacets getFacets() { return facets; }
+    }
+
+    // 검색 결과 ID 중 상세 조건(저자/출판사 부분 일치, 대출 가능 여부)에 맞는 것만 순서대로 남김
+    // 색인에 보관 중인 필드로 판단하므로 DB 조회 없음
+    public List<Long> filter(Collection<Long> ids, String author, String publisher, Boolean available,
+                             Set<Long> borrowedIds) {
+        Filter filter = new Filter(author, publisher, available, borrowedIds);
+        List<Long> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            IndexSnapshot.Document doc = documents.get(id);
+            if (doc == null || !filter.test(id, doc)) continue;
+            result.add(id);
+        }
+        return result;
+    }
+
+    // 항목별 건수: 일치하는 ID를 한 번 훑으면서 출판사·저자·대출 가능 여부를 동시에 집계
+    // (항목마다 GROUP BY 쿼리를 따로 날리지 않음)
+    public BookFacets facets(Collection<Long> ids, Set<Long> borrowedIds, int limit) {
+        FacetCounter counter = new FacetCounter(borrowedIds);
+        for (Long id : ids) {
+            IndexSnapshot.Document doc = documents.get(id);
+            if (doc == null) continue;
+            counter.add(id, doc);
+        }
+        return counter.toFacets(limit);
+    }
+
+    // 상세 조건 (빈 값/null은 조건 없음)
+    private static final class Filter {
+        private final String authorQuery;
+        private final String publisherQuery;
+        private final Boolean available;
+        private final Set<Long> borrowedIds;
+
+        Filter(String author, String publisher, Boolean available, Set<Long> borrowedIds) {
+            this.authorQuery = author == null ? "" : author.trim().toLowerCase(Locale.ROOT);
+            this.publisherQuery = publisher == null ? "" : publisher.trim().toLowerCase(Locale.ROOT);
+            this.available = available;
+            this.borrowedIds = borrowedIds;
+        }
+
+        boolean test(Long id, IndexSnapshot.Document doc) {
+            if (!authorQuery.isEmpty() && !containsIgnoreCase(doc.author, authorQuery)) return false;
+            if (!publisherQuery.isEmpty() && !containsIgnoreCase(doc.publisher, publisherQuery)) return false;
+            return available == null || available != borrowedIds.contains(id);
+        }
+    }
+
+    // 출판사·저자·대출 가능 여부별 건수 집계
+    private static final class FacetCounter {
+        private final Set<Long> borrowedIds;
+        private final Map<String, int[]> publishers = new HashMap<>();
+        private final Map<String, int[]> authors = new HashMap<>();
+        private int onLoan = 0;
+        private int total = 0;
+
+        FacetCounter(Set<Long> borrowedIds) {
+            this.borrowedIds = borrowedIds;
+        }
+
+        void add(Long id, IndexSnapshot.Document doc) {
+            total++;
+            if (doc.publisher != null && !doc.publisher.isBlank()) {
+                publishers.computeIfAbsent(doc.publisher.trim(), k -> new int[1])[0]++;
+            }
+            if (doc.author != null && !doc.author.isBlank()) {
+                authors.computeIfAbsent(doc.author.trim(), k -> new int[1])[0]++;
+            }
+            if (borrowedIds.contains(id)) onLoan++;
+        }
+
+        BookFacets toFacets(int limit) {
+            return new BookFacets(topCounts(publishers, limit), topCounts(authors, limit), total - onLoan, onLoan);
+        }
+    }
+
+    private static List<BookFacets.Count> topCounts(Map<String, int[]> counts, int limit) {
+        List<BookFacets.Count> result = new ArrayList<>(counts.size());
+        for (Map.Entry<String, int[]> e : counts.entrySet()) {
+            result.add(new BookFacets.Count(e.getKey(), e.getValue()[0]));
+        }
+        result.sort(Comparator.comparingInt((BookFacets.Count c) -> -c.getCount())
+                .thenComparing(BookFacets.Count::getValue));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    private static boolean containsIgnoreCase(String text, String lowerQuery) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(lowerQuery);
+    }
+
+    // 초성/자모 검색 (제목 + 저자)
+    // "ㅈㅂㅇㅈㅅ" → 초성 색인, "자바으" / "정ㅅ"처럼 음절 중간에서 멈춘 검색어 → 자모 색인
+    private Set<Long> searchChosung(String keyword) {
+        Set<Long> result = new TreeSet<>();
+        if (Hangul.isChosungOnly(keyword)) {
+            String chosung = Hangul.toChosung(keyword);
+            result.addAll(titleChosungIndex.search(chosung));
+            result.addAll(authorChosungIndex.search(chosung));
+        } else {
+            String jamo = Hangul.toJamo(keyword);
+            result.addAll(titleJamoIndex.search(jamo));
+            result.addAll(authorJamoIndex.search(jamo));
+        }
+        return result;
+    }
+
+    // 오타 허용 검색 (제목 + 저자) → 편집 거리가 가까운 순서
+    // 검색어를 단어별로 트라이에서 찾고, 일치한 단어 수가 많고 거리 합이 작은 도서부터 반환
+    // "Effective Jav" → "effective" + "java", "로버트 마틴" → "로버트 c. 마틴"
+    public Set<Long> searchFuzzy(String keyword) {
+        List<String> words = new ArrayList<>();
+        for (String word : keyword.trim().split("\\s+")) {
+            String term = fuzzyNormalize(word);
+            if (!term.isEmpty()) words.add(term);
+        }
+        Set<Long> result = new LinkedHashSet<>();
+        if (words.isEmpty()) {
+            return result;
+        }
+
+        // 도서 ID → {일치한 단어 수, 거리 합}
+        Map<Long, int[]> scores = new HashMap<>();
+        for (String word : words) {
+            for (Map.Entry<Long, Integer> e : fuzzyIndex.search(word, maxDistance(word.length())).entrySet()) {
+                int[] score = scores.computeIfAbsent(e.getKey(), k -> new int[2]);
+                score[0]++;
+                score[1] += e.getValue();
+            }
+        }
+
+        // 단어가 여러 개면 하나 정도는 못 찾아도 허용
+        int required = Math.max(1, words.size() - 1);
+        List<Map.Entry<Long, int[]>> ranked = new ArrayList<>();
+        for (Map.Entry<Long, int[]> e : scores.entrySet()) {
+            if (e.getValue()[0] >= required) ranked.add(e);
+        }
+        ranked.sort(Comparator.<Map.Entry<Long, int[]>>comparingInt(e -> -e.getValue()[0])
+                .thenComparingInt(e -> e.getValue()[1])
+                .thenComparing(Map.Entry::getKey));
+        for (int i = 0; i < ranked.size() && i < FUZZY_LIMIT; i++) {
+            result.add(ranked.get(i).getKey());
+        }
+        return result;
+    }
+
+    // 검색어 길이에 따른 허용 편집 거리 (짧은 검색어는 엄격하게)
+    static int maxDistance(int length) {
+        if (length <= 2) return 0;
+        if (length <= 5) return 1;
+        if (length <= 9) return 2;
+        return 3;
+    }
+
+    // 소문자 변환 + 글자/숫자만 남김 ("로버트 C. 마틴" → "로버트c마틴")
+    static String fuzzyNormalize(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private List<String> fuzzyTerms(Book book) {
+        List<String> terms = new ArrayList<>();
+        for (String field : new String[]{book.getTitle(), book.getAuthor()}) {
+            if (field == null) continue;
+            String whole = fuzzyNormalize(field);
+            if (whole.length() <= FUZZY_WHOLE_FIELD_MAX) terms.add(whole);
+            for (String word : field.split("\\s+")) {
+                String term = fuzzyNormalize(word);
+                if (!term.isEmpty()) terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private void loadCompletions(List<Book> books) {
+        Map<Long, Long> borrowCounts = new HashMap<>();
+        for (Object[] row : loanRepository.countBorrowsGroupByBookId()) {
+            borrowCounts.put((Long) row[0], (Long) row[1]);
+        }
+        // 보관 테이블로 옮겨진 반납 기록도 대출 횟수에 포함
+        for (Object[] row : loanArchiveRepository.countGroupByBookId()) {
+            borrowCounts.merge((Long) row[0], (Long) row[1], Long::sum);
+        }
+
+        Map<String, CompletionTrie.Entry> authorEntries = new HashMap<>();
+        List<CompletionTrie.Entry> entries = new ArrayList<>();
+        synchronized (booksByAuthor) {
+            booksByAuthor.clear();
+            authorKeyByBook.clear();
+            for (Book book : books) {
+                long count = borrowCounts.getOrDefault(book.getId(), 0L);
+                entries.add(new CompletionTrie.Entry(titleKey(book.getId()), book.getTitle(), "title", book.getId(), count));
+                if (book.getAuthor() == null || book.getAuthor().isBlank()) continue;
+
+                String authorKey = authorKey(book.getAuthor());
+                CompletionTrie.Entry author = authorEntries.computeIfAbsent(authorKey,
+                        k -> new CompletionTrie.Entry(k, book.getAuthor().trim(), "author", null, 0));
+                author.weight += count;
+                booksByAuthor.computeIfAbsent(authorKey, k -> new HashSet<>()).add(book.getId());
+                authorKeyByBook.put(book.getId(), authorKey);
+            }
+        }
+        entries.addAll(authorEntries.values());
+        completions.load(entries);
+    }
+
+    // 도서 등록/수정 시 제목·저자 후보 갱신 (기존 대출 횟수는 유지)
+    private void putCompletion(Book book) {
+        String titleKey = titleKey(book.getId());
+        long count = completions.weightOf(titleKey);
+        completions.put(titleKey, book.getTitle(), "title", book.getId(), count);
+
+        synchronized (booksByAuthor) {
+            detachAuthor(book.getId(), count);
+            if (book.getAuthor() == null || book.getAuthor().isBlank()) return;
+            String authorKey = authorKey(book.getAuthor());
+            Set<Long> ids = booksByAuthor.computeIfAbsent(authorKey, k -> new HashSet<>());
+            if (ids.isEmpty()) {
+                completions.put(authorKey, book.getAuthor().trim(), "author", null, count);
+            } else {
+                completions.addWeight(authorKey, count);
+            }
+            ids.add(book.getId());
+            authorKeyByBook.put(book.getId(), authorKey);
+        }
+    }
+
+    private void removeCompletion(Long bookId) {
+        String titleKey = titleKey(bookId);
+        long count = completions.weightOf(titleKey);
+        completions.remove(titleKey);
+        synchronized (booksByAuthor) {
+            detachAuthor(bookId, count);
+        }
+    }
+
+    // 도서를 기존 저자 후보에서 분리 (그 저자의 마지막 도서였으면 후보 삭제)
+    private void detachAuthor(Long bookId, long count) {
+        String oldKey = authorKeyByBook.remove(bookId);
+        if (oldKey == null) return;
+        Set<Long> ids = booksByAuthor.get(oldKey);
+        if (ids == null) return;
+        ids.remove(bookId);
+        if (ids.isEmpty()) {
+            booksByAuthor.remove(oldKey);
+            completions.remove(oldKey);
+        } else {
+            completions.addWeight(oldKey, -count);
+        }
+    }
+
+    private static String titleKey(Long bookId) {
+        return "title:" + bookId;
+    }
+
+    private static String authorKey(String author) {
+        return "author:" + CompletionTrie.normalize(author);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.bookmanagement.search;
+
+import com.example.bookmanagement.entity.Book;
+import org.springframework.data.domain.Page;
+import java.util.Set;
+
+// 도서 검색 한 페이지 결과 (요청마다 새로 만듦, 캐시에는 SearchResultCache.Snapshot으로 ID만 저장)
+// 캐시 적중 시 대출 중 도서 조회도 생략되도록 이 페이지 도서 중 대출 중인 ID를 함께 보관
+public class BookSearchResult {
+
+    private final Page<Book> books;
+    private final BookFacets facets;
+    private final Set<Long> borrowedIds;
+
+    public BookSearchResult(Page<Book> books, BookFacets facets, Set<Long> borrowedIds) {
+        this.books = books;
+        this.facets = facets;
+        this.borrowedIds = borrowedIds;
+    }
+
+    public Page<Book> getBooks() { return books; }
+    public BookFacets getFacets() { return facets; }
+    public Set<Long> getBorrowedIds() { return borrowedIds; }
+}
@@ -0,0 +1,82 @@
+package com.example.bookmanagement.search;
+
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.Set;
+
+// 대출 중인 도서 ID 비트맵 (소장본이 모두 신청/승인/반납 대기 중이라 대출 가능한 권이 없는 도서)
+// 시작 시 한 번 DB에서 만들고, 이후에는 InventoryService가 대출 가능 권수를 바꿀 때 커밋 직후 해당 도서만 갱신
+// (커밋 후 DB의 대출 가능 권수를 다시 읽어 판단 → 여러 트랜잭션의 콜백 순서가 뒤바뀌어도 최종 상태가 맞음)
+// → 도서 목록/엑셀/PDF마다 대출 기록 전체를 조회하지 않고 contains()로 바로 확인
+@Component
+public class BorrowedBookIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowedBookIndex.class);
+
+    // 도서 ID별 갱신 잠금 구역 수
+    private static final int LOCK_STRIPES = 64;
+
+    private final BookRepository bookRepository;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final BookIdBitmap bitmap = new BookIdBitmap();
+    private volatile boolean ready = false;
+
+    public BorrowedBookIndex(BookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // DataInitializer의 샘플 대출과 소장본 변환(InventoryService)까지 반영되도록 준비 완료 이벤트에서 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        rebuild();
+        log.info("대출 중 도서 비트맵 생성: {}권 ({}ms)", bitmap.size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 읽기 전용 Set 뷰 (항상 최신 상태)
+    public Set<Long> ids() {
+        return bitmap.asSet();
+    }
+
+    public boolean isBorrowed(Long bookId) {
+        return bookId != null && bitmap.contains(bookId);
+    }
+
+    // 대출 가능 권수가 바뀐 도서 (마지막 한 권 대출, 거절/반납, 소장본 추가/삭제, 도서 삭제)
+    // 커밋 후 DB의 현재 대출 가능 권수로 표시 여부를 정함 (0권이면 대출 중, 도서가 없거나 1권 이상이면 해제)
+    // 같은 도서의 조회+반영은 한 번에 하나씩 → 나중에 실행된 콜백이 더 최신 값을 반영
+    public void refresh(Long bookId) {
+        AfterCommit.run(() -> {
+            synchronized (locks[Math.floorMod(bookId.hashCode(), LOCK_STRIPES)]) {
+                Integer available = bookRepository.findAvailableCopies(bookId);
+                if (available != null && available == 0) {
+                    bitmap.add(bookId);
+                } else {
+                    bitmap.remove(bookId);
+                }
+            }
+        });
+    }
+
+    // 여러 도서가 한꺼번에 바뀌는 경우 (회원 삭제 등) → 커밋 후 DB 기준으로 다시 생성
+    public void rebuildAfterCommit() {
+        AfterCommit.run(this::rebuild);
+    }
+
+    private void rebuild() {
+        bitmap.replaceAll(bookRepository.findUnavailableIds());
+        ready = true;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.bookmanagement.search;
+
+import com.example.bookmanagement.repository.LoanArchiveRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// "이 책을 빌린 회원이 함께 빌린 책" 추천용 동시 대출 행렬
+// 두 도서를 모두 빌린 회원 수를 도서 쌍마다 저장 (한 번이라도 함께 빌린 쌍만 → 희소 행렬)
+// 도서마다 함께 빌린 회원이 많은 순 상위 TOP_N개 이웃 목록을 미리 들고 있어서 상세 화면은 목록만 읽음
+// 시작 시 회원별 대출 도서 목록(loan + loan_archive)으로 한 번 만들고,
+// 이후에는 대출 승인/직접 대출이 커밋될 때 해당 회원의 기존 도서들과의 쌍만 +1
+@Component
+public class BorrowedTogetherIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BorrowedTogetherIndex.class);
+
+    // 도서마다 보관하는 이웃 수
+    public static final int TOP_N = 10;
+
+    private final LoanRepository loanRepository;
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Set<Long>> booksByMember = new HashMap<>();    // 회원 → 빌린 도서
+    private final Map<Long, Set<Long>> membersByBook = new HashMap<>();    // 도서 → 빌린 회원 (도서 삭제용 역색인)
+    private final Map<Long, Map<Long, Integer>> counts = new HashMap<>();  // 도서 → (함께 빌린 도서 → 회원 수)
+    private final Map<Long, List<Long>> neighbors = new HashMap<>();       // 도서 → 상위 TOP_N 이웃 (순서대로)
+
+    public BorrowedTogetherIndex(LoanRepository loanRepository, LoanArchiveRepository loanArchiveRepository) {
+        this.loanRepository = loanRepository;
+        this.loanArchiveRepository = loanArchiveRepository;
+    }
+
+    // DataInitializer의 샘플 대출까지 반영되도록 준비 완료 이벤트에서 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.currentTimeMillis();
+        Map<Long, Set<Long>> loaded = new HashMap<>();
+        for (Object[] row : loanRepository.findBorrowedMemberBookPairs()) {
+            loaded.computeIfAbsent((Long) row[0], m -> new HashSet<>()).add((Long) row[1]);
+        }
+        for (Object[] row : loanArchiveRepository.findMemberBookPairs()) {
+            loaded.computeIfAbsent((Long) row[0], m -> new HashSet<>()).add((Long) row[1]);
+        }
+
+        lock.writeLock().lock();
+        try {
+            booksByMember.clear();
+            membersByBook.clear();
+            counts.clear();
+            neighbors.clear();
+            booksByMember.putAll(loaded);
+            loaded.forEach((memberId, books) -> {
+                for (Long bookId : books) {
+                    membersByBook.computeIfAbsent(bookId, b -> new HashSet<>()).add(memberId);
+                }
+            });
+            for (Set<Long> books : loaded.values()) {
+                for (Long a : books) {
+                    for (Long b : books) {
+                        if (!a.equals(b)) counts.computeIfAbsent(a, k -> new HashMap<>()).merge(b, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Long bookId : counts.keySet()) {
+                recomputeTop(bookId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("함께 빌린 도서 행렬 생성: 회원 {}명, 도서 {}권 ({}ms)", loaded.size(), neighbors.size(),
+                System.currentTimeMillis() - start);
+    }
+
+    // 함께 빌린 회원이 많은 순 이웃 도서 ID (최대 limit개, 복사본)
+    public List<Long> neighbors(Long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Long> top = neighbors.get(bookId);
+            if (top == null) return new ArrayList<>();
+            return new ArrayList<>(top.subList(0, Math.min(limit, top.size())));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 두 도서를 모두 빌린 회원 수
+    public int count(Long bookId, Long otherId) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> row = counts.get(bookId);
+            return row == null ? 0 : row.getOrDefault(otherId, 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 대출 승인/직접 대출 시 호출 (커밋 후 반영)
+    // 처음 빌리는 도서면 이 회원이 전에 빌린 도서들과의 쌍만 +1 → 비용은 회원의 대출 도서 수에 비례
+    public void recordBorrow(Long memberId, Long bookId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                Set<Long> books = booksByMember.computeIfAbsent(memberId, m -> new HashSet<>());
+                if (!books.add(bookId)) return;
+                membersByBook.computeIfAbsent(bookId, b -> new HashSet<>()).add(memberId);
+                for (Long other : books) {
+                    if (other.equals(bookId)) continue;
+                    increment(bookId, other);
+                    increment(other, bookId);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 도서 삭제 시 (커밋 후) 행렬에서 제외 (이웃이었던 도서들은 목록을 다시 계산)
+    // 빌린 회원은 역색인으로 찾음 → 비용은 그 도서를 빌린 회원 수에 비례
+    public void remove(Long bookId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                Set<Long> members = membersByBook.remove(bookId);
+                if (members != null) {
+                    for (Long memberId : members) {
+                        Set<Long> books = booksByMember.get(memberId);
+                        if (books != null) books.remove(bookId);
+                    }
+                }
+                Map<Long, Integer> row = counts.remove(bookId);
+                neighbors.remove(bookId);
+                if (row == null) return;
+                for (Long other : row.keySet()) {
+                    Map<Long, Integer> otherRow = counts.get(other);
+                    if (otherRow != null) otherRow.remove(bookId);
+                    recomputeTop(other);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 회원 삭제 시 (커밋 후) 그 회원이 만든 쌍만 -1
+    public void removeMember(Long memberId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                Set<Long> books = booksByMember.remove(memberId);
+                if (books == null) return;
+                for (Long a : books) {
+                    Set<Long> members = membersByBook.get(a);
+                    if (members != null) {
+                        members.remove(memberId);
+                        if (members.isEmpty()) membersByBook.remove(a);
+                    }
+                    Map<Long, Integer> row = counts.get(a);
+                    if (row == null) continue;
+                    for (Long b : books) {
+                        if (!a.equals(b)) row.computeIfPresent(b, (k, c) -> c > 1 ? c - 1 : null);
+                    }
+                    recomputeTop(a);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // 쌍 하나 +1 → 이웃 목록은 해당 도서만 들어가거나 순서가 바뀌는 경우만 처리 (행 전체를 다시 보지 않음)
+    private void increment(Long bookId, Long otherId) {
+        Map<Long, Integer> row = counts.computeIfAbsent(bookId, k -> new HashMap<>());
+        row.merge(otherId, 1, Integer::sum);
+        List<Long> top = neighbors.computeIfAbsent(bookId, k -> new ArrayList<>());
+        Comparator<Long> order = order(row);
+        if (!top.contains(otherId)) {
+            if (top.size() >= TOP_N) {
+                // 횟수는 늘기만 하므로 마지막 이웃보다 앞서야만 목록에 들어감
+                if (order.compare(otherId, top.get(top.size() - 1)) >= 0) return;
+                top.remove(top.size() - 1);
+            }
+            top.add(otherId);
+        }
+        top.sort(order);
+    }
+
+    // 행 전체로 상위 TOP_N 다시 계산 (생성/삭제 시)
+    private void recomputeTop(Long bookId) {
+        Map<Long, Integer> row = counts.get(bookId);
+        if (row == null || row.isEmpty()) {
+            counts.remove(bookId);
+            neighbors.remove(bookId);
+            return;
+        }
+        neighbors.put(bookId, topOf(row.keySet(), order(row)));
+    }
+
+    // 함께 빌린 회원 수 내림차순 → 도서 ID 오름차순
+    private static Comparator<Long> order(Map<Long, Integer> row) {
+        return Comparator.comparingInt((Long id) -> -row.get(id)).thenComparingLong(id -> id);
+    }
+
+    private static List<Long> topOf(Collection<Long> ids, Comparator<Long> order) {
+        List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(order);
+        return new ArrayList<>(sorted.subList(0, Math.min(TOP_N, sorted.size())));
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.bookmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 자동완성용 접두어 트라이
+// 각 노드가 "이 접두어로 시작하는 후보 중 가중치 상위 K개"를 미리 들고 있어서,
+// 검색은 접두어 길이만큼 내려간 뒤 캐시된 목록을 그대로 반환 (후보 수와 무관)
+// 가중치/후보가 바뀌면 해당 후보의 경로에 있는 노드만 아래에서 위로 다시 계산
+public class CompletionTrie {
+
+    // 노드마다 보관하는 상위 후보 수
+    public static final int TOP_K = 10;
+
+    // 키 최대 길이 (이보다 긴 접두어는 여기까지만 내려가서 결과를 거름)
+    private static final int MAX_KEY_LENGTH = 20;
+
+    // 가중치 내림차순 → 문자열 오름차순
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingLong((Entry e) -> -e.weight)
+            .thenComparing(e -> e.text);
+
+    static final class Entry {
+        final String id;       // 후보 식별자 (예: "title:12", "author:남궁성")
+        final String text;
+        final String type;
+        final Long bookId;
+        long weight;
+        List<String> keys = new ArrayList<>();
+
+        Entry(String id, String text, String type, Long bookId, long weight) {
+            this.id = id;
+            this.text = text;
+            this.type = type;
+            this.bookId = bookId;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Node {
+        char[] keys = new char[0];      // 자식 글자 (정렬)
+        Node[] children = new Node[0];
+        List<Entry> terminal;           // 키가 이 노드에서 끝나는 후보 (없으면 null)
+        List<Entry> top = new ArrayList<>();
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            int pos = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newKeys[pos] = c;
+            newChildren[pos] = new Node();
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[pos];
+        }
+    }
+
+    private Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 전체 후보를 한 번에 적재 (앱 시작 시) → 마지막에 트라이 전체를 한 번만 계산
+    public void load(Collection<Entry> all) {
+        lock.writeLock().lock();
+        try {
+            root = new Node();
+            entries.clear();
+            for (Entry entry : all) {
+                entries.put(entry.id, entry);
+                for (String key : keysOf(entry.text)) {
+                    entry.keys.add(key);
+                    attach(entry, key);
+                }
+            }
+            recomputeSubtree(root);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 후보 추가/교체
+    public void put(String id, String text, String type, Long bookId, long weight) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            Entry entry = new Entry(id, text, type, bookId, weight);
+            entries.put(id, entry);
+            for (String key : keysOf(text)) {
+                entry.keys.add(key);
+                attach(entry, key);
+                recomputePath(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 가중치 변경 (대출 승인 시 +1 등)
+    public void addWeight(String id, long delta) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            if (entry == null) return;
+            entry.weight += delta;
+            for (String key : entry.keys) {
+                recomputePath(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long weightOf(String id) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(id);
+            return entry == null ? 0 : entry.weight;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 접두어로 시작하는 상위 후보
+    public List<Suggestion> complete(String prefix, int limit) {
+        String query = normalize(prefix);
+        List<Suggestion> result = new ArrayList<>();
+        if (query.isEmpty()) return result;
+
+        String path = query.length() > MAX_KEY_LENGTH ? query.substring(0, MAX_KEY_LENGTH) : query;
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < path.length() && node != null; i++) {
+                node = node.child(path.charAt(i));
+            }
+            if (node == null) return result;
+            for (Entry e : node.top) {
+                if (result.size() >= limit) break;
+                // 키 길이 제한으로 잘린 경우에만 실제 접두어 일치 여부를 다시 확인
+                if (path.length() < query.length() && !matchesLongPrefix(e, query)) continue;
+                result.add(new Suggestion(e.text, e.type, e.bookId, e.weight));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // 후보 하나의 키: 전체 문자열 + 각 단어에서 시작하는 뒷부분 ("모던 자바 인 액션" → "자바 인 액션"으로도 검색)
+    private static Set<String> keysOf(String text) {
+        String normalized = normalize(text);
+        Set<String> keys = new LinkedHashSet<>();
+        if (normalized.isEmpty()) return keys;
+        keys.add(truncate(normalized));
+        for (int i = 1; i < normalized.length(); i++) {
+            if (normalized.charAt(i - 1) == ' ') {
+                keys.add(truncate(normalized.substring(i)));
+            }
+        }
+        return keys;
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static boolean matchesLongPrefix(Entry e, String query) {
+        String normalized = normalize(e.text);
+        if (normalized.startsWith(query)) return true;
+        return normalized.contains(" " + query);
+    }
+
+    private void attach(Entry entry, String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        if (node.terminal == null) node.terminal = new ArrayList<>(1);
+        node.terminal.add(entry);
+    }
+
+    private void removeInternal(String id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) return;
+        for (String key : entry.keys) {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node != null && node.terminal != null) {
+                node.terminal.remove(entry);
+                if (node.terminal.isEmpty()) node.terminal = null;
+            }
+            recomputePath(key);
+        }
+    }
+
+    // 키 경로의 노드들을 깊은 곳부터 루트까지 다시 계산
+    private void recomputePath(String key) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        int depth = 0;
+        while (depth < key.length()) {
+            Node next = path[depth].child(key.charAt(depth));
+            if (next == null) break;
+            path[++depth] = next;
+        }
+        for (int i = depth; i >= 0; i--) {
+            recomputeNode(path[i]);
+        }
+    }
+
+    private void recomputeSubtree(Node node) {
+        for (Node child : node.children) {
+            recomputeSubtree(child);
+        }
+        recomputeNode(node);
+    }
+
+    // 노드의 상위 K개 = 이 노드에서 끝나는 후보 + 자식들의 상위 K개 중 상위 K개
+    private void recomputeNode(Node node) {
+        List<Entry> candidates = new ArrayList<>();
+        if (node.terminal != null) candidates.addAll(node.terminal);
+        for (Node child : node.children) {
+            candidates.addAll(child.top);
+        }
+        candidates.sort(ORDER);
+        List<Entry> top = new ArrayList<>(Math.min(TOP_K, candidates.size()));
+        for (Entry e : candidates) {
+            if (top.size() >= TOP_K) break;
+            // 같은 후보가 여러 키(단어)로 들어올 수 있으므로 중복 제거
+            if (!top.contains(e)) top.add(e);
+        }
+        node.top = top;
+    }
+}
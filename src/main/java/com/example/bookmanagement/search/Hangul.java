@@ -0,0 +1,98 @@
+package com.example.bookmanagement.search;
+
+import java.util.Map;
+
+// 한글 음절 분해 유틸리티 (초성 / 자모)
+// "자바의 정석" → 초성: "ㅈㅂㅇㅈㅅ", 자모: "ㅈㅏㅂㅏㅇㅡㅣㅈㅓㅇㅅㅓㄱ"
+// 입력 중간 상태("자바으", "정서")도 부분 문자열로 일치하도록 겹모음/겹받침은 기본 자모로 풀어서 표현
+// 공백은 제거 (사용자가 띄어쓰기 없이 "ㅈㅂㅇㅈㅅ"처럼 입력하는 경우가 많음)
+public final class Hangul {
+
+    private static final char SYLLABLE_BASE = 0xAC00; // '가'
+    private static final char SYLLABLE_LAST = 0xD7A3; // '힣'
+
+    // 초성 19자
+    private static final String[] CHO = {
+            "ㄱ", "ㄲ", "ㄴ", "ㄷ", "ㄸ", "ㄹ", "ㅁ", "ㅂ", "ㅃ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅉ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 중성 21자 (겹모음은 분해)
+    private static final String[] JUNG = {
+            "ㅏ", "ㅐ", "ㅑ", "ㅒ", "ㅓ", "ㅔ", "ㅕ", "ㅖ", "ㅗ", "ㅗㅏ",
+            "ㅗㅐ", "ㅗㅣ", "ㅛ", "ㅜ", "ㅜㅓ", "ㅜㅔ", "ㅜㅣ", "ㅠ", "ㅡ", "ㅡㅣ",
+            "ㅣ"
+    };
+
+    // 종성 28자 (0번은 받침 없음, 겹받침은 분해)
+    private static final String[] JONG = {
+            "", "ㄱ", "ㄲ", "ㄱㅅ", "ㄴ", "ㄴㅈ", "ㄴㅎ", "ㄷ", "ㄹ", "ㄹㄱ",
+            "ㄹㅁ", "ㄹㅂ", "ㄹㅅ", "ㄹㅌ", "ㄹㅍ", "ㄹㅎ", "ㅁ", "ㅂ", "ㅂㅅ", "ㅅ",
+            "ㅆ", "ㅇ", "ㅈ", "ㅊ", "ㅋ", "ㅌ", "ㅍ", "ㅎ"
+    };
+
+    // 낱자로 입력된 겹모음/겹받침 (예: "ㅘ", "ㄳ") → 분해된 형태
+    private static final Map<Character, String> COMPOUND_JAMO = Map.ofEntries(
+            Map.entry('ㅘ', "ㅗㅏ"), Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"),
+            Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"), Map.entry('ㅟ', "ㅜㅣ"),
+            Map.entry('ㅢ', "ㅡㅣ"),
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"),
+            Map.entry('ㄺ', "ㄹㄱ"), Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"),
+            Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"), Map.entry('ㄿ', "ㄹㅍ"),
+            Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"));
+
+    private Hangul() {
+    }
+
+    // 초성 문자열 (한글 음절 외의 문자는 소문자로 그대로 유지)
+    public static String toChosung(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (isSyllable(c)) {
+                sb.append(CHO[(c - SYLLABLE_BASE) / (21 * 28)]);
+            } else {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    // 자모 문자열 (음절을 초성 + 중성 + 종성으로 풀어서 이어 붙임)
+    public static String toJamo(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length() * 3);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (isSyllable(c)) {
+                int offset = c - SYLLABLE_BASE;
+                sb.append(CHO[offset / (21 * 28)]);
+                sb.append(JUNG[(offset % (21 * 28)) / 28]);
+                sb.append(JONG[offset % 28]);
+            } else if (COMPOUND_JAMO.containsKey(c)) {
+                sb.append(COMPOUND_JAMO.get(c));
+            } else {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+
+    // 검색어가 초성(자음 낱자)만으로 이루어졌는지 확인 (공백 무시)
+    public static boolean isChosungOnly(String text) {
+        if (text == null || text.isBlank()) return false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) continue;
+            if (c < 'ㄱ' || c > 'ㅎ') return false;
+        }
+        return true;
+    }
+
+    private static boolean isSyllable(char c) {
+        return c >= SYLLABLE_BASE && c <= SYLLABLE_LAST;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.bookmanagement.search;
+
+import com.example.bookmanagement.entity.Book;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// 검색 색인 스냅샷 파일 (색인에 필요한 도서 필드만 저장하는 이진 형식)
+// 재시작 시 book 테이블 전체를 다시 읽지 않고 이 파일을 MappedByteBuffer로 열어서 색인을 만든 뒤,
+// 스냅샷 이후 바뀐 도서만 DB에서 가져와 반영 (BookSearchIndex.build 참고)
+//
+// 형식: MAGIC(int) VERSION(int) 동기화 시각(long, LocalDateTime을 UTC로 보고 epoch ms) 문서 수(int)
+//       + 문서마다 id(long) 제목/저자/출판사/ISBN/소개 (각각 길이(int, null이면 -1) + UTF-8 바이트)
+class IndexSnapshot {
+
+    private static final int MAGIC = 0x42534958; // "BSIX"
+    private static final int VERSION = 1;
+
+    // 스냅샷 한 건 = 색인에 들어가는 도서 필드
+    static final class Document {
+        final Long id;
+        final String title;
+        final String author;
+        final String publisher;
+        final String isbn;
+        final String description;
+
+        Document(Long id, String title, String author, String publisher, String isbn, String description) {
+            this.id = id;
+            this.title = title;
+            this.author = author;
+            this.publisher = publisher;
+            this.isbn = isbn;
+            this.description = description;
+        }
+
+        static Document of(Book book) {
+            return new Document(book.getId(), book.getTitle(), book.getAuthor(), book.getPublisher(),
+                    book.getIsbn(), book.getDescription());
+        }
+
+        // 색인 생성용 (DB에 저장되지 않는 임시 객체)
+        Book toBook() {
+            Book book = new Book();
+            book.setId(id);
+            book.setTitle(title);
+            book.setAuthor(author);
+            book.setPublisher(publisher);
+            book.setIsbn(isbn);
+            book.setDescription(description);
+            return book;
+        }
+    }
+
+    // 읽어온 스냅샷: 이 시각까지의 DB 변경이 반영되어 있음
+    static final class Loaded {
+        final LocalDateTime syncedAt;
+        final List<Document> documents;
+
+        Loaded(LocalDateTime syncedAt, List<Document> documents) {
+            this.syncedAt = syncedAt;
+            this.documents = documents;
+        }
+    }
+
+    private final Path file;
+
+    IndexSnapshot(Path file) {
+        this.file = file;
+    }
+
+    boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    // 임시 파일에 쓴 뒤 교체 → 쓰는 도중 종료돼도 이전 스냅샷은 그대로 남음
+    void write(LocalDateTime syncedAt, Collection<Document> documents) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(syncedAt.toInstant(ZoneOffset.UTC).toEpochMilli());
+            out.writeInt(documents.size());
+            for (Document doc : documents) {
+                out.writeLong(doc.id);
+                writeString(out, doc.title);
+                writeString(out, doc.author);
+                writeString(out, doc.publisher);
+                writeString(out, doc.isbn);
+                writeString(out, doc.description);
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 파일 전체를 메모리 매핑해서 순서대로 읽음 (힙으로 한 번 더 복사하지 않음)
+    // 형식이 맞지 않으면 IOException → 호출 측에서 DB 전체 재색인
+    Loaded read() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                    throw new IOException("검색 색인 스냅샷 형식이 다릅니다: " + file);
+                }
+                LocalDateTime syncedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+                int count = buffer.getInt();
+                List<Document> documents = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    long id = buffer.getLong();
+                    documents.add(new Document(id, readString(buffer), readString(buffer),
+                            readString(buffer), readString(buffer), readString(buffer)));
+                }
+                return new Loaded(syncedAt, documents);
+            } catch (RuntimeException e) {
+                // BufferUnderflowException 등 (파일이 잘린 경우)
+                throw new IOException("검색 색인 스냅샷이 손상되었습니다: " + file, e);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
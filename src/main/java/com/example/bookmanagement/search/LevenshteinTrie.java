@@ -0,0 +1,175 @@
+package com.example.bookmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 오타 허용 검색용 트라이 (Levenshtein 자동자 방식)
+// 트라이를 깊이 우선으로 내려가면서 편집 거리 DP의 한 행씩만 계산하고,
+// 행의 최솟값이 허용 거리를 넘으면 그 아래 가지 전체를 건너뜀
+// → 등록된 모든 용어와 비교하지 않고, 허용 거리 안에 들 수 있는 접두어만 방문
+public class LevenshteinTrie {
+
+    private static final class Node {
+        char[] keys = new char[0];      // 자식 글자 (정렬)
+        Node[] children = new Node[0];
+        Set<Long> ids;                  // 이 노드에서 끝나는 용어를 가진 문서 (없으면 null)
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) return children[i];
+            int pos = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, pos);
+            System.arraycopy(children, 0, newChildren, 0, pos);
+            newKeys[pos] = c;
+            newChildren[pos] = new Node();
+            System.arraycopy(keys, pos, newKeys, pos + 1, keys.length - pos);
+            System.arraycopy(children, pos, newChildren, pos + 1, children.length - pos);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[pos];
+        }
+    }
+
+    private final Node root = new Node();
+
+    // 문서 ID → 등록한 용어 목록 (수정/삭제 시 사용)
+    private final Map<Long, Collection<String>> termsById = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 문서의 용어 등록 (이미 있으면 교체)
+    public void put(Long id, Collection<String> terms) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            List<String> stored = new ArrayList<>();
+            for (String term : terms) {
+                if (term == null || term.isEmpty()) continue;
+                Node node = root;
+                for (int i = 0; i < term.length(); i++) {
+                    node = node.childOrCreate(term.charAt(i));
+                }
+                if (node.ids == null) node.ids = new HashSet<>();
+                node.ids.add(id);
+                stored.add(term);
+            }
+            termsById.put(id, stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 문서 삭제 (빈 노드는 다시 쓰일 수 있으므로 남겨두고 ID만 제거)
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            root.keys = new char[0];
+            root.children = new Node[0];
+            root.ids = null;
+            termsById.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 허용 거리 이내의 용어 → 거리 (가까운 순서)
+    public Map<Long, Integer> search(String query, int maxDistance) {
+        List<Map<Long, Integer>> buckets = new ArrayList<>();
+        for (int i = 0; i <= maxDistance; i++) {
+            buckets.add(new LinkedHashMap<>());
+        }
+        if (!query.isEmpty()) {
+            int m = query.length();
+            int[] firstRow = new int[m + 1];
+            for (int j = 0; j <= m; j++) {
+                firstRow[j] = j;
+            }
+            List<int[]> rows = new ArrayList<>();
+            rows.add(firstRow);
+            lock.readLock().lock();
+            try {
+                walk(root, 1, query, rows, maxDistance, buckets);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        // 같은 문서가 여러 용어로 걸리면 가장 가까운 거리만 남김
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        for (int d = 0; d <= maxDistance; d++) {
+            for (Long id : buckets.get(d).keySet()) {
+                result.putIfAbsent(id, d);
+            }
+        }
+        return result;
+    }
+
+    // rows: 깊이별 DP 행 (같은 깊이의 형제 노드끼리 재사용해서 할당을 줄임)
+    private void walk(Node node, int depth, String query, List<int[]> rows, int maxDistance,
+                      List<Map<Long, Integer>> buckets) {
+        int m = query.length();
+        int[] prevRow = rows.get(depth - 1);
+        if (rows.size() <= depth) rows.add(new int[m + 1]);
+        int[] row = rows.get(depth);
+        for (int c = 0; c < node.keys.length; c++) {
+            char ch = node.keys[c];
+            row[0] = prevRow[0] + 1;
+            int rowMin = row[0];
+            for (int j = 1; j <= m; j++) {
+                int cost = query.charAt(j - 1) == ch ? 0 : 1;
+                row[j] = Math.min(Math.min(row[j - 1] + 1, prevRow[j] + 1), prevRow[j - 1] + cost);
+                if (row[j] < rowMin) rowMin = row[j];
+            }
+            Node child = node.children[c];
+            if (row[m] <= maxDistance && child.ids != null) {
+                for (Long id : child.ids) {
+                    buckets.get(row[m]).putIfAbsent(id, row[m]);
+                }
+            }
+            // 이 접두어로 시작하는 어떤 용어도 허용 거리 안에 들 수 없으면 가지치기
+            if (rowMin <= maxDistance) {
+                walk(child, depth + 1, query, rows, maxDistance, buckets);
+            }
+        }
+    }
+
+    private void removeInternal(Long id) {
+        Collection<String> old = termsById.remove(id);
+        if (old == null) return;
+        for (String term : old) {
+            Node node = root;
+            for (int i = 0; i < term.length() && node != null; i++) {
+                node = node.child(term.charAt(i));
+            }
+            if (node != null && node.ids != null) {
+                node.ids.remove(id);
+                if (node.ids.isEmpty()) node.ids = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.bookmanagement.search;
+
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.MemberRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 회원 검색용 메모리 색인 (대출 데스크 조회용)
+// - 이름: n-gram 색인 (부분 일치)
+// - 전화번호: 숫자만 뒤집어서 정렬 맵에 저장 → "뒷자리 4자리"가 접두어 검색이 됨
+//   예) 010-1234-5678 → "87654321010", 뒷자리 "5678" → 접두어 "8765" 범위 조회
+// - 전화번호 중간 일치는 숫자 n-gram 색인으로 보조
+// 앱 시작 시 한 번 만들고, 이후에는 MemberService의 등록/수정/삭제 시 부분 갱신
+@Component
+public class MemberSearchIndex {
+
+    private final MemberRepository memberRepository;
+
+    private final NgramIndex nameIndex = new NgramIndex();
+    private final NgramIndex phoneIndex = new NgramIndex();
+
+    // 뒤집은 전화번호 → 회원 ID / 회원 ID → 뒤집은 전화번호 (수정/삭제용)
+    private final NavigableMap<String, Set<Long>> reversedPhones = new TreeMap<>();
+    private final Map<Long, String> reversedPhoneById = new HashMap<>();
+    private final ReadWriteLock phoneLock = new ReentrantReadWriteLock();
+
+    // 색인 완료 전에는 MemberService가 DB 검색으로 대체
+    private volatile boolean ready = false;
+
+    public MemberSearchIndex(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild(memberRepository.findAll());
+    }
+
+    public void rebuild(List<Member> members) {
+        ready = false;
+        nameIndex.clear();
+        phoneIndex.clear();
+        phoneLock.writeLock().lock();
+        try {
+            reversedPhones.clear();
+            reversedPhoneById.clear();
+        } finally {
+            phoneLock.writeLock().unlock();
+        }
+        for (Member member : members) {
+            add(member);
+        }
+        ready = true;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // 회원 등록/수정 시 호출 (같은 ID면 덮어씀)
+    public void add(Member member) {
+        nameIndex.put(member.getId(), member.getName());
+        String digits = digits(member.getPhone());
+        phoneIndex.put(member.getId(), digits);
+        phoneLock.writeLock().lock();
+        try {
+            removePhone(member.getId());
+            if (!digits.isEmpty()) {
+                String reversed = new StringBuilder(digits).reverse().toString();
+                reversedPhones.computeIfAbsent(reversed, k -> new HashSet<>()).add(member.getId());
+                reversedPhoneById.put(member.getId(), reversed);
+            }
+        } finally {
+            phoneLock.writeLock().unlock();
+        }
+    }
+
+    // 회원 삭제 시 호출
+    public void remove(Long memberId) {
+        nameIndex.remove(memberId);
+        phoneIndex.remove(memberId);
+        phoneLock.writeLock().lock();
+        try {
+            removePhone(memberId);
+        } finally {
+            phoneLock.writeLock().unlock();
+        }
+    }
+
+    // 검색 유형별 일치하는 회원 ID
+    // type: name / phone, 그 외는 둘 다
+    // 전화번호는 뒷자리 일치(ID 오름차순)를 먼저, 중간 일치를 그 뒤에
+    public Set<Long> search(String type, String keyword) {
+        switch (type) {
+            case "name":
+                return nameIndex.search(keyword);
+            case "phone":
+                return searchPhone(keyword);
+            default:
+                Set<Long> result = searchPhone(keyword);
+                result.addAll(nameIndex.search(keyword));
+                return result;
+        }
+    }
+
+    // 전화번호 뒷자리 일치 (데스크에서 "뒤 4자리"로 찾는 경우)
+    public Set<Long> searchPhoneSuffix(String suffix) {
+        String digits = digits(suffix);
+        Set<Long> result = new TreeSet<>();
+        if (digits.isEmpty()) return result;
+        String prefix = new StringBuilder(digits).reverse().toString();
+        phoneLock.readLock().lock();
+        try {
+            // 접두어가 prefix인 키 범위: [prefix, prefix + 가장 큰 문자)
+            for (Set<Long> ids : reversedPhones.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                result.addAll(ids);
+            }
+        } finally {
+            phoneLock.readLock().unlock();
+        }
+        return result;
+    }
+
+    private Set<Long> searchPhone(String keyword) {
+        String digits = digits(keyword);
+        Set<Long> result = new LinkedHashSet<>();
+        if (digits.isEmpty()) return result;
+        result.addAll(searchPhoneSuffix(digits));
+        result.addAll(phoneIndex.search(digits));
+        return result;
+    }
+
+    private void removePhone(Long memberId) {
+        String old = reversedPhoneById.remove(memberId);
+        if (old == null) return;
+        Set<Long> ids = reversedPhones.get(old);
+        if (ids != null) {
+            ids.remove(memberId);
+            if (ids.isEmpty()) reversedPhones.remove(old);
+        }
+    }
+
+    // 하이픈/공백 등을 제거하고 숫자만 ("010-1234-5678" → "01012345678")
+    static String digits(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') sb.append(c);
+        }
+        return sb.toString();
+    }
+}
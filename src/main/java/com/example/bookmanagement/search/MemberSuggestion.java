@@ -0,0 +1,19 @@
+package com.example.bookmanagement.search;
+
+// 대출 데스크 회원 조회 결과 (JSON 응답용, 비밀번호 등 민감 정보 제외)
+public class MemberSuggestion {
+
+    private final Long id;
+    private final String name;
+    private final String phone;
+
+    public MemberSuggestion(Long id, String name, String phone) {
+        this.id = id;
+        this.name = name;
+        this.phone = phone;
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getPhone() { return phone; }
+}
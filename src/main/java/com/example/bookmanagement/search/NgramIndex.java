@@ -0,0 +1,160 @@
+package com.example.bookmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 문자열 필드 하나에 대한 n-gram 역색인 (1~3글자 조각 → 문서 ID 목록)
+// LIKE '%검색어%' 부분 일치 검색을 테이블 전체 스캔 없이 처리하기 위해 사용
+// 검색 흐름: 검색어의 n-gram 목록 교집합으로 후보를 좁힘 → 저장해 둔 원문으로 최종 확인(오탐 제거)
+public class NgramIndex {
+
+    // 색인하는 n-gram 최대 길이 (1글자 검색어는 1-gram, 2글자는 2-gram, 3글자 이상은 3-gram으로 조회)
+    private static final int MAX_GRAM = 3;
+
+    // n-gram → 해당 조각을 포함한 문서 ID 집합
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+
+    // 문서 ID → 정규화된 원문 (최종 확인 및 삭제 시 사용)
+    private final Map<Long, String> texts = new HashMap<>();
+
+    // 검색은 동시에 여러 요청이 가능하고, 등록/수정/삭제 시에만 배타적으로 잠금
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 문서 추가 (이미 있으면 기존 색인을 지우고 다시 등록)
+    public void put(Long id, String text) {
+        String normalized = normalize(text);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            texts.put(id, normalized);
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 문서 삭제
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 전체 초기화
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            texts.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return texts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 부분 일치 검색 → 검색어를 포함하는 문서 ID (ID 오름차순)
+    public Set<Long> search(String keyword) {
+        String query = normalize(keyword);
+        Set<Long> result = new TreeSet<>();
+        if (query.isEmpty()) {
+            return result;
+        }
+
+        // 검색어 길이에 맞는 가장 긴 n-gram으로 조회 (길수록 후보가 적음)
+        int n = Math.min(MAX_GRAM, query.length());
+        Set<String> queryGrams = new HashSet<>();
+        for (int i = 0; i + n <= query.length(); i++) {
+            queryGrams.add(query.substring(i, i + n));
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : queryGrams) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return result; // 한 조각이라도 없으면 일치하는 문서 없음
+                }
+                lists.add(ids);
+            }
+            // 가장 짧은 목록부터 확인해서 비교 횟수를 줄임
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> smallest = lists.get(0);
+            for (Long id : smallest) {
+                boolean inAll = true;
+                for (int i = 1; i < lists.size(); i++) {
+                    if (!lists.get(i).contains(id)) {
+                        inAll = false;
+                        break;
+                    }
+                }
+                // n-gram이 모두 있어도 순서가 다를 수 있으므로 원문으로 최종 확인
+                if (inAll && (query.length() <= MAX_GRAM || texts.get(id).contains(query))) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // 대소문자 구분 없이 비교하기 위한 정규화
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    // 1 ~ MAX_GRAM 길이의 모든 조각 (중복 제거)
+    private static Set<String> grams(String text) {
+        if (text.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> grams = new HashSet<>();
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                grams.add(text.substring(i, i + n));
+            }
+        }
+        return grams;
+    }
+
+    private void removeInternal(Long id) {
+        String old = texts.remove(id);
+        if (old == null) {
+            return;
+        }
+        for (String gram : grams(old)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+}
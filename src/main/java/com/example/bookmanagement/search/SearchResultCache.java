@@ -0,0 +1,190 @@
+package com.example.bookmanagement.search;
+
+import com.example.bookmanagement.service.AfterCommit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// 도서 검색 결과 캐시 (최근에 쓰인 순서로 최대 CAPACITY개 유지, LRU)
+// 키: 검색 유형 + 정규화한 검색어 + 상세 조건 + 페이지
+// 무효화: 도서 등록/수정/삭제, 대출 상태 변경 시 카탈로그 버전을 올림
+// → 저장할 때의 버전과 현재 버전이 다른 항목은 사용하지 않으므로 TTL 없이도 오래된 결과가 나가지 않음
+// 엔티티(영속성 컨텍스트에 묶인 객체)나 변하는 집합은 저장하지 않고 ID와 변경 불가 복사본만 보관 (Snapshot)
+@Component
+public class SearchResultCache {
+
+    private static final int CAPACITY = 500;
+
+    // 검색 조건 하나 (keyword/author/publisher는 정규화된 값)
+    public static final class Key {
+        private final String type;
+        private final String keyword;
+        private final String author;
+        private final String publisher;
+        private final Boolean available;
+        private final int page;
+        private final int size;
+
+        private Key(String type, String keyword, String author, String publisher,
+                    Boolean available, int page, int size) {
+            this.type = type;
+            this.keyword = keyword;
+            this.author = author;
+            this.publisher = publisher;
+            this.available = available;
+            this.page = page;
+            this.size = size;
+        }
+
+        // 실제 검색도 이 값으로 해야 같은 키 = 같은 결과가 됨
+        public String getKeyword() { return keyword; }
+        public String getAuthor() { return author; }
+        public String getPublisher() { return publisher; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return page == k.page && size == k.size && type.equals(k.type) && keyword.equals(k.keyword)
+                    && author.equals(k.author) && publisher.equals(k.publisher)
+                    && Objects.equals(available, k.available);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, keyword, author, publisher, available, page, size);
+        }
+    }
+
+    // 저장되는 검색 결과 한 페이지 (여러 요청 스레드가 함께 읽으므로 모두 변경 불가)
+    public static final class Snapshot {
+        private final List<Long> bookIds;     // 이 페이지 도서 ID (보여줄 순서)
+        private final long total;             // 전체 일치 건수
+        private final BookFacets facets;
+        private final Set<Long> borrowedIds;  // 이 페이지 도서 중 저장 시점에 대출 중이던 ID
+
+        public Snapshot(List<Long> bookIds, long total, BookFacets facets, Set<Long> borrowedIds) {
+            this.bookIds = List.copyOf(bookIds);
+            this.total = total;
+            this.facets = facets;
+            this.borrowedIds = Set.copyOf(borrowedIds);
+        }
+
+        public List<Long> getBookIds() { return bookIds; }
+        public long getTotal() { return total; }
+        public BookFacets getFacets() { return facets; }
+        public Set<Long> getBorrowedIds() { return borrowedIds; }
+    }
+
+    private static final class Entry {
+        final long version;
+        final Snapshot snapshot;
+
+        Entry(long version, Snapshot snapshot) {
+            this.version = version;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder staleDrops = new LongAdder();
+
+    // accessOrder=true → 조회할 때마다 맨 뒤로 이동, 가장 오래 안 쓰인 항목이 맨 앞
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(CAPACITY * 4 / 3 + 1, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() > CAPACITY) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    public static Key key(String type, String keyword, String author, String publisher,
+                          Boolean available, Pageable pageable) {
+        return new Key(type == null ? "all" : type, normalize(keyword), normalize(author), normalize(publisher),
+                available, pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    // 앞뒤 공백 제거, 연속 공백은 하나로, 소문자 ("  Spring  Boot" → "spring boot")
+    static String normalize(String text) {
+        if (text == null) return "";
+        return text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    // 검색 전에 읽어 두고 put()에 넘길 버전
+    public long version() {
+        return version.get();
+    }
+
+    // 현재 버전에서 저장된 결과만 반환 (없거나 오래된 결과면 null)
+    public Snapshot get(Key key) {
+        long current = version.get();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == current) {
+                hits.increment();
+                return entry.snapshot;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                staleDrops.increment();
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    // version: 검색을 시작하기 전에 version()으로 읽은 값
+    // 검색 도중 데이터가 바뀌었다면 이미 버전이 올라가 있으므로 이 결과는 다시 쓰이지 않음
+    public void put(Key key, long version, Snapshot snapshot) {
+        if (version != this.version.get()) return;
+        synchronized (entries) {
+            entries.put(key, new Entry(version, snapshot));
+        }
+    }
+
+    // 도서/대출 데이터 변경 알림
+    // 트랜잭션 안이면 커밋된 뒤에 버전을 올림 (커밋 전에 올리면 그 사이 검색이 변경 전 데이터를 새 버전으로 저장할 수 있음)
+    public void invalidate() {
+        AfterCommit.run(this::bump);
+    }
+
+    // 버전만 올리고 항목은 그대로 둠 (다음 조회 때 버려지거나 LRU로 밀려남)
+    private void bump() {
+        version.incrementAndGet();
+    }
+
+    // 관리자 화면용 통계
+    public Map<String, Object> stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long total = hitCount + missCount;
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("capacity", CAPACITY);
+        stats.put("version", version.get());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRatio", total == 0 ? 0.0 : (double) hitCount / total);
+        stats.put("evictions", evictions.sum());
+        stats.put("staleDrops", staleDrops.sum());
+        return stats;
+    }
+}
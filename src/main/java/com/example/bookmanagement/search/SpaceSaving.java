@@ -0,0 +1,115 @@
+package com.example.bookmanagement.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 많이 나온 항목 상위 K개를 고정 크기 카운터로 추적 (Space-Saving)
+// 카운터가 capacity개로 가득 찬 상태에서 새 항목이 오면 가장 작은 카운터를 넘겨받음
+// → 넘겨받은 값만큼 과대 추정될 수 있으므로 그 값을 error로 함께 보관 (count - error가 최소 보장 횟수)
+// 항목 수와 상관없이 메모리는 capacity개, 실제 상위 항목은 capacity가 K보다 충분히 크면 빠지지 않음
+public class SpaceSaving {
+
+    // 횟수 내림차순 → ID 오름차순
+    private static final Comparator<Counter> ORDER = Comparator
+            .comparingLong((Counter c) -> -c.count)
+            .thenComparingLong(c -> c.item);
+
+    public static final class Counter {
+        final long item;
+        long count;
+        long error;
+
+        Counter(long item, long count, long error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+
+        public long getItem() {
+            return item;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getError() {
+            return error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void add(long item, long weight) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(item, weight, 0));
+            return;
+        }
+        // 가장 작은 카운터를 새 항목에 넘겨줌 (capacity가 작아서 선형 탐색으로 충분)
+        Counter min = null;
+        for (Counter c : counters.values()) {
+            if (min == null || c.count < min.count) min = c;
+        }
+        counters.remove(min.item);
+        counters.put(item, new Counter(item, min.count + weight, min.count));
+    }
+
+    // 정확한 집계(DB)로 다시 채움 → 횟수가 큰 capacity개만 남기고 오차는 0
+    public synchronized void load(Map<Long, Long> exact) {
+        counters.clear();
+        List<Counter> all = new ArrayList<>(exact.size());
+        exact.forEach((item, count) -> all.add(new Counter(item, count, 0)));
+        all.sort(ORDER);
+        for (Counter c : all.subList(0, Math.min(capacity, all.size()))) {
+            counters.put(c.item, c);
+        }
+    }
+
+    public synchronized void remove(long item) {
+        counters.remove(item);
+    }
+
+    // 여러 구간(일별 카운터)을 합칠 때 사용: 항목별 추정 횟수를 target에 더함
+    public synchronized void addTo(Map<Long, long[]> target) {
+        for (Counter c : counters.values()) {
+            long[] sum = target.computeIfAbsent(c.item, k -> new long[2]);
+            sum[0] += c.count;
+            sum[1] += c.error;
+        }
+    }
+
+    // 추정 횟수 상위 limit개 (복사본)
+    public synchronized List<Counter> top(int limit) {
+        List<Counter> sorted = new ArrayList<>(counters.size());
+        for (Counter c : counters.values()) {
+            sorted.add(new Counter(c.item, c.count, c.error));
+        }
+        sorted.sort(ORDER);
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    // 합친 결과(addTo)에서 상위 limit개
+    public static List<Counter> top(Map<Long, long[]> merged, int limit) {
+        List<Counter> sorted = new ArrayList<>(merged.size());
+        merged.forEach((item, sum) -> sorted.add(new Counter(item, sum[0], sum[1])));
+        sorted.sort(ORDER);
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public synchronized int size() {
+        return counters.size();
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bookmanagement.search;
+
+// 자동완성 후보 (JSON 응답용)
+public class Suggestion {
+
+    private final String text;   // 표시할 문자열 (도서 제목 또는 저자명)
+    private final String type;   // "title" 또는 "author"
+    private final Long bookId;   // 제목 후보일 때 도서 ID (저자 후보는 null)
+    private final long weight;   // 대출 횟수 (정렬 기준)
+
+    public Suggestion(String text, String type, Long bookId, long weight) {
+        this.text = text;
+        this.type = type;
+        this.bookId = bookId;
+        this.weight = weight;
+    }
+
+    public String getText() { return text; }
+    public String getType() { return type; }
+    public Long getBookId() { return bookId; }
+    public long getWeight() { return weight; }
+}
@@ -0,0 +1,25 @@
+package com.example.bookmanagement.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 메모리 색인/카운터/캐시 갱신을 트랜잭션 커밋 뒤로 미루는 도우미
+// 트랜잭션 안이면 커밋된 뒤에만 실행 (롤백되면 실행하지 않음), 트랜잭션 밖이면 바로 실행
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -2,6 +2,19 @@ package com.example.bookmanagement.service;
 
 import com.example.bookmanagement.entity.Book;
 import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.BookSpecifications;
+import com.example.bookmanagement.search.BookFacets;
+import com.example.bookmanagement.search.BookSearchIndex;
+import com.example.bookmanagement.search.BorrowedTogetherIndex;
+import com.example.bookmanagement.search.BookSearchResult;
+import com.example.bookmanagement.search.SearchResultCache;
+import com.example.bookmanagement.search.Suggestion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
@@ -11,9 +24,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 // 도서 관련 비즈니스 로직 담당
 // 대출/반납은 LoanService로 분리됨
@@ -21,10 +40,22 @@ import java.util.UUID;
 public class BookService {
 
     private final BookRepository bookRepository;
+    private final InventoryService inventoryService;
+    private final BookSearchIndex bookSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final PopularBookRanking popularBooks;
+    private final BorrowedTogetherIndex borrowedTogether;
     private final Path uploadDir = Paths.get("uploads/covers");
 
-    public BookService(BookRepository bookRepository) {
+    public BookService(BookRepository bookRepository, InventoryService inventoryService,
+                       BookSearchIndex bookSearchIndex, SearchResultCache searchResultCache,
+                       PopularBookRanking popularBooks, BorrowedTogetherIndex borrowedTogether) {
         this.bookRepository = bookRepository;
+        this.inventoryService = inventoryService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.searchResultCache = searchResultCache;
+        this.popularBooks = popularBooks;
+        this.borrowedTogether = borrowedTogether;
     }
 
     @PostConstruct
@@ -36,6 +67,12 @@ public class BookService {
         }
     }
 
+    // 검색 결과 옆에 보여줄 항목별 최대 개수
+    private static final int FACET_LIMIT = 10;
+
+    // 상세 화면 "함께 빌린 책" 최대 개수
+    private static final int RECOMMEND_LIMIT = 6;
+
     // 허용된 이미지 확장자 목록
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "gif", "webp");
 
@@ -80,6 +117,16 @@ public class BookService {
         return bookRepository.findAll();
     }
 
+    // 도서 목록 한 페이지 (ID 오름차순, after: 다음 페이지 커서, before: 이전 페이지 커서)
+    public KeysetPage<Book> findPage(Long after, Long before, int size) {
+        if (before != null) {
+            return KeysetPage.backward(bookRepository.findByIdLessThan(before,
+                    PageRequest.of(0, size, Sort.by("id").descending())), Book::getId);
+        }
+        return KeysetPage.forward(bookRepository.findByIdGreaterThan(after != null ? after : 0L,
+                PageRequest.of(0, size, Sort.by("id").ascending())), after != null, Book::getId);
+    }
+
     public Book findById(Long id) {
         return bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("도서를 찾을 수 없습니다. ID: " + id));
@@ -89,13 +136,23 @@ public class BookService {
         return bookRepository.count();
     }
 
+    // 등록 시 보유 권수만큼 소장본도 함께 생성 (처음에는 전부 대출 가능)
+    @Transactional
     public Book save(Book book) {
         book.setCreatedAt(LocalDateTime.now());
-        return bookRepository.save(book);
+        book.setTotalCopies(Math.max(1, book.getTotalCopies()));
+        book.setAvailableCopies(book.getTotalCopies());
+        Book saved = bookRepository.save(book);
+        inventoryService.createCopies(saved);
+        bookSearchIndex.add(saved);
+        searchResultCache.invalidate();
+        return saved;
     }
 
+    // 보유 권수가 바뀌었으면 소장본 추가/삭제 (대출 중인 권보다 적게 줄이면 예외 → 수정 전체 취소)
     @Transactional
     public Book update(Long id, Book updatedBook) {
+        inventoryService.changeCopyCount(id, updatedBook.getTotalCopies());
         Book book = findById(id);
         book.setTitle(updatedBook.getTitle());
         book.setAuthor(updatedBook.getAuthor());
@@ -103,39 +160,185 @@ public class BookService {
         book.setIsbn(updatedBook.getIsbn());
         book.setDescription(updatedBook.getDescription());
         book.setCoverImage(updatedBook.getCoverImage());
-        return bookRepository.save(book);
+        Book saved = bookRepository.save(book);
+        bookSearchIndex.add(saved);
+        searchResultCache.invalidate();
+        return saved;
     }
 
+    @Transactional
     public void delete(Long id) {
+        inventoryService.deleteCopies(id);
         bookRepository.deleteById(id);
+        bookSearchIndex.remove(id);
+        popularBooks.remove(id);
+        borrowedTogether.remove(id);
+        searchResultCache.invalidate();
     }
 
     // 검색 기능
+    // 메모리 색인으로 ID를 찾고, 해당 도서만 기본키로 조회 (LIKE 전체 스캔 없음)
+    // 전체 검색은 일치하는 도서 전체를 정확도순으로
     public List<Book> search(String type, String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return findAll();
         }
-        switch (type) {
-            case "title":
-                return bookRepository.findByTitleContainingIgnoreCase(keyword);
-            case "author":
-                return bookRepository.findByAuthorContainingIgnoreCase(keyword);
-            case "publisher":
-                return bookRepository.findByPublisherContainingIgnoreCase(keyword);
-            case "isbn":
-                return bookRepository.findByIsbnContaining(keyword);
-            default:
-                List<Book> result = bookRepository.findByTitleContainingIgnoreCase(keyword);
-                for (Book b : bookRepository.findByAuthorContainingIgnoreCase(keyword)) {
-                    if (!result.contains(b)) result.add(b);
-                }
-                for (Book b : bookRepository.findByPublisherContainingIgnoreCase(keyword)) {
-                    if (!result.contains(b)) result.add(b);
-                }
-                for (Book b : bookRepository.findByIsbnContaining(keyword)) {
-                    if (!result.contains(b)) result.add(b);
-                }
-                return result;
+        if (!bookSearchIndex.isReady()) {
+            return searchInDatabase(type, keyword);
+        }
+        Set<Long> ids = searchIds(type, keyword);
+        return findAllByIds(ordered(type, keyword, ids, ids.size()));
+    }
+
+    public boolean isSearchIndexReady() {
+        return bookSearchIndex.isReady();
+    }
+
+    // 색인 검색 + 상세 조건(저자/출판사/대출 가능 여부) → 일치하는 도서 ID 전체 (색인 순서, 정확도순 정렬 전)
+    public List<Long> searchIds(String type, String keyword, String author, String publisher,
+                                Boolean available, Set<Long> borrowedIds) {
+        return bookSearchIndex.filter(searchIds(type, keyword), author, publisher, available, borrowedIds);
+    }
+
+    // 색인 검색 한 페이지 + 항목별 건수 (같은 조건이면 캐시된 결과 사용)
+    // 전체 건수/항목별 건수는 정렬·자르기 전의 일치 ID 전체로 계산
+    // 정확도순 검색은 색인을 한 번 훑으면서 건수와 페이지 순위를 함께 구함 (일치 ID 전체 목록 없음)
+    // borrowedIds: 캐시에 없을 때만 호출 (대출 중 도서 조회도 함께 생략됨)
+    // 캐시에는 페이지의 도서 ID만 저장하고 도서는 매번 기본키 IN 조회 한 번으로 가져옴 (요청마다 새 엔티티)
+    public BookSearchResult searchPage(String type, String keyword, String author, String publisher,
+                                       Boolean available, Pageable pageable, Supplier<Set<Long>> borrowedIds) {
+        SearchResultCache.Key key = SearchResultCache.key(type, keyword, author, publisher, available, pageable);
+        long version = searchResultCache.version();
+        SearchResultCache.Snapshot snapshot = searchResultCache.get(key);
+        if (snapshot == null) {
+            Set<Long> borrowed = borrowedIds.get();
+            snapshot = bookSearchIndex.isRanked(type, key.getKeyword())
+                    ? rankedSnapshot(key, available, pageable, borrowed) : null;
+            if (snapshot == null) {
+                List<Long> ids = searchIds(type, key.getKeyword(), key.getAuthor(), key.getPublisher(), available, borrowed);
+                List<Long> pageIds = pageIds(type, key.getKeyword(), ids, pageable);
+                snapshot = new SearchResultCache.Snapshot(pageIds, ids.size(), facets(ids, borrowed),
+                        borrowedOf(pageIds, borrowed));
+            }
+            searchResultCache.put(key, version, snapshot);
+        }
+        Page<Book> books = new PageImpl<>(findAllByIds(snapshot.getBookIds()), pageable, snapshot.getTotal());
+        return new BookSearchResult(books, snapshot.getFacets(), snapshot.getBorrowedIds());
+    }
+
+    // 정확도순 검색 한 페이지: 페이지 끝까지의 상위 ID와 건수/항목별 건수를 색인 한 번 훑기로
+    // 일치하는 도서가 없으면 null → 오타 허용 검색으로 대체하는 일반 경로로
+    private SearchResultCache.Snapshot rankedSnapshot(SearchResultCache.Key key, Boolean available,
+                                                      Pageable pageable, Set<Long> borrowed) {
+        int to = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+        BookSearchIndex.RankedPage ranked = bookSearchIndex.rankPage(key.getKeyword(), key.getAuthor(),
+                key.getPublisher(), available, borrowed, to, FACET_LIMIT);
+        if (ranked == null) {
+            return null;
+        }
+        List<Long> top = ranked.getIds();
+        List<Long> pageIds = top.subList((int) Math.min(pageable.getOffset(), top.size()), top.size());
+        return new SearchResultCache.Snapshot(pageIds, ranked.getFacets().getTotal(), ranked.getFacets(),
+                borrowedOf(pageIds, borrowed));
+    }
+
+    private static Set<Long> borrowedOf(List<Long> ids, Set<Long> borrowed) {
+        Set<Long> result = new HashSet<>();
+        for (Long id : ids) {
+            if (borrowed.contains(id)) result.add(id);
+        }
+        return result;
+    }
+
+    // 검색 결과 한 페이지의 도서 ID: 일치 ID를 보여줄 순서로 해당 페이지 끝까지만 골라 그 구간만
+    // 정확도순은 페이지 끝까지의 상위 건수만 점수 순으로 고르므로 뒤 페이지도 끊기지 않음
+    private List<Long> pageIds(String type, String keyword, List<Long> ids, Pageable pageable) {
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> top = ordered(type, keyword, ids, to);
+        return top.subList(Math.min(from, top.size()), top.size());
+    }
+
+    // 일치 ID를 보여줄 순서로 앞에서 limit개
+    // 정확도순 검색은 일치 ID 안에서 점수 상위 limit개만 고르고, 그 외는 색인 순서 그대로
+    private List<Long> ordered(String type, String keyword, Collection<Long> ids, int limit) {
+        if (bookSearchIndex.isRanked(type, keyword)) {
+            Set<Long> matched = new HashSet<>(ids);
+            Set<Long> ranked = bookSearchIndex.rank(keyword, matched::contains, limit);
+            // 일치하는 도서가 없어 오타 허용 검색으로 대체된 결과는 정확도 점수가 없으므로 그 순서 그대로
+            if (!ranked.isEmpty() || ids.isEmpty()) {
+                return new ArrayList<>(ranked);
+            }
+        }
+        List<Long> result = new ArrayList<>(Math.min(limit, ids.size()));
+        for (Long id : ids) {
+            if (result.size() >= limit) break;
+            result.add(id);
+        }
+        return result;
+    }
+
+    // 검색 결과의 출판사/저자/대출 가능 여부별 건수 (항목별 상위 FACET_LIMIT개)
+    public BookFacets facets(Collection<Long> ids, Set<Long> borrowedIds) {
+        return bookSearchIndex.facets(ids, borrowedIds, FACET_LIMIT);
+    }
+
+    private Set<Long> searchIds(String type, String keyword) {
+        Set<Long> ids = bookSearchIndex.search(type, keyword);
+        // 전체 검색 결과가 없으면 오타 허용 검색으로 한 번 더 시도
+        if (ids.isEmpty() && "all".equals(type)) {
+            ids = bookSearchIndex.searchFuzzy(keyword);
         }
+        return ids;
+    }
+
+    // 검색창 자동완성 (제목·저자, 대출 횟수 많은 순)
+    public List<Suggestion> autocomplete(String prefix, int limit) {
+        return bookSearchIndex.complete(prefix, limit);
+    }
+
+    // 이 책을 빌린 회원이 함께 빌린 책 (메모리 행렬의 이웃 목록 → 기본키 IN 조회 한 번)
+    public List<Book> findBorrowedTogether(Long bookId) {
+        return findAllByIds(borrowedTogether.neighbors(bookId, RECOMMEND_LIMIT));
+    }
+
+    // ID 목록 순서를 유지하면서 도서 조회 (한 번의 IN 쿼리)
+    public List<Book> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Book> byId = new HashMap<>();
+        for (Book book : bookRepository.findAllById(ids)) {
+            byId.put(book.getId(), book);
+        }
+        List<Book> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Book book = byId.get(id);
+            if (book != null) result.add(book);
+        }
+        return result;
+    }
+
+    // 조건 검색: 검색어 + 저자/출판사/대출 가능 여부를 조합한 단일 쿼리 (페이징 시 COUNT 쿼리 포함)
+    // 초성/오타 허용 검색어는 LIKE로 표현할 수 없으므로 메모리 색인에서 찾은 ID로 제한
+    public Page<Book> searchByCondition(String type, String keyword, String author, String publisher,
+                                        Boolean available, Pageable pageable) {
+        Specification<Book> keywordSpec;
+        if (("chosung".equals(type) || "fuzzy".equals(type)) && keyword != null && !keyword.isBlank()
+                && bookSearchIndex.isReady()) {
+            keywordSpec = BookSpecifications.idIn(bookSearchIndex.search(type, keyword));
+        } else {
+            keywordSpec = BookSpecifications.keyword(type, keyword);
+        }
+        Specification<Book> spec = Specification.where(keywordSpec)
+                .and(BookSpecifications.authorContains(author))
+                .and(BookSpecifications.publisherContains(publisher))
+                .and(BookSpecifications.available(available));
+        return bookRepository.findAll(spec, pageable);
+    }
+
+    // 색인 생성 전(앱 기동 직후)에만 사용하는 DB 검색 (필드 OR 조건을 한 번의 쿼리로)
+    private List<Book> searchInDatabase(String type, String keyword) {
+        return bookRepository.findAll(BookSpecifications.keyword(type, keyword), Sort.by("id"));
     }
 }
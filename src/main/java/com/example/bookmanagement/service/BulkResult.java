@@ -0,0 +1,53 @@
+package com.example.bookmanagement.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 대출 일괄 처리(승인/거절/반납 확인) 결과 보고
+// 선택한 대출 기록마다 성공/실패와 사유를 남겨서 목록 화면에 그대로 표시
+public class BulkResult {
+
+    // 대출 기록 한 건의 처리 결과
+    public static class Item {
+        private final Long loanId;
+        private final boolean success;
+        private final String message;
+
+        public Item(Long loanId, boolean success, String message) {
+            this.loanId = loanId;
+            this.success = success;
+            this.message = message;
+        }
+
+        public Long getLoanId() { return loanId; }
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+    }
+
+    private final String action;
+    private final List<Item> items = new ArrayList<>();
+    private int successCount = 0;
+
+    public BulkResult(String action) {
+        this.action = action;
+    }
+
+    public void succeeded(Long loanId, String message) {
+        items.add(new Item(loanId, true, message));
+        successCount++;
+    }
+
+    public void failed(Long loanId, String message) {
+        items.add(new Item(loanId, false, message));
+    }
+
+    public String getAction() { return action; }
+    public List<Item> getItems() { return items; }
+    public int getSuccessCount() { return successCount; }
+    public int getFailureCount() { return items.size() - successCount; }
+
+    // 예: "일괄 승인: 성공 12건, 실패 1건"
+    public String getSummary() {
+        return "일괄 " + action + ": 성공 " + successCount + "건, 실패 " + getFailureCount() + "건";
+    }
+}
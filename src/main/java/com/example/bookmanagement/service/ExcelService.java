@@ -2,6 +2,7 @@ package com.example.bookmanagement.service;
 
 import com.example.bookmanagement.entity.Book;
 import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
 import com.example.bookmanagement.entity.LoginHistory;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
@@ -100,11 +101,11 @@ public class ExcelService {
                 createCell(row, 4, loan.getReturnedDate() != null ? loan.getReturnedDate().toString() : "-", cellStyle);
 
                 String status;
-                if ("RETURNED".equals(loan.getStatus())) status = "반납 완료";
-                else if ("RETURN_REQUESTED".equals(loan.getStatus())) status = "반납 대기";
-                else if ("APPROVED".equals(loan.getStatus())) status = loan.isOverdue() ? "연체" : "대출 중";
-                else if ("REQUESTED".equals(loan.getStatus())) status = "승인 대기";
-                else status = loan.getStatus();
+                if (loan.getStatus() == LoanStatus.RETURNED) status = "반납 완료";
+                else if (loan.getStatus() == LoanStatus.RETURN_REQUESTED) status = "반납 대기";
+                else if (loan.getStatus() == LoanStatus.APPROVED) status = loan.isOverdue() ? "연체" : "대출 중";
+                else if (loan.getStatus() == LoanStatus.REQUESTED) status = "승인 대기";
+                else status = String.valueOf(loan.getStatus());
                 createCell(row, 5, status, cellStyle);
 
                 rowNum++;
@@ -154,11 +155,11 @@ public class ExcelService {
                 createCell(row, 7, loan.getReturnedDate() != null ? loan.getReturnedDate().toString() : "-", cellStyle);
 
                 String status;
-                if ("RETURNED".equals(loan.getStatus())) status = "반납 완료";
-                else if ("RETURN_REQUESTED".equals(loan.getStatus())) status = "반납 대기";
-                else if ("APPROVED".equals(loan.getStatus())) status = loan.isOverdue() ? "연체" : "대출 중";
-                else if ("REQUESTED".equals(loan.getStatus())) status = "승인 대기";
-                else status = loan.getStatus();
+                if (loan.getStatus() == LoanStatus.RETURNED) status = "반납 완료";
+                else if (loan.getStatus() == LoanStatus.RETURN_REQUESTED) status = "반납 대기";
+                else if (loan.getStatus() == LoanStatus.APPROVED) status = loan.isOverdue() ? "연체" : "대출 중";
+                else if (loan.getStatus() == LoanStatus.REQUESTED) status = "승인 대기";
+                else status = String.valueOf(loan.getStatus());
                 createCell(row, 8, status, cellStyle);
 
                 rowNum++;
@@ -0,0 +1,110 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Hold;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.HoldRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 예약(대기) 관련 비즈니스 로직 담당
+// 대출 중인 도서에 예약 → 반납되면 LoanService가 맨 앞 예약자를 대출 신청 상태로 승격
+@Service
+public class HoldService {
+
+    // 같은 도서에 동시에 예약해서 대기 번호가 겹쳤을 때 다시 시도하는 횟수
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final HoldRepository holdRepository;
+    private final LoanService loanService;
+    private final TransactionTemplate transactionTemplate;
+
+    public HoldService(HoldRepository holdRepository, LoanService loanService,
+                       PlatformTransactionManager transactionManager) {
+        this.holdRepository = holdRepository;
+        this.loanService = loanService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 사용자 → 예약 (대기열 맨 뒤에 추가)
+    // 대기 번호는 (book_id, position) UNIQUE → 동시에 같은 번호를 받으면 다시 번호를 받아 재시도
+    public Hold placeHold(Book book, Member member) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    // 소장본이 한 권이라도 남아 있으면 예약 대신 대출 신청
+                    if (!loanService.isBookBorrowed(book.getId())) {
+                        throw new RuntimeException("대출 가능한 도서입니다. 바로 대출 신청해주세요: " + book.getTitle());
+                    }
+                    if (loanService.isBorrowedBy(book.getId(), member.getId())) {
+                        throw new RuntimeException("이미 대출 중인 도서입니다: " + book.getTitle());
+                    }
+                    if (holdRepository.existsByBookIdAndMemberId(book.getId(), member.getId())) {
+                        throw new RuntimeException("이미 예약한 도서입니다: " + book.getTitle());
+                    }
+
+                    Long lastPosition = holdRepository.findLastPosition(book.getId());
+                    Hold hold = new Hold();
+                    hold.setBook(book);
+                    hold.setMember(member);
+                    hold.setPosition(lastPosition == null ? 1L : lastPosition + 1);
+                    hold.setCreatedAt(LocalDateTime.now());
+                    return holdRepository.saveAndFlush(hold);
+                });
+            } catch (DataIntegrityViolationException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new RuntimeException("예약 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+                }
+            }
+        }
+    }
+
+    // 사용자 → 예약 취소 (본인 예약만)
+    @Transactional
+    public void cancelHold(Long holdId, Long memberId) {
+        Hold hold = holdRepository.findById(holdId)
+                .orElseThrow(() -> new RuntimeException("예약을 찾을 수 없습니다. ID: " + holdId));
+        if (!hold.getMember().getId().equals(memberId)) {
+            throw new RuntimeException("본인의 예약만 취소할 수 있습니다.");
+        }
+        holdRepository.delete(hold);
+    }
+
+    // 내 예약 목록
+    public List<Hold> findByMemberId(Long memberId) {
+        return holdRepository.findByMemberIdOrderByCreatedAtDesc(memberId);
+    }
+
+    // 예약 ID → 대기 순서 (1부터, 예약 수와 관계없이 집계 쿼리 한 번)
+    public Map<Long, Long> ranksOf(List<Hold> holds) {
+        Map<Long, Long> ranks = new HashMap<>();
+        if (holds.isEmpty()) return ranks;
+        List<Long> ids = new ArrayList<>(holds.size());
+        for (Hold hold : holds) {
+            ids.add(hold.getId());
+            ranks.put(hold.getId(), 1L);
+        }
+        for (Object[] row : holdRepository.countAheadGroupById(ids)) {
+            ranks.put((Long) row[0], (Long) row[1] + 1);
+        }
+        return ranks;
+    }
+
+    // 도서의 대기 인원
+    public long countByBookId(Long bookId) {
+        return holdRepository.countByBookId(bookId);
+    }
+
+    // 이미 예약한 도서인지
+    public boolean hasHold(Long bookId, Long memberId) {
+        return holdRepository.existsByBookIdAndMemberId(bookId, memberId);
+    }
+}
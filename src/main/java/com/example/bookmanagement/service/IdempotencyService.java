@@ -0,0 +1,221 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.IdempotencyRecord;
+import com.example.bookmanagement.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// 중복 제출 방지 (대출 신청 / 반납 신청 폼)
+// 폼마다 숨은 키(idempotencyKey)를 넣어 보내고, 같은 회원이 같은 키로 다시 보내면 처음 결과를 그대로 반환
+// → 더블 클릭/브라우저 재전송에도 대출 처리와 관리자 알림은 한 번만
+// 1) 최근 결과는 메모리(최대 MAX_ENTRIES건, ttl-minutes 지나면 만료)에서 바로 반환
+// 2) 같은 서버에서 동시에 들어온 요청은 먼저 온 요청의 결과를 기다림
+// 3) 메모리에 없으면 idempotency_record에 키를 INSERT로 선점 → 기본키 충돌이면 저장된 결과 사용 (서버 재시작/여러 대)
+// 같은 키로 다른 처리(예: 다른 도서의 대출 신청)를 보내면 실행하지 않고 실패 결과
+// 처리 도중 서버가 죽어 takeover-seconds 넘게 처리 중으로 남은 키는 다음 요청이 조건부 UPDATE로 다시 가져가서 처리
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // 메모리에 보관하는 최근 결과 수
+    private static final int MAX_ENTRIES = 10_000;
+    // 이보다 긴 키는 무시하고 그대로 처리
+    private static final int MAX_KEY_LENGTH = 64;
+    // 같은 키로 먼저 들어온 요청을 기다리는 최대 시간
+    private static final long WAIT_MS = 5_000;
+    private static final int MAX_MESSAGE_LENGTH = 500;
+    private static final Result IN_PROGRESS = Result.failure("이미 처리 중인 요청입니다. 잠시 후 다시 확인해주세요.");
+    private static final Result KEY_REUSED = Result.failure("다른 요청에 이미 사용된 키입니다. 화면을 새로고침한 뒤 다시 시도해주세요.");
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final long ttlMinutes;
+    private final long takeoverSeconds;
+    // 키 → 결과 (등록 순서 = 만료 순서, 가득 차면 가장 오래된 것부터 제거)
+    private final Map<String, Cached> recent = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    // 처리 중인 키 → 결과 (동시에 들어온 같은 키 요청이 기다림)
+    private final Map<String, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              @Value("${loan.idempotency.ttl-minutes:60}") long ttlMinutes,
+                              @Value("${loan.idempotency.takeover-seconds:60}") long takeoverSeconds) {
+        this.recordRepository = recordRepository;
+        this.ttlMinutes = ttlMinutes;
+        this.takeoverSeconds = takeoverSeconds;
+    }
+
+    // 처리 결과 (성공 여부 + 화면에 보여줄 메시지)
+    public static class Result {
+
+        private final boolean success;
+        private final String message;
+
+        private Result(boolean success, String message) {
+            this.success = success;
+            this.message = message;
+        }
+
+        public static Result success(String message) {
+            return new Result(true, message);
+        }
+
+        public static Result failure(String message) {
+            return new Result(false, message);
+        }
+
+        public boolean isSuccess() { return success; }
+        public String getMessage() { return message; }
+    }
+
+    private static final class Cached {
+        final String action;
+        final Result result;
+        final long expiresAt;   // 만료 시각 (ms)
+
+        Cached(String action, Result result, long expiresAt) {
+            this.action = action;
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // work 실행 (성공 메시지 반환, RuntimeException이면 실패 결과)
+    // 같은 회원 + 같은 키로 이미 처리했으면 work를 실행하지 않고 처음 결과 반환, 키가 없으면 매번 실행
+    public Result execute(Long memberId, String key, String action, Supplier<String> work) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return run(work);
+        }
+        String id = memberId + ":" + key;
+        Result cached = cached(id, action);
+        if (cached != null) return cached;
+
+        CompletableFuture<Result> mine = new CompletableFuture<>();
+        CompletableFuture<Result> other = inFlight.putIfAbsent(id, mine);
+        if (other != null) {
+            return await(other);
+        }
+        try {
+            Result result = cached(id, action);
+            if (result == null) {
+                result = claimOrStored(id, action);
+            }
+            if (result == null) {
+                result = run(work);
+                complete(id, result);
+            }
+            if (result != IN_PROGRESS && result != KEY_REUSED) remember(id, action, result);
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    // 만료된 키 정리 (메모리는 조회 시 만료 확인, DB는 주기적으로 삭제)
+    @Scheduled(cron = "${loan.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        int deleted = recordRepository.deleteByCreatedAtBefore(LocalDateTime.now().minusMinutes(ttlMinutes));
+        if (deleted > 0) {
+            log.info("만료된 중복 제출 방지 키 삭제: {}건", deleted);
+        }
+    }
+
+    // 메모리 캐시 비우기 (서버 재시작과 같은 상황에서 DB 확인 경로 테스트용)
+    void clearMemory() {
+        synchronized (recent) {
+            recent.clear();
+        }
+    }
+
+    private Result run(Supplier<String> work) {
+        try {
+            return Result.success(work.get());
+        } catch (RuntimeException e) {
+            return Result.failure(e.getMessage());
+        }
+    }
+
+    // 메모리의 처음 결과 (같은 키를 다른 처리에 쓰면 KEY_REUSED)
+    private Result cached(String id, String action) {
+        synchronized (recent) {
+            Cached cached = recent.get(id);
+            if (cached == null) return null;
+            if (cached.expiresAt < System.currentTimeMillis()) {
+                recent.remove(id);
+                return null;
+            }
+            return cached.action.equals(action) ? cached.result : KEY_REUSED;
+        }
+    }
+
+    private void remember(String id, String action, Result result) {
+        long expiresAt = System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes);
+        synchronized (recent) {
+            recent.put(id, new Cached(action, result, expiresAt));
+        }
+    }
+
+    private Result await(CompletableFuture<Result> other) {
+        try {
+            return other.get(WAIT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return IN_PROGRESS;
+        } catch (ExecutionException | TimeoutException e) {
+            return IN_PROGRESS;
+        }
+    }
+
+    // 키 선점 (처리 전 INSERT, 바로 커밋) → 선점했으면 null, 이미 있으면 저장된 결과
+    // 아직 처리 중이면 IN_PROGRESS, 선점한 지 takeover-seconds가 지났으면 다시 가져가서 null
+    private Result claimOrStored(String id, String action) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        try {
+            recordRepository.saveAndFlush(new IdempotencyRecord(id, action, now));
+            return null;
+        } catch (DataIntegrityViolationException e) {
+            Optional<IdempotencyRecord> found = recordRepository.findById(id);
+            if (found.isEmpty()) return IN_PROGRESS;
+            IdempotencyRecord stored = found.get();
+            if (!stored.getAction().equals(action)) return KEY_REUSED;
+            if (stored.isCompleted()) return new Result(stored.isSuccess(), stored.getMessage());
+            boolean abandoned = stored.getCreatedAt().isBefore(now.minusSeconds(takeoverSeconds));
+            if (abandoned && recordRepository.takeOver(id, stored.getCreatedAt(), now) == 1) {
+                return null;
+            }
+            return IN_PROGRESS;
+        }
+    }
+
+    // 처리 결과 저장 (재요청/다른 서버에서 그대로 사용)
+    private void complete(String id, Result result) {
+        String message = result.getMessage();
+        if (message != null && message.length() > MAX_MESSAGE_LENGTH) {
+            message = message.substring(0, MAX_MESSAGE_LENGTH);
+        }
+        recordRepository.complete(id, result.isSuccess(), message);
+    }
+}
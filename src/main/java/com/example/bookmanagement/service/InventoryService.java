@@ -0,0 +1,230 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.BookCopy;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.repository.BookCopyRepository;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.search.BorrowedBookIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// 소장본 재고 담당: 도서(Book) 한 건 = 소장본(BookCopy) 여러 권
+// 대출 가능 권수(book.available_copies)는 조건부 UPDATE로만 증감 → 동시에 대출해도 보유 권수를 넘지 않음
+// 대출할 소장본은 (book_id, on_loan) 인덱스로 한 권만 찾음 (대출 기록을 훑지 않음)
+// 모든 메서드는 호출한 쪽(LoanService 등)의 트랜잭션 안에서 실행 → 대출이 롤백되면 재고도 함께 롤백
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private final BookRepository bookRepository;
+    private final BookCopyRepository bookCopyRepository;
+    private final LoanRepository loanRepository;
+    private final BorrowedBookIndex borrowedBookIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    public InventoryService(BookRepository bookRepository, BookCopyRepository bookCopyRepository,
+                            LoanRepository loanRepository, BorrowedBookIndex borrowedBookIndex,
+                            PlatformTransactionManager transactionManager, JdbcTemplate jdbcTemplate) {
+        this.bookRepository = bookRepository;
+        this.bookCopyRepository = bookCopyRepository;
+        this.loanRepository = loanRepository;
+        this.borrowedBookIndex = borrowedBookIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 소장본 도입 전의 도서 단위 대출 중 키(loan.active_book_id) 삭제 (시작 시, 컬럼이 남아 있을 때만)
+    // 대출 중 키는 active_copy_id로 옮겨졌는데 ddl-auto=update는 매핑에서 빠진 컬럼과 UNIQUE 인덱스를 지우지 않음
+    // → 옛 값이 남은 컬럼을 직접 삭제 (그 컬럼 하나로 된 UNIQUE 인덱스도 함께 삭제됨)
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void dropActiveBookIdColumn() {
+        Boolean exists = jdbcTemplate.execute((ConnectionCallback<Boolean>) con -> hasColumn(con, "loan", "active_book_id"));
+        if (Boolean.TRUE.equals(exists)) {
+            jdbcTemplate.execute("ALTER TABLE loan DROP COLUMN active_book_id");
+            log.info("loan.active_book_id 컬럼 삭제 (대출 중 키는 active_copy_id 사용)");
+        }
+    }
+
+    // 식별자 저장 방식이 DB마다 다름 (MySQL은 만든 그대로 소문자, H2는 대문자)
+    private static boolean hasColumn(Connection con, String table, String column) throws SQLException {
+        DatabaseMetaData meta = con.getMetaData();
+        if (meta.storesUpperCaseIdentifiers()) {
+            table = table.toUpperCase();
+            column = column.toUpperCase();
+        }
+        try (ResultSet rs = meta.getColumns(con.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
+    }
+
+    // 소장본 도입 전에 등록된 도서 변환 (시작 시 한 번, 대출 중 도서 비트맵 생성보다 먼저)
+    // 보유 권수만큼 소장본을 만들고, 대출 중 기록에 소장본을 하나씩 배정한 뒤 대출 가능 권수 설정
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void backfillCopies() {
+        Integer converted = transactionTemplate.execute(status -> {
+            List<Book> books = bookRepository.findWithoutCopies();
+            for (Book book : books) {
+                int total = Math.max(1, book.getTotalCopies());
+                List<BookCopy> copies = newCopies(book, 1, total);
+                List<Loan> active = loanRepository.findByBookIdAndStatusInOrderByIdAsc(book.getId(), Loan.BORROWED_STATUSES);
+                int onLoan = Math.min(active.size(), total);
+                for (int i = 0; i < onLoan; i++) {
+                    copies.get(i).setOnLoan(true);
+                }
+                bookCopyRepository.saveAll(copies);
+                for (int i = 0; i < onLoan; i++) {
+                    active.get(i).setCopy(copies.get(i));
+                }
+                bookRepository.setCopyCounts(book.getId(), total, total - onLoan);
+            }
+            return books.size();
+        });
+        if (converted != null && converted > 0) {
+            log.info("소장본 생성: 도서 {}권", converted);
+        }
+    }
+
+    // 새 도서의 소장본 생성 (book.totalCopies 권)
+    @Transactional
+    public void createCopies(Book book) {
+        bookCopyRepository.saveAll(newCopies(book, 1, book.getTotalCopies()));
+    }
+
+    // 대출할 소장본 한 권 확보 (없으면 null)
+    // 1) 대출 가능 권수를 조건부 UPDATE로 1 차감 → 0건이면 남은 권 없음 (행 잠금은 커밋까지 유지)
+    // 2) 차감에 성공한 요청만 대출 가능한 소장본 한 권을 대출 중으로 표시
+    // 3) 마지막 한 권이었으면 커밋 후 비트맵에 대출 중(대출 가능 권 없음)으로 표시
+    @Transactional
+    public BookCopy allocate(Long bookId) {
+        if (bookRepository.takeCopy(bookId) == 0) {
+            return null;
+        }
+        BookCopy copy = bookCopyRepository.findFirstByBookIdAndOnLoanFalseOrderByCopyNoAsc(bookId)
+                .orElseThrow(() -> new RuntimeException("대출 가능한 소장본을 찾을 수 없습니다. 도서 ID: " + bookId));
+        if (bookCopyRepository.markOnLoan(copy.getId()) == 0) {
+            throw new RuntimeException("소장본 대출 처리 중 충돌이 발생했습니다. 다시 시도해주세요.");
+        }
+        copy.setOnLoan(true);
+        Integer available = bookRepository.findAvailableCopies(bookId);
+        if (available != null && available == 0) {
+            borrowedBookIndex.refresh(bookId);
+        }
+        return copy;
+    }
+
+    // 반납/거절된 대출의 소장본 되돌리기 (여러 건이면 소장본 UPDATE 1번 + 도서별 반납 권수가 같은 묶음마다 UPDATE 1번)
+    @Transactional
+    public void releaseAll(List<Loan> loans) {
+        List<Long> copyIds = new ArrayList<>();
+        Map<Long, Integer> countsByBook = new HashMap<>();
+        for (Loan loan : loans) {
+            // 소장본 배정 전 기록은 되돌릴 재고가 없음
+            if (loan.getCopy() == null) continue;
+            copyIds.add(loan.getCopy().getId());
+            countsByBook.merge(loan.getBook().getId(), 1, Integer::sum);
+        }
+        if (copyIds.isEmpty()) return;
+        // 대출(allocate)과 같은 순서로 도서 행 → 소장본 행 (반대 순서로 잠그면 동시 대출과 교착될 수 있음)
+        Map<Integer, List<Long>> booksByCount = new HashMap<>();
+        countsByBook.forEach((bookId, count) -> booksByCount.computeIfAbsent(count, c -> new ArrayList<>()).add(bookId));
+        booksByCount.forEach((count, bookIds) -> bookRepository.putBackCopies(bookIds, count));
+        bookCopyRepository.markReturned(copyIds);
+        for (Long bookId : countsByBook.keySet()) {
+            borrowedBookIndex.refresh(bookId);
+        }
+    }
+
+    public void release(Loan loan) {
+        releaseAll(List.of(loan));
+    }
+
+    // 보유 권수 변경 (도서 수정 화면)
+    // 늘리면 소장본 추가, 줄이면 대출 가능한 소장본만 삭제 (대출 중인 권은 남김)
+    @Transactional
+    public void changeCopyCount(Long bookId, int totalCopies) {
+        if (totalCopies < 1) {
+            throw new RuntimeException("보유 권수는 1권 이상이어야 합니다.");
+        }
+        // 영속성 컨텍스트의 도서는 카운터 UPDATE 이전 값일 수 있으므로 DB 값으로 비교
+        Integer current = bookRepository.findTotalCopies(bookId);
+        if (current == null) {
+            throw new RuntimeException("도서를 찾을 수 없습니다. ID: " + bookId);
+        }
+        int delta = totalCopies - current;
+        if (delta == 0) return;
+        if (bookRepository.adjustCopies(bookId, delta) == 0) {
+            throw new RuntimeException("대출 중인 권이 있어 " + totalCopies + "권으로 줄일 수 없습니다.");
+        }
+        if (delta > 0) {
+            Integer last = bookCopyRepository.findLastCopyNo(bookId);
+            int from = last == null ? 1 : last + 1;
+            bookCopyRepository.saveAll(newCopies(bookRepository.getReferenceById(bookId), from, delta));
+            borrowedBookIndex.refresh(bookId);
+        } else {
+            List<BookCopy> removed = bookCopyRepository.findByBookIdAndOnLoanFalseOrderByCopyNoDesc(
+                    bookId, PageRequest.of(0, -delta));
+            List<Long> removedIds = new ArrayList<>();
+            for (BookCopy copy : removed) {
+                removedIds.add(copy.getId());
+            }
+            loanRepository.detachCopies(removedIds);
+            bookCopyRepository.deleteAllInBatch(removed);
+            Integer available = bookRepository.findAvailableCopies(bookId);
+            if (available != null && available == 0) {
+                borrowedBookIndex.refresh(bookId);
+            }
+        }
+    }
+
+    // 특정 도서의 소장본 전체 삭제 (도서 삭제 시, 대출 기록을 먼저 삭제한 뒤 호출)
+    @Transactional
+    public void deleteCopies(Long bookId) {
+        bookCopyRepository.deleteByBookId(bookId);
+    }
+
+    // 대출 가능한 소장본이 없는지
+    public boolean isUnavailable(Long bookId) {
+        Integer available = bookRepository.findAvailableCopies(bookId);
+        return available != null && available == 0;
+    }
+
+    // 대출 가능한 소장본이 없는 도서 ID (비트맵 생성 전에만 사용)
+    public Set<Long> unavailableBookIds() {
+        return new HashSet<>(bookRepository.findUnavailableIds());
+    }
+
+    private static List<BookCopy> newCopies(Book book, int fromNo, int count) {
+        List<BookCopy> copies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            copies.add(new BookCopy(book, fromNo + i));
+        }
+        return copies;
+    }
+}
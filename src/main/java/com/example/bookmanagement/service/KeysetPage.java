@@ -0,0 +1,55 @@
+package com.example.bookmanagement.service;
+
+import org.springframework.data.domain.Slice;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+// 키셋(seek) 페이징 결과: "마지막으로 본 ID 다음부터 N건"
+// OFFSET과 달리 앞 페이지를 건너뛰며 읽지 않고, 전체 건수(COUNT)도 세지 않으므로
+// 테이블이 커져도 페이지마다 기본키 인덱스로 N+1건만 읽음
+// 다음 페이지 커서 = lastId, 이전 페이지 커서 = firstId
+public class KeysetPage<T> {
+
+    public static final int DEFAULT_SIZE = 20;
+    private static final int MAX_SIZE = 100;
+
+    private final List<T> content;
+    private final Long firstId;
+    private final Long lastId;
+    private final boolean hasNext;
+    private final boolean hasPrevious;
+
+    private KeysetPage(List<T> content, Function<T, Long> idOf, boolean hasNext, boolean hasPrevious) {
+        this.content = content;
+        this.firstId = content.isEmpty() ? null : idOf.apply(content.get(0));
+        this.lastId = content.isEmpty() ? null : idOf.apply(content.get(content.size() - 1));
+        this.hasNext = hasNext;
+        this.hasPrevious = hasPrevious;
+    }
+
+    // 다음 방향으로 읽은 결과 (커서가 없으면 첫 페이지)
+    public static <T> KeysetPage<T> forward(Slice<T> slice, boolean hasCursor, Function<T, Long> idOf) {
+        return new KeysetPage<>(slice.getContent(), idOf, slice.hasNext(), hasCursor);
+    }
+
+    // 이전 방향으로 읽은 결과 (반대 순서로 읽었으므로 뒤집어서 화면 순서로 맞춤)
+    // 이전 링크는 다음 페이지가 있는 화면에서만 만들어지므로 hasNext = true
+    public static <T> KeysetPage<T> backward(Slice<T> slice, Function<T, Long> idOf) {
+        List<T> content = new ArrayList<>(slice.getContent());
+        Collections.reverse(content);
+        return new KeysetPage<>(content, idOf, true, slice.hasNext());
+    }
+
+    // 요청한 페이지 크기를 1 ~ MAX_SIZE로 제한
+    public static int size(int requested) {
+        return Math.max(1, Math.min(requested, MAX_SIZE));
+    }
+
+    public List<T> getContent() { return content; }
+    public Long getFirstId() { return firstId; }
+    public Long getLastId() { return lastId; }
+    public boolean isHasNext() { return hasNext && lastId != null; }
+    public boolean isHasPrevious() { return hasPrevious && firstId != null; }
+}
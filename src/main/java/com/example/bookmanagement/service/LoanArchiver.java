@@ -0,0 +1,86 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.repository.LoanArchiveRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 대출 기록 보관: 반납 후 loan.archive.after-days일이 지난 기록을 loan → loan_archive로 이동
+// 매일 새벽 실행, CHUNK_SIZE건씩 트랜잭션을 나눠서 처리 (INSERT ... SELECT 한 번 + DELETE 한 번)
+// → 승인/반납 처리와 상태별 목록은 진행 중/최근 기록만 있는 loan 테이블만 읽고,
+//   도서/회원 대출 이력과 내보내기는 LoanService에서 두 테이블을 합쳐서 보여줌
+@Component
+public class LoanArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanArchiver.class);
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final LoanRepository loanRepository;
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final LoanStatusCounters statusCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final int afterDays;
+    // 예약 실행과 수동 실행이 겹치지 않도록
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public LoanArchiver(LoanRepository loanRepository, LoanArchiveRepository loanArchiveRepository,
+                        LoanStatusCounters statusCounters, PlatformTransactionManager transactionManager,
+                        @Value("${loan.archive.after-days:365}") int afterDays) {
+        this.loanRepository = loanRepository;
+        this.loanArchiveRepository = loanArchiveRepository;
+        this.statusCounters = statusCounters;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.afterDays = afterDays;
+    }
+
+    @Scheduled(cron = "${loan.archive.cron:0 30 3 * * *}")
+    public void archiveDaily() {
+        archive(LocalDate.now().minusDays(afterDays));
+    }
+
+    // cutoff 이전에 반납된 기록을 보관, 옮긴 건수 반환 (이미 실행 중이면 0)
+    public int archive(LocalDate cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            int total = 0;
+            long lastId = 0;
+            while (true) {
+                List<Long> ids = loanRepository.findArchivableIds(cutoff, lastId, PageRequest.of(0, CHUNK_SIZE));
+                if (ids.isEmpty()) break;
+                Integer moved = transactionTemplate.execute(status -> moveChunk(ids));
+                total += moved == null ? 0 : moved;
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < CHUNK_SIZE) break;
+            }
+            if (total > 0) {
+                log.info("대출 기록 보관: {}건 ({} 이전 반납, {}ms)", total, cutoff, System.currentTimeMillis() - start);
+            }
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 한 묶음: 보관 테이블로 복사 + 원본 삭제 (같은 트랜잭션 → 중간에 실패하면 둘 다 취소)
+    // 반납 완료 기록은 더 이상 바뀌지 않으므로 행 잠금 없이 ID로만 처리
+    private int moveChunk(List<Long> ids) {
+        int moved = loanArchiveRepository.copyFromLoans(ids);
+        loanRepository.deleteAllByIdInBatch(ids);
+        statusCounters.deleted(LoanStatus.RETURNED, moved);
+        return moved;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanEventType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 대출 이벤트 로그 (loan_event, 추가 전용)
+// 쓰기: LoanService가 상태를 바꿀 때 같은 트랜잭션에서 INSERT (일괄 처리는 JDBC 배치 한 번)
+//       → 대출 변경이 롤백되면 로그도 함께 롤백, ID 순서대로 뒤에 붙기만 함
+// 읽기: 이벤트 ID 범위를 나눠 여러 스레드가 동시에 기본키 범위 조회로 재생 → 구간별 집계를 합침
+//       재생 스레드는 replay-threads개 공용 풀 하나 (호출마다 만들지 않음, 종료 시 정리)
+// 재생 결과를 loan 테이블의 현재 상태와 대조해서 어긋난 대출 수를 알림 (verify, 시작 시 실행은 verify-on-startup으로 켬)
+@Component
+public class LoanEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanEventLog.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO loan_event (loan_id, book_id, member_id, type, occurred_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int replayThreads;
+    private final boolean verifyOnStartup;
+    private final ExecutorService executor;
+
+    public LoanEventLog(JdbcTemplate jdbcTemplate,
+                        @Value("${loan.events.replay-threads:4}") int replayThreads,
+                        @Value("${loan.events.verify-on-startup:false}") boolean verifyOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.replayThreads = Math.max(1, replayThreads);
+        this.verifyOnStartup = verifyOnStartup;
+        AtomicInteger threadNo = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.replayThreads, task -> {
+            Thread thread = new Thread(task, "loan-event-replay-" + threadNo.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // DataInitializer의 샘플 대출까지 반영된 뒤 대조
+    // 로그 전체 재생 + loan 전체 조회라 기본은 꺼 둠 (점검이 필요한 배포에서만 켬)
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (verifyOnStartup) {
+            verify();
+        }
+    }
+
+    // 전체 로그를 재생해서 loan 테이블의 현재 상태와 대조 → 어긋난 대출 수
+    // (로그 기록이 빠졌거나 로그 없이 상태를 바꾼 경우, 로그 도입 전 대출처럼 이벤트가 없는 대출은 제외)
+    public int verify() {
+        LoanProjection projection = replay();
+        int[] mismatched = {0};
+        jdbcTemplate.query("SELECT id, status FROM loan", rs -> {
+            LoanEventType last = projection.statusOf(rs.getLong(1));
+            if (last != null && !last.name().equals(rs.getString(2))) {
+                mismatched[0]++;
+            }
+        });
+        if (mismatched[0] > 0) {
+            log.warn("대출 이벤트 로그와 현재 상태가 다른 대출: {}건", mismatched[0]);
+        }
+        return mismatched[0];
+    }
+
+    // 대출 한 건의 이벤트 기록
+    public void append(LoanEventType type, Loan loan) {
+        appendAll(type, List.of(loan));
+    }
+
+    // 같은 종류의 이벤트 여러 건을 INSERT 배치 한 번으로 기록
+    public void appendAll(LoanEventType type, List<Loan> loans) {
+        if (loans.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, loans, loans.size(), (ps, loan) -> {
+            ps.setLong(1, loan.getId());
+            ps.setLong(2, loan.getBook().getId());
+            ps.setLong(3, loan.getMember().getId());
+            ps.setString(4, type.name());
+            ps.setTimestamp(5, now);
+        });
+    }
+
+    // 전체 로그 재생 (설정된 스레드 수만큼 나눠서 동시에)
+    public LoanProjection replay() {
+        return replay(replayThreads);
+    }
+
+    // 이벤트 ID 범위를 parts개 구간으로 나눠 구간마다 따로 집계한 뒤 합침 (동시에 읽는 구간은 최대 replay-threads개)
+    public LoanProjection replay(int parts) {
+        Long minId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM loan_event", Long.class);
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM loan_event", Long.class);
+        LoanProjection result = new LoanProjection();
+        if (minId == null || maxId == null) return result;
+
+        long start = System.currentTimeMillis();
+        long span = (maxId - minId) / parts + 1;
+        List<Future<LoanProjection>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < parts; i++) {
+                long from = minId + span * i;
+                long to = Math.min(maxId, from + span - 1);
+                futures.add(executor.submit(() -> replayRange(from, to)));
+            }
+            for (Future<LoanProjection> future : futures) {
+                result.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("대출 이벤트 재생이 중단되었습니다.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("대출 이벤트 재생 실패", e.getCause());
+        } finally {
+            // 실패/중단 시 아직 남은 구간은 취소 (끝난 구간에는 영향 없음)
+            for (Future<LoanProjection> future : futures) {
+                future.cancel(true);
+            }
+        }
+        log.info("대출 이벤트 재생: {}건, 대출 {}건 ({}구간, {}ms)", result.getEventCount(), result.getLoanCount(),
+                parts, System.currentTimeMillis() - start);
+        return result;
+    }
+
+    // 한 구간: ID 순으로 읽으면서 바로 집계 (엔티티로 만들지 않음)
+    private LoanProjection replayRange(long from, long to) {
+        LoanProjection projection = new LoanProjection();
+        jdbcTemplate.query(
+                "SELECT id, loan_id, book_id, member_id, type FROM loan_event WHERE id BETWEEN ? AND ? ORDER BY id",
+                rs -> {
+                    projection.apply(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4),
+                            LoanEventType.valueOf(rs.getString(5)));
+                },
+                from, to);
+        return projection;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.LoanEventType;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+// 대출 이벤트 로그를 재생해서 만든 집계 (LoanEventLog.replay)
+// - 대출별 마지막 상태 (거절되어 loan 테이블에서 지워진 대출도 REJECTED로 남음)
+// - 도서별 / 회원별 이벤트 종류별 건수 (신청/승인/거절/반납 횟수)
+// 로그 구간별로 따로 만든 뒤 merge로 합침 → 건수는 더하고, 상태는 이벤트 ID가 큰 쪽을 사용
+public class LoanProjection {
+
+    private final Map<Long, long[]> lastEventByLoan = new HashMap<>(); // 대출 ID → [이벤트 ID, 종류 ordinal]
+    private final Map<Long, Stats> statsByBook = new HashMap<>();
+    private final Map<Long, Stats> statsByMember = new HashMap<>();
+    private long eventCount;
+
+    // 이벤트 한 건 반영 (한 구간 안에서는 ID 순으로 호출됨)
+    void apply(long eventId, long loanId, long bookId, long memberId, LoanEventType type) {
+        long[] last = lastEventByLoan.get(loanId);
+        if (last == null || last[0] < eventId) {
+            lastEventByLoan.put(loanId, new long[]{eventId, type.ordinal()});
+        }
+        statsByBook.computeIfAbsent(bookId, id -> new Stats()).add(type, 1);
+        statsByMember.computeIfAbsent(memberId, id -> new Stats()).add(type, 1);
+        eventCount++;
+    }
+
+    // 다른 구간의 집계를 합침
+    void merge(LoanProjection other) {
+        other.lastEventByLoan.forEach((loanId, event) -> {
+            long[] last = lastEventByLoan.get(loanId);
+            if (last == null || last[0] < event[0]) {
+                lastEventByLoan.put(loanId, event);
+            }
+        });
+        other.statsByBook.forEach((bookId, stats) -> statsByBook.computeIfAbsent(bookId, id -> new Stats()).addAll(stats));
+        other.statsByMember.forEach((memberId, stats) -> statsByMember.computeIfAbsent(memberId, id -> new Stats()).addAll(stats));
+        eventCount += other.eventCount;
+    }
+
+    // 대출의 마지막 이벤트 (로그에 없으면 null)
+    public LoanEventType statusOf(Long loanId) {
+        long[] last = lastEventByLoan.get(loanId);
+        return last == null ? null : LoanEventType.values()[(int) last[1]];
+    }
+
+    public Stats bookStats(Long bookId) {
+        return statsByBook.getOrDefault(bookId, Stats.EMPTY);
+    }
+
+    public Stats memberStats(Long memberId) {
+        return statsByMember.getOrDefault(memberId, Stats.EMPTY);
+    }
+
+    public Map<Long, Stats> getStatsByBook() {
+        return Collections.unmodifiableMap(statsByBook);
+    }
+
+    public Map<Long, Stats> getStatsByMember() {
+        return Collections.unmodifiableMap(statsByMember);
+    }
+
+    public int getLoanCount() {
+        return lastEventByLoan.size();
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    // 이벤트 종류별 건수
+    public static class Stats {
+
+        private static final Stats EMPTY = new Stats();
+
+        private final Map<LoanEventType, Long> counts = new EnumMap<>(LoanEventType.class);
+
+        private void add(LoanEventType type, long count) {
+            counts.merge(type, count, Long::sum);
+        }
+
+        private void addAll(Stats other) {
+            other.counts.forEach(this::add);
+        }
+
+        public long count(LoanEventType type) {
+            return counts.getOrDefault(type, 0L);
+        }
+
+        @Override
+        public String toString() {
+            return counts.toString();
+        }
+    }
+}
@@ -1,33 +1,164 @@
 package com.example.bookmanagement.service;
 
 import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.BookCopy;
+import com.example.bookmanagement.entity.Hold;
 import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanArchive;
+import com.example.bookmanagement.entity.LoanEventType;
+import com.example.bookmanagement.entity.LoanStatus;
 import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.entity.Notification;
+import com.example.bookmanagement.repository.HoldRepository;
+import com.example.bookmanagement.repository.LoanArchiveRepository;
 import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import com.example.bookmanagement.search.BookSearchIndex;
+import com.example.bookmanagement.search.BorrowedBookIndex;
+import com.example.bookmanagement.search.BorrowedTogetherIndex;
+import com.example.bookmanagement.search.SearchResultCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
 
 // 대출/반납 관련 비즈니스 로직 담당
 // 상태 흐름: REQUESTED(신청) → APPROVED(승인) → RETURN_REQUESTED(반납신청) → RETURNED(반납완료)
+// 상태가 바뀔 때마다 같은 트랜잭션에서 대출 이벤트 로그(LoanEventLog)에 한 줄씩 추가
 @Service
 public class LoanService {
 
+    // 도서 ID별 잠금 구역 수 (같은 도서의 대출 신청만 서로 기다리고, 다른 도서끼리는 거의 겹치지 않음)
+    private static final int LOCK_STRIPES = 64;
+    // 같은 구역 잠금을 기다리는 최대 시간
+    private static final long LOCK_WAIT_MS = 500;
+    // 일괄 처리 한 번에 받는 최대 건수 (IN 목록/행 잠금 범위 제한)
+    private static final int MAX_BULK = 500;
+    // 대기열 맨 앞 예약자가 대출 한도일 때 뒤에서 더 확인하는 최대 예약 수
+    private static final int MAX_HOLD_SKIPS = 20;
+    // 승인 가능한 상태 (승인/거절은 신청 상태에서만)
+    private static final Set<LoanStatus> PENDING = EnumSet.of(LoanStatus.REQUESTED);
+    // 반납 신청 가능한 상태 (승인된 대출만, 신청 상태는 승인을 건너뛰지 않도록 제외)
+    private static final Set<LoanStatus> ON_LOAN = EnumSet.of(LoanStatus.APPROVED);
+    // 반납 처리 가능한 상태 (대출 중 또는 반납 신청)
+    private static final Set<LoanStatus> RETURNABLE = EnumSet.of(LoanStatus.APPROVED, LoanStatus.RETURN_REQUESTED);
+
     private final LoanRepository loanRepository;
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final HoldRepository holdRepository;
+    private final MemberRepository memberRepository;
+    private final InventoryService inventoryService;
     private final NotificationService notificationService;
-
-    public LoanService(LoanRepository loanRepository, NotificationService notificationService) {
+    private final BookSearchIndex bookSearchIndex;
+    private final SearchResultCache searchResultCache;
+    private final BorrowedBookIndex borrowedBookIndex;
+    private final LoanStatusCounters statusCounters;
+    private final LoanEventLog eventLog;
+    private final PopularBookRanking popularBooks;
+    private final BorrowedTogetherIndex borrowedTogether;
+    private final TransactionTemplate transactionTemplate;
+    // 회원 한 명이 동시에 대출(신청) 중일 수 있는 최대 권수
+    private final int maxActiveLoans;
+    // 시작 시 회원별 대출 중 권수 재계산 여부 (업그레이드 직후 한 번만 켬)
+    private final boolean recountOnStartup;
+    private final ReentrantLock[] bookLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public LoanService(LoanRepository loanRepository, LoanArchiveRepository loanArchiveRepository,
+                       HoldRepository holdRepository, MemberRepository memberRepository,
+                       InventoryService inventoryService, NotificationService notificationService,
+                       BookSearchIndex bookSearchIndex, SearchResultCache searchResultCache,
+                       BorrowedBookIndex borrowedBookIndex, LoanStatusCounters statusCounters,
+                       LoanEventLog eventLog, PopularBookRanking popularBooks,
+                       BorrowedTogetherIndex borrowedTogether, PlatformTransactionManager transactionManager,
+                       @Value("${loan.member.max-active-loans:5}") int maxActiveLoans,
+                       @Value("${loan.member.recount-on-startup:false}") boolean recountOnStartup) {
         this.loanRepository = loanRepository;
+        this.loanArchiveRepository = loanArchiveRepository;
+        this.holdRepository = holdRepository;
+        this.memberRepository = memberRepository;
+        this.inventoryService = inventoryService;
         this.notificationService = notificationService;
+        this.bookSearchIndex = bookSearchIndex;
+        this.searchResultCache = searchResultCache;
+        this.borrowedBookIndex = borrowedBookIndex;
+        this.statusCounters = statusCounters;
+        this.eventLog = eventLog;
+        this.popularBooks = popularBooks;
+        this.borrowedTogether = borrowedTogether;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxActiveLoans = maxActiveLoans;
+        this.recountOnStartup = recountOnStartup;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            bookLocks[i] = new ReentrantLock();
+        }
     }
 
-    // 전체 대출 기록 조회
+    // 회원별 대출 중 권수를 대출 기록 기준으로 다시 계산 (컬럼 추가 전 데이터를 한 번 보정하는 용도)
+    // 회원 테이블 전체를 UPDATE하므로 배포 때마다 실행하지 않도록 기본은 꺼 둠
+    // → active_loan_count 컬럼이 추가된 첫 배포에서만 loan.member.recount-on-startup=true로 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void recountMemberLoans() {
+        if (recountOnStartup) {
+            memberRepository.recountActiveLoans();
+        }
+    }
+
+    // 전체 대출 기록 조회 (보관된 기록 포함, 엑셀/PDF 내보내기)
     public List<Loan> findAll() {
-        return loanRepository.findAll();
+        return withArchived(loanRepository.findAll(), loanArchiveRepository.findAll());
+    }
+
+    // 대출 내역 한 페이지 (최신순 = ID 내림차순, status가 있으면 해당 상태만)
+    // after: 다음 페이지 커서, before: 이전 페이지 커서
+    public KeysetPage<Loan> findPage(LoanStatus status, Long after, Long before, int size) {
+        boolean filtered = status != null;
+        if (before != null) {
+            Pageable pageable = PageRequest.of(0, size, Sort.by("id").ascending());
+            Slice<Loan> slice = filtered
+                    ? loanRepository.findByStatusAndIdGreaterThan(status, before, pageable)
+                    : loanRepository.findByIdGreaterThan(before, pageable);
+            return KeysetPage.backward(slice, Loan::getId);
+        }
+        Long cursor = after != null ? after : Long.MAX_VALUE;
+        Pageable pageable = PageRequest.of(0, size, Sort.by("id").descending());
+        Slice<Loan> slice = filtered
+                ? loanRepository.findByStatusAndIdLessThan(status, cursor, pageable)
+                : loanRepository.findByIdLessThan(cursor, pageable);
+        return KeysetPage.forward(slice, after != null, Loan::getId);
+    }
+
+    // 연체 목록 한 페이지 (최신순, OverdueSweeper가 연체 표시한 대출 중 기록만)
+    public KeysetPage<Loan> findOverduePage(Long after, Long before, int size) {
+        if (before != null) {
+            Slice<Loan> slice = loanRepository.findByStatusAndOverdueTrueAndIdGreaterThan(
+                    LoanStatus.APPROVED, before, PageRequest.of(0, size, Sort.by("id").ascending()));
+            return KeysetPage.backward(slice, Loan::getId);
+        }
+        Long cursor = after != null ? after : Long.MAX_VALUE;
+        Slice<Loan> slice = loanRepository.findByStatusAndOverdueTrueAndIdLessThan(
+                LoanStatus.APPROVED, cursor, PageRequest.of(0, size, Sort.by("id").descending()));
+        return KeysetPage.forward(slice, after != null, Loan::getId);
     }
 
     public Loan findById(Long id) {
@@ -37,91 +168,157 @@ public class LoanService {
 
     // 현재 대출 중인 기록만 조회 (승인됨 상태)
     public List<Loan> findActiveLoans() {
-        return loanRepository.findByStatus("APPROVED");
+        return loanRepository.findByStatus(LoanStatus.APPROVED);
     }
 
-    // 현재 대출 중인 건수
+    // 현재 대출 중인 건수 (상태별 건수는 메모리 카운터 → 쿼리 없음)
     public long countActiveLoans() {
-        return loanRepository.countByStatus("APPROVED");
+        return statusCounters.count(LoanStatus.APPROVED);
+    }
+
+    // 연체 중인 건수 (연체 표시 기준, 인덱스로 COUNT)
+    public long countOverdueLoans() {
+        return loanRepository.countByStatusAndOverdueTrue(LoanStatus.APPROVED);
+    }
+
+    // 연체 중인 대출 목록 (반납기한 오래된 순)
+    public List<Loan> findOverdueLoans() {
+        return loanRepository.findByStatusAndOverdueTrueOrderByReturnDueDateAsc(LoanStatus.APPROVED);
     }
 
     // 승인 대기 중인 건수
     public long countPendingRequests() {
-        return loanRepository.countByStatus("REQUESTED");
+        return statusCounters.count(LoanStatus.REQUESTED);
     }
 
     // 반납 대기 중인 건수
     public long countReturnRequests() {
-        return loanRepository.countByStatus("RETURN_REQUESTED");
+        return statusCounters.count(LoanStatus.RETURN_REQUESTED);
     }
 
     // 상태별 대출 목록 조회
-    public List<Loan> findByStatus(String status) {
+    public List<Loan> findByStatus(LoanStatus status) {
         return loanRepository.findByStatus(status);
     }
 
-    // 현재 대출 중인 도서 ID 목록
+    // 현재 대출 중인 도서 ID 목록 (소장본이 모두 대출(신청) 중인 도서)
+    // 비트맵의 읽기 전용 뷰를 그대로 반환 (조회/복사 없음), 비트맵 생성 전에만 ID 조회 쿼리 한 번
     public Set<Long> getBorrowedBookIds() {
-        Set<Long> ids = new HashSet<>();
-        // 신청 중이거나 승인된 도서도 포함
-        for (Loan loan : loanRepository.findByStatus("REQUESTED")) {
-            ids.add(loan.getBook().getId());
+        if (borrowedBookIndex.isReady()) {
+            return borrowedBookIndex.ids();
         }
-        for (Loan loan : loanRepository.findByStatus("APPROVED")) {
-            ids.add(loan.getBook().getId());
-        }
-        for (Loan loan : loanRepository.findByStatus("RETURN_REQUESTED")) {
-            ids.add(loan.getBook().getId());
-        }
-        return ids;
+        return inventoryService.unavailableBookIds();
     }
 
-    // 도서가 현재 대출 중인지 확인
+    // 도서가 현재 대출 중인지 확인 (대출 가능한 소장본이 없음)
     public boolean isBookBorrowed(Long bookId) {
-        return loanRepository.findByBookIdAndReturnedDateIsNull(bookId).isPresent();
+        return inventoryService.isUnavailable(bookId);
     }
 
-    // 특정 도서의 활성 대출 기록 조회 (대여자 정보 표시용)
+    // 도서에 대출(신청) 중인 기록이 하나라도 있는지 (도서 삭제 전 확인)
+    public boolean hasActiveLoans(Long bookId) {
+        return loanRepository.existsByBookIdAndReturnedDateIsNull(bookId);
+    }
+
+    // 회원이 이 도서를 이미 대출(신청) 중인지
+    public boolean isBorrowedBy(Long bookId, Long memberId) {
+        return loanRepository.existsByBookIdAndMemberIdAndReturnedDateIsNull(bookId, memberId);
+    }
+
+    // 특정 도서의 활성 대출 기록 조회 (대여자 정보 표시용, 여러 권 대출 중이면 가장 오래된 것)
     public Loan findActiveLoanByBookId(Long bookId) {
-        return loanRepository.findByBookIdAndReturnedDateIsNull(bookId).orElse(null);
+        return loanRepository.findFirstByBookIdAndReturnedDateIsNullOrderByIdAsc(bookId).orElse(null);
     }
 
     // 사용자 → 대출 신청 (관리자 승인 대기)
-    @Transactional
+    // 동시에 같은 도서를 신청해도 보유 권수만큼만 성공 (reserve 참고)
     public Loan requestLoan(Book book, Member member) {
-        if (isBookBorrowed(book.getId())) {
+        return reserve(book, member, copy -> {
+            // 같은 도서를 이미 신청/대출 중인지 확인 (다른 소장본이라도 한 사람당 한 권)
+            if (isBorrowedBy(book.getId(), member.getId())) {
+                throw new RuntimeException("이미 대출 신청 중인 도서입니다: " + book.getTitle());
+            }
+
+            Loan loan = new Loan();
+            loan.setBook(book);
+            loan.setCopy(copy);
+            loan.setMember(member);
+            loan.setBorrowDate(LocalDate.now());
+            loan.setReturnDueDate(LocalDate.now().plusDays(14));
+            loan.setStatus(LoanStatus.REQUESTED);
+            loan.setCreatedAt(LocalDateTime.now());
+            Loan saved = loanRepository.save(loan);
+            statusCounters.created(LoanStatus.REQUESTED);
+            eventLog.append(LoanEventType.REQUESTED, saved);
+            // 대출 가능 여부가 바뀔 수 있으므로 검색 결과 캐시 무효화 (비트맵은 InventoryService가 갱신)
+            searchResultCache.invalidate();
+
+            // 알림: 모든 관리자에게 대출 신청 알림
+            notificationService.notifyAllAdmins(
+                    "LOAN_REQUESTED",
+                    "새 대출 신청",
+                    member.getName() + "님이 '" + book.getTitle() + "' 도서 대출을 신청했습니다.");
+            return saved;
+        });
+    }
+
+    // 대출 중 기록 생성 (신청/직접 대출 공통)
+    // 1) 메모리 비트맵으로 대출 가능한 소장본이 없는 도서는 DB 조회 없이 바로 거절
+    // 2) 도서 ID별 잠금(구역 잠금)을 잡은 채로 트랜잭션 실행 → 같은 서버 안의 동시 요청은 커밋 순서대로 처리
+    // 3) 대출 가능 권수 조건부 차감으로 소장본 한 권 확보 (서버 여러 대여도 보유 권수를 넘지 않음)
+    // 4) 회원 대출 중 권수를 조건부 증가 → 한도에 도달했으면 0건이라 바로 거절 (별도 COUNT 조회 없음)
+    // 5) 그래도 같은 소장본이 겹치면 loan.active_copy_id UNIQUE 제약 위반 → 대출 중 오류로 변환
+    // 중간에 실패하면 트랜잭션 롤백으로 회원 권수/재고 모두 원래대로
+    // 행 잠금 순서는 반납/거절(release)과 같게 도서 → 소장본 → 회원 (서로 반대 순서로 잡아 교착되지 않도록)
+    private Loan reserve(Book book, Member member, Function<BookCopy, Loan> create) {
+        if (borrowedBookIndex.isReady() && borrowedBookIndex.isBorrowed(book.getId())) {
             throw new RuntimeException("이미 대출 중인 도서입니다: " + book.getTitle());
         }
-        // 이미 신청 중인지 확인
-        if (loanRepository.findByBookIdAndStatus(book.getId(), "REQUESTED").isPresent()) {
-            throw new RuntimeException("이미 대출 신청 중인 도서입니다: " + book.getTitle());
+        ReentrantLock lock = bookLocks[Math.floorMod(book.getId().hashCode(), LOCK_STRIPES)];
+        try {
+            if (!lock.tryLock(LOCK_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("대출 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("대출 요청이 중단되었습니다.");
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                BookCopy copy = inventoryService.allocate(book.getId());
+                if (copy == null) {
+                    throw new RuntimeException("이미 대출 중인 도서입니다: " + book.getTitle());
+                }
+                if (memberRepository.takeLoanSlot(member.getId(), maxActiveLoans) == 0) {
+                    throw new RuntimeException("대출 한도(" + maxActiveLoans + "권)를 초과했습니다. 반납 후 다시 신청해주세요.");
+                }
+                return create.apply(copy);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("이미 대출 중인 도서입니다: " + book.getTitle());
+        } finally {
+            lock.unlock();
         }
-
-        Loan loan = new Loan();
-        loan.setBook(book);
-        loan.setMember(member);
-        loan.setBorrowDate(LocalDate.now());
-        loan.setReturnDueDate(LocalDate.now().plusDays(14));
-        loan.setStatus("REQUESTED");
-        loan.setCreatedAt(LocalDateTime.now());
-        Loan saved = loanRepository.save(loan);
-
-        // 알림: 모든 관리자에게 대출 신청 알림
-        notificationService.notifyAllAdmins(
-                "LOAN_REQUESTED",
-                "새 대출 신청",
-                member.getName() + "님이 '" + book.getTitle() + "' 도서 대출을 신청했습니다.");
-        return saved;
     }
 
     // 관리자 → 대출 승인
     @Transactional
     public Loan approveLoan(Long loanId) {
-        Loan loan = findById(loanId);
-        loan.setStatus("APPROVED");
-        loan.setBorrowDate(LocalDate.now());
-        loan.setReturnDueDate(LocalDate.now().plusDays(14));
-        Loan saved = loanRepository.save(loan);
+        Loan loan = lockForTransition(loanId, PENDING);
+        LocalDate today = LocalDate.now();
+        // 실제로 승인된 경우에만 인기 순위/함께 빌린 책/자동완성 인기도에 대출 1건 반영 (두 번 승인해도 한 번)
+        if (loanRepository.approveAllByIdIn(List.of(loanId), today, today.plusDays(14)) != 1) {
+            throw new RuntimeException("'" + loan.getBook().getTitle() + "' 이미 처리된 대출 신청입니다.");
+        }
+        loan.setStatus(LoanStatus.APPROVED);
+        loan.setBorrowDate(today);
+        loan.setReturnDueDate(today.plusDays(14));
+        statusCounters.changed(LoanStatus.REQUESTED, LoanStatus.APPROVED);
+        eventLog.append(LoanEventType.APPROVED, loan);
+        bookSearchIndex.recordBorrow(loan.getBook().getId());
+        popularBooks.recordBorrow(loan.getBook().getId());
+        borrowedTogether.recordBorrow(loan.getMember().getId(), loan.getBook().getId());
+        searchResultCache.invalidate();
 
         // 알림: 사용자에게 대출 승인 알림
         notificationService.notifyUser(
@@ -129,44 +326,68 @@ public class LoanService {
                 "LOAN_APPROVED",
                 "대출 승인",
                 "'" + loan.getBook().getTitle() + "' 도서 대출이 승인되었습니다. 반납기한: " + loan.getReturnDueDate());
-        return saved;
+        return loan;
     }
 
     // 관리자 → 대출 거절 (삭제)
     @Transactional
     public void rejectLoan(Long loanId) {
-        Loan loan = findById(loanId);
+        Loan loan = lockForTransition(loanId, PENDING);
+        // 실제로 삭제된 경우에만 소장본/대출 권수 되돌림 (삭제가 바로 반영되어 예약자 대출 기록이 active_copy_id UNIQUE에 걸리지 않음)
+        if (loanRepository.deleteRequestedById(loanId) != 1) {
+            throw new RuntimeException("'" + loan.getBook().getTitle() + "' 이미 처리된 대출 신청입니다.");
+        }
+        statusCounters.deleted(LoanStatus.REQUESTED);
+        eventLog.append(LoanEventType.REJECTED, loan);
+        release(List.of(loan));
+        searchResultCache.invalidate();
+        promoteNextHolds(List.of(loan.getBook()));
+
         // 알림: 사용자에게 대출 거절 알림
         notificationService.notifyUser(
                 loan.getMember().getId(),
                 "LOAN_REJECTED",
                 "대출 거절",
                 "'" + loan.getBook().getTitle() + "' 도서 대출 신청이 거절되었습니다.");
-        loanRepository.deleteById(loanId);
     }
 
-    // 사용자 → 반납 신청
+    // 사용자 → 반납 신청 (본인 대출만)
     @Transactional
-    public Loan requestReturn(Long loanId) {
-        Loan loan = findById(loanId);
-        loan.setStatus("RETURN_REQUESTED");
-        Loan saved = loanRepository.save(loan);
+    public Loan requestReturn(Long loanId, Long memberId) {
+        Loan loan = lockLoan(loanId);
+        if (!loan.getMember().getId().equals(memberId)) {
+            throw new RuntimeException("본인의 대출만 반납 신청할 수 있습니다.");
+        }
+        checkStatus(loan, ON_LOAN);
+        return markReturnRequested(loan);
+    }
+
+    // 승인 상태일 때만 반납 신청으로 변경 → 반납된 대출이 다시 소장본을 차지하거나 신청 건이 승인을 건너뛰지 않음
+    private Loan markReturnRequested(Loan loan) {
+        // 조건부 UPDATE 후에는 영속성 컨텍스트가 비워지므로 알림 문구용 회원 이름은 미리 읽어 둠
+        String memberName = loan.getMember().getName();
+        if (loanRepository.requestReturnById(loan.getId()) != 1) {
+            throw new RuntimeException("'" + loan.getBook().getTitle() + "' 이미 처리된 대출입니다.");
+        }
+        loan.setStatus(LoanStatus.RETURN_REQUESTED);
+        statusCounters.changed(LoanStatus.APPROVED, LoanStatus.RETURN_REQUESTED);
+        eventLog.append(LoanEventType.RETURN_REQUESTED, loan);
+        // 반납 신청 중에도 대출 중으로 표시되므로 검색 결과 캐시는 그대로 둠
 
         // 알림: 모든 관리자에게 반납 요청 알림
         notificationService.notifyAllAdmins(
                 "RETURN_REQUESTED",
                 "반납 요청",
-                loan.getMember().getName() + "님이 '" + loan.getBook().getTitle() + "' 도서 반납을 요청했습니다.");
-        return saved;
+                memberName + "님이 '" + loan.getBook().getTitle() + "' 도서 반납을 요청했습니다.");
+        return loan;
     }
 
     // 관리자 → 반납 확인
     @Transactional
     public Loan confirmReturn(Long loanId) {
-        Loan loan = findById(loanId);
-        loan.setStatus("RETURNED");
-        loan.setReturnedDate(LocalDate.now());
-        Loan saved = loanRepository.save(loan);
+        Loan loan = markReturned(lockForTransition(loanId, RETURNABLE));
+        searchResultCache.invalidate();
+        promoteNextHolds(List.of(loan.getBook()));
 
         // 알림: 사용자에게 반납 확인 알림
         notificationService.notifyUser(
@@ -174,59 +395,366 @@ public class LoanService {
                 "RETURN_CONFIRMED",
                 "반납 확인",
                 "'" + loan.getBook().getTitle() + "' 도서 반납이 확인되었습니다.");
-        return saved;
+        return loan;
     }
 
-    // 관리자 직접 대출 (기존 방식 유지)
+    // --- 일괄 처리 (관리자 대출 목록에서 여러 건 선택) ---
+    // 선택한 기록 전체를 트랜잭션 하나로 처리: 행 잠금 조회 1번 + UPDATE/DELETE 1번 + 알림 INSERT 배치 1번
+    // 상태가 맞지 않거나 없는 기록은 건너뛰고 결과 보고에 사유를 남김
+
+    // 관리자 → 일괄 승인 (승인 대기 건만)
     @Transactional
-    public Loan borrow(Book book, Member member) {
-        if (isBookBorrowed(book.getId())) {
-            throw new RuntimeException("이미 대출 중인 도서입니다: " + book.getTitle());
+    public BulkResult approveAll(List<Long> loanIds) {
+        BulkResult result = new BulkResult("승인");
+        List<Loan> targets = lockTargets(loanIds, LoanStatus.REQUESTED, result);
+        if (targets.isEmpty()) return result;
+
+        LocalDate today = LocalDate.now();
+        LocalDate dueDate = today.plusDays(14);
+        loanRepository.approveAllByIdIn(idsOf(targets), today, dueDate);
+        statusCounters.changed(LoanStatus.REQUESTED, LoanStatus.APPROVED, targets.size());
+        eventLog.appendAll(LoanEventType.APPROVED, targets);
+
+        List<Notification> notifications = new ArrayList<>();
+        for (Loan loan : targets) {
+            Book book = loan.getBook();
+            bookSearchIndex.recordBorrow(book.getId());
+            popularBooks.recordBorrow(book.getId());
+            borrowedTogether.recordBorrow(loan.getMember().getId(), book.getId());
+            notifications.add(notificationService.userNotification(
+                    loan.getMember().getId(),
+                    "LOAN_APPROVED",
+                    "대출 승인",
+                    "'" + book.getTitle() + "' 도서 대출이 승인되었습니다. 반납기한: " + dueDate));
+            result.succeeded(loan.getId(), "'" + book.getTitle() + "' 승인 (반납기한: " + dueDate + ")");
         }
+        notificationService.notifyUsers(notifications);
+        searchResultCache.invalidate();
+        return result;
+    }
 
-        Loan loan = new Loan();
-        loan.setBook(book);
-        loan.setMember(member);
-        loan.setBorrowDate(LocalDate.now());
-        loan.setReturnDueDate(LocalDate.now().plusDays(14));
-        loan.setStatus("APPROVED");
-        loan.setCreatedAt(LocalDateTime.now());
-        return loanRepository.save(loan);
+    // 관리자 → 일괄 거절 (승인 대기 건만, 삭제)
+    @Transactional
+    public BulkResult rejectAll(List<Long> loanIds) {
+        BulkResult result = new BulkResult("거절");
+        List<Loan> targets = lockTargets(loanIds, LoanStatus.REQUESTED, result);
+        if (targets.isEmpty()) return result;
+
+        List<Notification> notifications = new ArrayList<>();
+        for (Loan loan : targets) {
+            Book book = loan.getBook();
+            notifications.add(notificationService.userNotification(
+                    loan.getMember().getId(),
+                    "LOAN_REJECTED",
+                    "대출 거절",
+                    "'" + book.getTitle() + "' 도서 대출 신청이 거절되었습니다."));
+            result.succeeded(loan.getId(), "'" + book.getTitle() + "' 거절");
+        }
+        loanRepository.deleteAllByIdInBatch(idsOf(targets));
+        statusCounters.deleted(LoanStatus.REQUESTED, targets.size());
+        eventLog.appendAll(LoanEventType.REJECTED, targets);
+        release(targets);
+        notificationService.notifyUsers(notifications);
+        searchResultCache.invalidate();
+        promoteNextHolds(booksOf(targets));
+        return result;
+    }
+
+    // 관리자 → 일괄 반납 확인 (반납 대기 건만)
+    @Transactional
+    public BulkResult confirmReturnAll(List<Long> loanIds) {
+        BulkResult result = new BulkResult("반납 확인");
+        List<Loan> targets = lockTargets(loanIds, LoanStatus.RETURN_REQUESTED, result);
+        if (targets.isEmpty()) return result;
+
+        loanRepository.confirmReturnAllByIdIn(idsOf(targets), LocalDate.now());
+        statusCounters.changed(LoanStatus.RETURN_REQUESTED, LoanStatus.RETURNED, targets.size());
+        eventLog.appendAll(LoanEventType.RETURNED, targets);
+        release(targets);
+
+        List<Notification> notifications = new ArrayList<>();
+        for (Loan loan : targets) {
+            Book book = loan.getBook();
+            notifications.add(notificationService.userNotification(
+                    loan.getMember().getId(),
+                    "RETURN_CONFIRMED",
+                    "반납 확인",
+                    "'" + book.getTitle() + "' 도서 반납이 확인되었습니다."));
+            result.succeeded(loan.getId(), "'" + book.getTitle() + "' 반납 확인");
+        }
+        notificationService.notifyUsers(notifications);
+        searchResultCache.invalidate();
+        promoteNextHolds(booksOf(targets));
+        return result;
+    }
+
+    // 단건 처리 대상을 잠그고 상태 확인 (두 번 누르거나 동시에 처리해도 상태 변경/재고 반납은 한 번만)
+    private Loan lockForTransition(Long loanId, Set<LoanStatus> allowed) {
+        Loan loan = lockLoan(loanId);
+        checkStatus(loan, allowed);
+        return loan;
+    }
+
+    // 단건 행 잠금 조회 (도서 함께)
+    private Loan lockLoan(Long loanId) {
+        List<Loan> found = loanRepository.findByIdIn(List.of(loanId));
+        if (found.isEmpty()) {
+            throw new RuntimeException("대출 기록을 찾을 수 없습니다. ID: " + loanId);
+        }
+        return found.get(0);
+    }
+
+    private static void checkStatus(Loan loan, Set<LoanStatus> allowed) {
+        if (!allowed.contains(loan.getStatus())) {
+            throw new RuntimeException("'" + loan.getBook().getTitle() + "' 처리할 수 없는 상태입니다. (현재: "
+                    + loan.getStatus() + ")");
+        }
+    }
+
+    // 일괄 처리 대상을 잠그고 상태 확인 (없거나 상태가 다른 기록은 실패로 기록하고 제외)
+    private List<Loan> lockTargets(List<Long> loanIds, LoanStatus expected, BulkResult result) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Long id : loanIds) {
+            if (id != null) ids.add(id);
+        }
+        if (ids.size() > MAX_BULK) {
+            throw new RuntimeException("일괄 처리는 한 번에 최대 " + MAX_BULK + "건까지 가능합니다.");
+        }
+        List<Loan> targets = new ArrayList<>();
+        if (ids.isEmpty()) return targets;
+
+        Map<Long, Loan> found = new HashMap<>();
+        for (Loan loan : loanRepository.findByIdIn(ids)) {
+            found.put(loan.getId(), loan);
+        }
+        for (Long id : ids) {
+            Loan loan = found.get(id);
+            if (loan == null) {
+                result.failed(id, "대출 기록을 찾을 수 없습니다.");
+            } else if (loan.getStatus() != expected) {
+                result.failed(id, "'" + loan.getBook().getTitle() + "' 처리할 수 없는 상태입니다. (현재: "
+                        + loan.getStatus() + ")");
+            } else {
+                targets.add(loan);
+            }
+        }
+        return targets;
+    }
+
+    // 반납 완료로 변경 (상태가 맞을 때만 UPDATE) → 실제로 바뀐 경우에만 상태 카운터/이벤트/소장본/대출 권수 반영
+    private Loan markReturned(Loan loan) {
+        LoanStatus previous = loan.getStatus();
+        LocalDate today = LocalDate.now();
+        if (loanRepository.returnById(loan.getId(), RETURNABLE, today) != 1) {
+            throw new RuntimeException("'" + loan.getBook().getTitle() + "' 이미 반납 처리된 대출입니다.");
+        }
+        loan.setStatus(LoanStatus.RETURNED);
+        loan.setReturnedDate(today);
+        statusCounters.changed(previous, LoanStatus.RETURNED);
+        eventLog.append(LoanEventType.RETURNED, loan);
+        release(List.of(loan));
+        return loan;
+    }
+
+    // 반납/거절된 대출 정리: 소장본 되돌리기 + 회원별 대출 중 권수 감소 (같은 감소량끼리 UPDATE 한 번)
+    // 행 잠금 순서는 대출(reserve)과 같게 도서 → 소장본 → 회원
+    private void release(List<Loan> loans) {
+        inventoryService.releaseAll(loans);
+        Map<Long, Integer> countsByMember = new HashMap<>();
+        for (Loan loan : loans) {
+            countsByMember.merge(loan.getMember().getId(), 1, Integer::sum);
+        }
+        Map<Integer, List<Long>> membersByCount = new HashMap<>();
+        countsByMember.forEach((memberId, count) ->
+                membersByCount.computeIfAbsent(count, c -> new ArrayList<>()).add(memberId));
+        membersByCount.forEach((count, memberIds) -> memberRepository.releaseLoanSlots(memberIds, count));
+    }
+
+    private static List<Book> booksOf(List<Loan> loans) {
+        List<Book> books = new ArrayList<>(loans.size());
+        for (Loan loan : loans) {
+            books.add(loan.getBook());
+        }
+        return books;
+    }
+
+    private static List<Long> idsOf(List<Loan> loans) {
+        List<Long> ids = new ArrayList<>(loans.size());
+        for (Loan loan : loans) {
+            ids.add(loan.getId());
+        }
+        return ids;
+    }
+
+    // 반납/거절로 비게 된 도서마다 예약 대기 1순위를 대출 신청(승인 대기)으로 승격 + 알림
+    // 도서마다 (book_id, position) 인덱스의 맨 앞 한 건만 잠그고 삭제 → 대기열이 길어도 반납 한 건당 비용은 같음
+    // 여러 도서(일괄 처리)도 대기열 맨 앞 조회 1번, 예약 삭제 1번, 알림 배치 1번
+    // 반납된 소장본을 그대로 배정 (대출 가능 권수 차감에 실패하면 승격하지 않고 대기열에 남김)
+    // 예약자가 대출 한도에 도달해 있거나 같은 도서를 이미 대출(신청) 중이면 다음 예약자에게 넘김
+    // (건너뛴 예약은 순서 그대로 남아 다음 반납 때 다시 확인)
+    // 반납과 같은 트랜잭션에서 실행되므로 반납이 롤백되면 승격도 함께 취소됨
+    private void promoteNextHolds(List<Book> books) {
+        Map<Long, Book> booksById = new HashMap<>();
+        for (Book book : books) {
+            booksById.put(book.getId(), book);
+        }
+        List<Hold> heads = holdRepository.findQueueHeads(booksById.keySet());
+        if (heads.isEmpty()) return;
+
+        List<Hold> promoted = new ArrayList<>();
+        List<Loan> created = new ArrayList<>();
+        List<Notification> notifications = new ArrayList<>();
+        for (Hold head : heads) {
+            Book book = booksById.get(head.getBook().getId());
+            Hold hold = takeSlotForNextHold(head);
+            if (hold == null) continue;
+            Member member = hold.getMember();
+            BookCopy copy = inventoryService.allocate(book.getId());
+            if (copy == null) {
+                memberRepository.releaseLoanSlots(List.of(member.getId()), 1);
+                continue;
+            }
+            promoted.add(hold);
+            Loan loan = new Loan();
+            loan.setBook(book);
+            loan.setCopy(copy);
+            loan.setMember(member);
+            loan.setBorrowDate(LocalDate.now());
+            loan.setReturnDueDate(LocalDate.now().plusDays(14));
+            loan.setStatus(LoanStatus.REQUESTED);
+            loan.setCreatedAt(LocalDateTime.now());
+            created.add(loanRepository.save(loan));
+            notifications.add(notificationService.userNotification(
+                    member.getId(),
+                    "HOLD_READY",
+                    "예약 도서 대출 신청",
+                    "예약하신 '" + book.getTitle() + "' 도서가 반납되어 대출 신청되었습니다. 관리자 승인을 기다려주세요."));
+        }
+        if (promoted.isEmpty()) return;
+        holdRepository.deleteAllInBatch(promoted);
+        statusCounters.created(LoanStatus.REQUESTED, promoted.size());
+        eventLog.appendAll(LoanEventType.REQUESTED, created);
+        notificationService.notifyUsers(notifications);
+
+        // 알림: 관리자에게 새 대출 신청 (여러 건이면 요약 한 건)
+        Hold first = promoted.get(0);
+        String message = promoted.size() == 1
+                ? first.getMember().getName() + "님의 '" + booksById.get(first.getBook().getId()).getTitle()
+                        + "' 도서 예약이 대출 신청으로 전환되었습니다."
+                : "예약 " + promoted.size() + "건이 반납된 도서의 대출 신청으로 전환되었습니다.";
+        notificationService.notifyAllAdmins("LOAN_REQUESTED", "새 대출 신청 (예약)", message);
+    }
+
+    // 대기열 맨 앞부터 승격할 수 있는 예약자를 찾아 대출 중 권수 1 확보 (찾은 예약 반환)
+    // 맨 앞 예약자를 건너뛰면 그 뒤 최대 MAX_HOLD_SKIPS건을 한 번에 조회해서 차례로 확인
+    // 모두 건너뛰면 null → 소장본은 대출 가능으로 남아 누구나 신청 가능
+    private Hold takeSlotForNextHold(Hold head) {
+        if (takeSlotFor(head)) {
+            return head;
+        }
+        for (Hold hold : holdRepository.findQueueAfter(head.getBook().getId(), head.getPosition(),
+                PageRequest.of(0, MAX_HOLD_SKIPS))) {
+            if (takeSlotFor(hold)) {
+                return hold;
+            }
+        }
+        return null;
+    }
+
+    // 같은 도서를 이미 대출(신청) 중인 예약자는 건너뜀 (requestLoan과 같이 한 사람당 한 권)
+    // 예: 예약 후 관리자 직접 대출로 다른 소장본을 받은 경우
+    private boolean takeSlotFor(Hold hold) {
+        Long memberId = hold.getMember().getId();
+        return !isBorrowedBy(hold.getBook().getId(), memberId)
+                && memberRepository.takeLoanSlot(memberId, maxActiveLoans) == 1;
+    }
+
+    // 관리자 직접 대출 (기존 방식 유지, 동시 요청 처리는 requestLoan과 동일)
+    public Loan borrow(Book book, Member member) {
+        return reserve(book, member, copy -> {
+            Loan loan = new Loan();
+            loan.setBook(book);
+            loan.setCopy(copy);
+            loan.setMember(member);
+            loan.setBorrowDate(LocalDate.now());
+            loan.setReturnDueDate(LocalDate.now().plusDays(14));
+            loan.setStatus(LoanStatus.APPROVED);
+            loan.setCreatedAt(LocalDateTime.now());
+            Loan saved = loanRepository.save(loan);
+            statusCounters.created(LoanStatus.APPROVED);
+            eventLog.append(LoanEventType.APPROVED, saved);
+            bookSearchIndex.recordBorrow(book.getId());
+            popularBooks.recordBorrow(book.getId());
+            borrowedTogether.recordBorrow(member.getId(), book.getId());
+            searchResultCache.invalidate();
+            return saved;
+        });
     }
 
     // 관리자 직접 반납 (기존 방식 유지)
     @Transactional
     public Loan returnBook(Long loanId) {
-        Loan loan = findById(loanId);
-        loan.setReturnedDate(LocalDate.now());
-        loan.setStatus("RETURNED");
-        return loanRepository.save(loan);
+        Loan saved = markReturned(lockForTransition(loanId, RETURNABLE));
+        searchResultCache.invalidate();
+        promoteNextHolds(List.of(saved.getBook()));
+        return saved;
     }
 
-    // 특정 회원의 현재 대출 건수
+    // 특정 회원의 현재 대출 건수 (회원의 대출 중 권수 컬럼만 조회)
     public long countActiveLoansByMember(Long memberId) {
-        return loanRepository.findByMemberIdAndReturnedDateIsNull(memberId).size();
+        Integer count = memberRepository.findActiveLoanCount(memberId);
+        return count == null ? 0 : count;
+    }
+
+    public int getMaxActiveLoans() {
+        return maxActiveLoans;
     }
 
-    // 특정 회원의 대출 기록 (전체)
+    // 특정 회원의 대출 기록 (전체, 보관된 기록 포함 최신순)
     public List<Loan> findByMemberId(Long memberId) {
-        return loanRepository.findByMemberIdOrderByCreatedAtDesc(memberId);
+        return withArchived(loanRepository.findByMemberIdOrderByCreatedAtDesc(memberId),
+                loanArchiveRepository.findByMemberIdOrderByCreatedAtDesc(memberId));
     }
 
-    // 특정 도서의 전체 대출 이력 (최신순)
+    // 특정 도서의 전체 대출 이력 (보관된 기록 포함 최신순)
     public List<Loan> findByBookId(Long bookId) {
-        return loanRepository.findByBookIdOrderByCreatedAtDesc(bookId);
+        return withArchived(loanRepository.findByBookIdOrderByCreatedAtDesc(bookId),
+                loanArchiveRepository.findByBookIdOrderByCreatedAtDesc(bookId));
+    }
+
+    // loan + loan_archive 기록을 생성일시 최신순으로 합침 (보관 기록은 저장되지 않는 Loan 객체로 변환)
+    private static List<Loan> withArchived(List<Loan> loans, List<LoanArchive> archived) {
+        if (archived.isEmpty()) return loans;
+        List<Loan> merged = new ArrayList<>(loans.size() + archived.size());
+        merged.addAll(loans);
+        for (LoanArchive archive : archived) {
+            merged.add(archive.toLoan());
+        }
+        merged.sort(Comparator.comparing(Loan::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())));
+        return merged;
     }
 
-    // 특정 회원의 대출 기록 전체 삭제 (회원 삭제 시 사용)
+    // 특정 회원의 대출 기록(보관 포함)/예약 전체 삭제 (회원 삭제 시 사용, 대출 중이던 소장본은 되돌림)
     @Transactional
     public void deleteByMemberId(Long memberId) {
+        inventoryService.releaseAll(loanRepository.findByMemberIdAndReturnedDateIsNull(memberId));
+        holdRepository.deleteByMemberId(memberId);
         loanRepository.deleteByMemberId(memberId);
+        loanArchiveRepository.deleteByMemberId(memberId);
+        borrowedBookIndex.rebuildAfterCommit();
+        borrowedTogether.removeMember(memberId);
+        statusCounters.reloadAfterCommit();
+        searchResultCache.invalidate();
     }
 
-    // 특정 도서의 대출 기록 전체 삭제 (도서 삭제 시 사용)
+    // 특정 도서의 대출 기록(보관 포함)/예약 전체 삭제 (도서 삭제 시 사용)
     @Transactional
     public void deleteByBookId(Long bookId) {
+        holdRepository.deleteByBookId(bookId);
         loanRepository.deleteByBookId(bookId);
+        loanArchiveRepository.deleteByBookId(bookId);
+        statusCounters.reloadAfterCommit();
+        borrowedBookIndex.refresh(bookId);
+        searchResultCache.invalidate();
     }
 }
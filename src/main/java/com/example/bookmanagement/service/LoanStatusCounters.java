@@ -0,0 +1,137 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 대출 상태별 건수 (대시보드/대출 목록 뱃지용)
+// 시작 시 GROUP BY 한 번으로 채우고, 이후에는 LoanService의 상태 변경이 커밋될 때마다 증감
+// → 화면을 열 때마다 COUNT 쿼리를 실행하지 않음
+// 다시 읽는 동안 커밋된 증감이 있으면 읽은 값을 버리고 다시 읽음 (증감 횟수 version 비교)
+// 커밋 직후~증감 반영 사이에 읽힌 건은 두 번 셀 수 있으므로 주기적으로(loan.status.reconcile-cron) DB 기준으로 맞춤
+@Component
+public class LoanStatusCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(LoanStatusCounters.class);
+
+    // 다시 읽는 도중 증감이 끼어들었을 때 다시 시도하는 횟수
+    private static final int RELOAD_ATTEMPTS = 3;
+
+    private final LoanRepository loanRepository;
+    private final Map<LoanStatus, AtomicLong> counts = new EnumMap<>(LoanStatus.class);
+    private volatile boolean ready = false;
+    // 커밋 후 반영된 증감 횟수 (증감 반영과 다시 읽은 값 교체는 this로 동기화)
+    private long version = 0;
+
+    public LoanStatusCounters(LoanRepository loanRepository) {
+        this.loanRepository = loanRepository;
+        for (LoanStatus status : LoanStatus.values()) {
+            counts.put(status, new AtomicLong());
+        }
+    }
+
+    // DataInitializer의 샘플 대출까지 반영되도록 준비 완료 이벤트에서 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        reload();
+        log.info("대출 상태별 건수 로드: {}", counts);
+    }
+
+    @Scheduled(cron = "${loan.status.reconcile-cron:0 10 * * * *}")
+    public void reconcile() {
+        reload();
+    }
+
+    // 로드 전(앱 기동 직후)에는 DB COUNT
+    public long count(LoanStatus status) {
+        if (!ready) {
+            return loanRepository.countByStatus(status);
+        }
+        return counts.get(status).get();
+    }
+
+    // 새 대출 기록 (커밋 후 반영)
+    public void created(LoanStatus status) {
+        created(status, 1);
+    }
+
+    // 같은 상태의 새 대출 기록 여러 건 (예약 일괄 승격, 커밋 후 반영)
+    public void created(LoanStatus status, long count) {
+        if (count == 0) return;
+        AfterCommit.run(() -> apply(status, count));
+    }
+
+    // 상태 변경 (커밋 후 반영)
+    public void changed(LoanStatus from, LoanStatus to) {
+        changed(from, to, 1);
+    }
+
+    // 여러 건의 같은 상태 변경 (일괄 처리, 커밋 후 반영)
+    public void changed(LoanStatus from, LoanStatus to, long count) {
+        if (from == to || count == 0) return;
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                counts.get(from).addAndGet(-count);
+                counts.get(to).addAndGet(count);
+                version++;
+            }
+        });
+    }
+
+    // 대출 기록 삭제 (커밋 후 반영)
+    public void deleted(LoanStatus status) {
+        deleted(status, 1);
+    }
+
+    // 같은 상태의 대출 기록 여러 건 삭제 (일괄 거절/보관 테이블로 이동, 커밋 후 반영)
+    public void deleted(LoanStatus status, long count) {
+        if (count == 0) return;
+        AfterCommit.run(() -> apply(status, -count));
+    }
+
+    private synchronized void apply(LoanStatus status, long delta) {
+        counts.get(status).addAndGet(delta);
+        version++;
+    }
+
+    // 여러 건이 한꺼번에 삭제된 경우 (회원/도서 삭제) → 커밋 후 DB 기준으로 다시 계산
+    public void reloadAfterCommit() {
+        AfterCommit.run(this::reload);
+    }
+
+    // GROUP BY로 다시 읽고, 읽는 동안 증감이 없었을 때만 교체
+    // (읽기 전 증감은 DB 값에 이미 들어 있으므로 그 사이 증감까지 덮어쓰거나 두 번 세지 않도록)
+    // 계속 끼어들면 현재 값을 유지하고 다음 재계산에 맡김 (처음 로드는 그대로 교체)
+    private void reload() {
+        for (int attempt = 1; attempt <= RELOAD_ATTEMPTS; attempt++) {
+            long before;
+            synchronized (this) {
+                before = version;
+            }
+            Map<LoanStatus, Long> loaded = new EnumMap<>(LoanStatus.class);
+            for (Object[] row : loanRepository.countGroupByStatus()) {
+                if (row[0] != null) {
+                    loaded.put((LoanStatus) row[0], (Long) row[1]);
+                }
+            }
+            synchronized (this) {
+                if (version == before || (!ready && attempt == RELOAD_ATTEMPTS)) {
+                    for (LoanStatus status : LoanStatus.values()) {
+                        counts.get(status).set(loaded.getOrDefault(status, 0L));
+                    }
+                    ready = true;
+                    return;
+                }
+            }
+        }
+        log.warn("대출 상태별 건수 재계산 중 변경이 계속되어 현재 값 유지 (다음 재계산에서 맞춤)");
+    }
+}
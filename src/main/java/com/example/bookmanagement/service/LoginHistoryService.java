@@ -2,6 +2,8 @@ package com.example.bookmanagement.service;
 
 import com.example.bookmanagement.entity.LoginHistory;
 import com.example.bookmanagement.repository.LoginHistoryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -32,6 +34,16 @@ public class LoginHistoryService {
         return loginHistoryRepository.findAllByOrderByLoginTimeDesc();
     }
 
+    // 로그인 이력 한 페이지 (최신순 = ID 내림차순, after: 다음 페이지 커서, before: 이전 페이지 커서)
+    public KeysetPage<LoginHistory> findPage(Long after, Long before, int size) {
+        if (before != null) {
+            return KeysetPage.backward(loginHistoryRepository.findByIdGreaterThan(before,
+                    PageRequest.of(0, size, Sort.by("id").ascending())), LoginHistory::getId);
+        }
+        return KeysetPage.forward(loginHistoryRepository.findByIdLessThan(after != null ? after : Long.MAX_VALUE,
+                PageRequest.of(0, size, Sort.by("id").descending())), after != null, LoginHistory::getId);
+    }
+
     // 특정 사용자의 로그인 이력
     public List<LoginHistory> findByUsername(String username) {
         return loginHistoryRepository.findByUsernameOrderByLoginTimeDesc(username);
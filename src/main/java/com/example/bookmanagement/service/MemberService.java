@@ -2,25 +2,44 @@ package com.example.bookmanagement.service;
 
 import com.example.bookmanagement.entity.Member;
 import com.example.bookmanagement.repository.MemberRepository;
+import com.example.bookmanagement.repository.MemberSpecifications;
+import com.example.bookmanagement.search.MemberSearchIndex;
+import com.example.bookmanagement.search.MemberSuggestion;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 // 회원 관련 비즈니스 로직 담당
 @Service
 public class MemberService {
 
     private final MemberRepository memberRepository;
+    private final MemberSearchIndex memberSearchIndex;
 
-    public MemberService(MemberRepository memberRepository) {
+    public MemberService(MemberRepository memberRepository, MemberSearchIndex memberSearchIndex) {
         this.memberRepository = memberRepository;
+        this.memberSearchIndex = memberSearchIndex;
     }
 
     public List<Member> findAll() {
         return memberRepository.findAll();
     }
 
+    // 회원 목록 한 페이지 (번호 페이징, 정렬은 호출 측 Pageable)
+    public Page<Member> findPage(Pageable pageable) {
+        return memberRepository.findAll(pageable);
+    }
+
     public Member findById(Long id) {
         return memberRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("회원을 찾을 수 없습니다. ID: " + id));
@@ -38,7 +57,9 @@ public class MemberService {
 
     public Member save(Member member) {
         member.setCreatedAt(LocalDateTime.now());
-        return memberRepository.save(member);
+        Member saved = memberRepository.save(member);
+        memberSearchIndex.add(saved);
+        return saved;
     }
 
     @Transactional
@@ -46,29 +67,66 @@ public class MemberService {
         Member member = findById(id);
         member.setName(updatedMember.getName());
         member.setPhone(updatedMember.getPhone());
-        return memberRepository.save(member);
+        Member saved = memberRepository.save(member);
+        memberSearchIndex.add(saved);
+        return saved;
     }
 
     public void delete(Long id) {
         memberRepository.deleteById(id);
+        memberSearchIndex.remove(id);
     }
 
-    // 검색 기능
+    // 검색 결과 한 페이지
+    // 메모리 색인(이름 n-gram + 전화번호 뒷자리)으로 ID를 찾고 해당 구간의 회원만 조회
+    // 색인 생성 전에는 조건 쿼리 + COUNT 쿼리
+    public Page<Member> search(String type, String keyword, Pageable pageable) {
+        if (!memberSearchIndex.isReady()) {
+            return memberRepository.findAll(MemberSpecifications.keyword(type, keyword), pageable);
+        }
+        List<Long> ids = new ArrayList<>(memberSearchIndex.search(type, keyword));
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        return new PageImpl<>(findAllByIds(ids.subList(from, to)), pageable, ids.size());
+    }
+
+    // 검색 기능 (색인 생성 전에는 이름/전화번호 OR 조건 한 번의 쿼리)
     public List<Member> search(String type, String keyword) {
         if (keyword == null || keyword.trim().isEmpty()) {
             return findAll();
         }
-        switch (type) {
-            case "name":
-                return memberRepository.findByNameContainingIgnoreCase(keyword);
-            case "phone":
-                return memberRepository.findByPhoneContaining(keyword);
-            default:
-                List<Member> result = memberRepository.findByNameContainingIgnoreCase(keyword);
-                for (Member m : memberRepository.findByPhoneContaining(keyword)) {
-                    if (!result.contains(m)) result.add(m);
-                }
-                return result;
+        if (memberSearchIndex.isReady()) {
+            return findAllByIds(memberSearchIndex.search(type, keyword));
+        }
+        return memberRepository.findAll(MemberSpecifications.keyword(type, keyword), Sort.by("id"));
+    }
+
+    // 대출 데스크 회원 조회 (이름 일부 또는 전화번호 뒷자리, 최대 limit명)
+    public List<MemberSuggestion> lookup(String keyword, int limit) {
+        List<MemberSuggestion> result = new ArrayList<>();
+        if (keyword == null || keyword.isBlank()) {
+            return result;
+        }
+        for (Member m : search("all", keyword.trim(), PageRequest.of(0, limit, Sort.by("id"))).getContent()) {
+            result.add(new MemberSuggestion(m.getId(), m.getName(), m.getPhone()));
+        }
+        return result;
+    }
+
+    // ID 목록 순서를 유지하면서 회원 조회 (한 번의 IN 쿼리)
+    private List<Member> findAllByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, Member> byId = new HashMap<>();
+        for (Member member : memberRepository.findAllById(ids)) {
+            byId.put(member.getId(), member);
+        }
+        List<Member> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Member member = byId.get(id);
+            if (member != null) result.add(member);
         }
+        return result;
     }
 }
@@ -3,8 +3,10 @@ package com.example.bookmanagement.service;
 import com.example.bookmanagement.entity.Notification;
 import com.example.bookmanagement.repository.AdminRepository;
 import com.example.bookmanagement.repository.NotificationRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -14,17 +16,49 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final AdminRepository adminRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               AdminRepository adminRepository) {
+                               AdminRepository adminRepository,
+                               JdbcTemplate jdbcTemplate) {
         this.notificationRepository = notificationRepository;
         this.adminRepository = adminRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     // 알림 생성
     @Transactional
     public Notification createNotification(String recipientType, Long recipientId,
                                             String type, String title, String message) {
+        return notificationRepository.save(newNotification(recipientType, recipientId, type, title, message));
+    }
+
+    // 저장 전 사용자 알림 (일괄 전송용, notifyUsers로 한 번에 저장)
+    public Notification userNotification(Long memberId, String type, String title, String message) {
+        return newNotification("USER", memberId, type, title, message);
+    }
+
+    // 여러 알림을 INSERT 배치 한 번으로 저장 (대출 일괄 처리)
+    // ID가 IDENTITY라 JPA saveAll은 한 건씩 INSERT하므로 JDBC 배치로 직접 저장
+    @Transactional
+    public void notifyUsers(List<Notification> notifications) {
+        if (notifications.isEmpty()) return;
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO notification (recipient_type, recipient_id, type, title, message, is_read, created_at) "
+                        + "VALUES (?, ?, ?, ?, ?, ?, ?)",
+                notifications, notifications.size(), (ps, n) -> {
+                    ps.setString(1, n.getRecipientType());
+                    ps.setLong(2, n.getRecipientId());
+                    ps.setString(3, n.getType());
+                    ps.setString(4, n.getTitle());
+                    ps.setString(5, n.getMessage());
+                    ps.setBoolean(6, n.isRead());
+                    ps.setTimestamp(7, Timestamp.valueOf(n.getCreatedAt()));
+                });
+    }
+
+    private Notification newNotification(String recipientType, Long recipientId,
+                                          String type, String title, String message) {
         Notification notification = new Notification();
         notification.setRecipientType(recipientType);
         notification.setRecipientId(recipientId);
@@ -33,7 +67,7 @@ public class NotificationService {
         notification.setMessage(message);
         notification.setRead(false);
         notification.setCreatedAt(LocalDateTime.now());
-        return notificationRepository.save(notification);
+        return notification;
     }
 
     // 모든 관리자에게 알림 전송
@@ -0,0 +1,106 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.Notification;
+import com.example.bookmanagement.repository.LoanRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 연체 처리: 반납기한이 지난 대출 중 기록에 overdue 표시 + 연체 알림
+// 매일 자정 직후(+ 서버 시작 시 밀린 것) 실행, idx_loan_overdue_due 인덱스로 새로 연체된 건만 조회
+// BATCH_SIZE건씩 트랜잭션을 나눠서 처리 (UPDATE 한 번 + 알림 INSERT 배치 한 번)
+@Component
+public class OverdueSweeper {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueSweeper.class);
+
+    private static final int BATCH_SIZE = 200;
+
+    private final LoanRepository loanRepository;
+    private final NotificationService notificationService;
+    private final TransactionTemplate transactionTemplate;
+    // 시작 시 실행과 예약 실행이 겹치지 않도록
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public OverdueSweeper(LoanRepository loanRepository, NotificationService notificationService,
+                          PlatformTransactionManager transactionManager) {
+        this.loanRepository = loanRepository;
+        this.notificationService = notificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // 서버가 꺼져 있던 동안 연체된 건 처리
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    @Scheduled(cron = "${loan.overdue.sweep-cron:0 5 0 * * *}")
+    public void sweepDaily() {
+        sweep();
+    }
+
+    // 새로 연체 표시한 건수 반환 (이미 실행 중이면 0)
+    public int sweep() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDate today = LocalDate.now();
+            int total = 0;
+            long lastId = 0;
+            while (true) {
+                long afterId = lastId;
+                List<Loan> batch = transactionTemplate.execute(status -> markOverdue(today, afterId));
+                if (batch == null || batch.isEmpty()) break;
+                total += batch.size();
+                lastId = batch.get(batch.size() - 1).getId();
+                if (batch.size() < BATCH_SIZE) break;
+            }
+            if (total > 0) {
+                notificationService.notifyAllAdmins(
+                        "LOAN_OVERDUE",
+                        "연체 발생",
+                        total + "건의 대출이 반납기한을 넘겨 연체되었습니다.");
+                log.info("연체 처리: {}건 ({}ms)", total, System.currentTimeMillis() - start);
+            }
+            return total;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 한 배치: 대상 조회(행 잠금) + 연체 표시 UPDATE + 대출자 알림 배치 INSERT
+    // 잠근 상태로 처리하므로 그 사이 반납 확인된 건이 섞이지 않음
+    private List<Loan> markOverdue(LocalDate today, long afterId) {
+        List<Loan> batch = loanRepository.findNewlyOverdue(today, afterId, PageRequest.of(0, BATCH_SIZE));
+        if (batch.isEmpty()) return batch;
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        List<Notification> notifications = new ArrayList<>(batch.size());
+        for (Loan loan : batch) {
+            ids.add(loan.getId());
+            notifications.add(notificationService.userNotification(
+                    loan.getMember().getId(),
+                    "LOAN_OVERDUE",
+                    "연체 안내",
+                    "'" + loan.getBook().getTitle() + "' 도서의 반납기한(" + loan.getReturnDueDate()
+                            + ")이 지났습니다. 빠른 반납 부탁드립니다."));
+        }
+        loanRepository.markOverdueByIdIn(ids);
+        notificationService.notifyUsers(notifications);
+        return batch;
+    }
+}
@@ -2,6 +2,7 @@ package com.example.bookmanagement.service;
 
 import com.example.bookmanagement.entity.Book;
 import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
 import com.example.bookmanagement.entity.LoginHistory;
 import com.lowagie.text.*;
 import com.lowagie.text.Font;
@@ -224,11 +225,11 @@ public class PdfService {
             table.addCell(returnCell);
 
             String status;
-            if ("RETURNED".equals(loan.getStatus())) status = "반납 완료";
-            else if ("RETURN_REQUESTED".equals(loan.getStatus())) status = "반납 대기";
-            else if ("APPROVED".equals(loan.getStatus())) status = loan.isOverdue() ? "연체" : "대출 중";
-            else if ("REQUESTED".equals(loan.getStatus())) status = "승인 대기";
-            else status = loan.getStatus();
+            if (loan.getStatus() == LoanStatus.RETURNED) status = "반납 완료";
+            else if (loan.getStatus() == LoanStatus.RETURN_REQUESTED) status = "반납 대기";
+            else if (loan.getStatus() == LoanStatus.APPROVED) status = loan.isOverdue() ? "연체" : "대출 중";
+            else if (loan.getStatus() == LoanStatus.REQUESTED) status = "승인 대기";
+            else status = String.valueOf(loan.getStatus());
 
             PdfPCell statusCell = new PdfPCell(new Phrase(status, cellFont));
             statusCell.setHorizontalAlignment(Element.ALIGN_CENTER);
@@ -340,11 +341,11 @@ public class PdfService {
             table.addCell(returnCell);
 
             String status;
-            if ("RETURNED".equals(loan.getStatus())) status = "반납 완료";
-            else if ("RETURN_REQUESTED".equals(loan.getStatus())) status = "반납 대기";
-            else if ("APPROVED".equals(loan.getStatus())) status = loan.isOverdue() ? "연체" : "대출 중";
-            else if ("REQUESTED".equals(loan.getStatus())) status = "승인 대기";
-            else status = loan.getStatus();
+            if (loan.getStatus() == LoanStatus.RETURNED) status = "반납 완료";
+            else if (loan.getStatus() == LoanStatus.RETURN_REQUESTED) status = "반납 대기";
+            else if (loan.getStatus() == LoanStatus.APPROVED) status = loan.isOverdue() ? "연체" : "대출 중";
+            else if (loan.getStatus() == LoanStatus.REQUESTED) status = "승인 대기";
+            else status = String.valueOf(loan.getStatus());
 
             PdfPCell statusCell = new PdfPCell(new Phrase(status, cellFont));
             statusCell.setHorizontalAlignment(Element.ALIGN_CENTER);
@@ -0,0 +1,18 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+
+// 인기 도서 순위 한 줄 (대시보드 표시용)
+public class PopularBook {
+
+    private final Book book;
+    private final long borrowCount;   // 기간 내 대출 횟수 (추정치, 재계산 직후에는 정확한 값)
+
+    public PopularBook(Book book, long borrowCount) {
+        this.book = book;
+        this.borrowCount = borrowCount;
+    }
+
+    public Book getBook() { return book; }
+    public long getBorrowCount() { return borrowCount; }
+}
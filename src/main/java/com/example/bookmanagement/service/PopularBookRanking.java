@@ -0,0 +1,198 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanArchiveRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.search.SpaceSaving;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 인기 도서 순위 (최근 7일 / 최근 30일 / 전체)
+// 대출 승인/직접 대출이 커밋될 때마다 메모리 카운터에 +1 → 화면을 열 때 GROUP BY 쿼리 없음
+// - 기간별: 대출일별 Space-Saving 카운터(CAPACITY개)를 MAX_DAYS일치 보관, 조회 시 해당 일수만 합침
+// - 전체: Space-Saving 카운터 하나
+// 카운터는 근사치이고 도서/회원 삭제, 보관 이동은 반영하지 않으므로
+// 시작 시와 주기적으로(loan.popular.reconcile-cron) DB 집계로 다시 채움
+@Component
+public class PopularBookRanking {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularBookRanking.class);
+
+    // 대시보드에 보여주는 순위 수
+    public static final int TOP_LIMIT = 10;
+    // 구간별 카운터 수 (TOP_LIMIT보다 넉넉하게 → 실제 상위 도서가 밀려나지 않음)
+    private static final int CAPACITY = 100;
+    // 일별 카운터 보관 일수 (가장 긴 기간)
+    private static final int MAX_DAYS = 30;
+
+    public enum Window {
+        WEEK(7, "최근 7일"),
+        MONTH(30, "최근 30일"),
+        ALL(0, "전체");
+
+        private final int days;
+        private final String label;
+
+        Window(int days, String label) {
+            this.days = days;
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final LoanRepository loanRepository;
+    private final LoanArchiveRepository loanArchiveRepository;
+    private final BookRepository bookRepository;
+    // 재계산 시 통째로 교체
+    private volatile NavigableMap<LocalDate, SpaceSaving> daily = new ConcurrentSkipListMap<>();
+    private volatile SpaceSaving allTime = new SpaceSaving(CAPACITY);
+    // 시작 시 실행과 예약 실행이 겹치지 않도록
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public PopularBookRanking(LoanRepository loanRepository, LoanArchiveRepository loanArchiveRepository,
+                              BookRepository bookRepository) {
+        this.loanRepository = loanRepository;
+        this.loanArchiveRepository = loanArchiveRepository;
+        this.bookRepository = bookRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${loan.popular.reconcile-cron:0 0 * * * *}")
+    public void reconcileHourly() {
+        reconcile();
+    }
+
+    // DB 집계로 카운터를 다시 채움: 최근 MAX_DAYS일은 (도서, 대출일) GROUP BY, 전체는 loan + loan_archive 도서별 GROUP BY
+    // 집계 도중 커밋된 대출은 빠질 수 있지만 다음 재계산에서 바로잡힘
+    public void reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            LocalDate since = LocalDate.now().minusDays(MAX_DAYS - 1);
+            Map<LocalDate, Map<Long, Long>> byDate = new HashMap<>();
+            for (Object[] row : loanRepository.countBorrowsGroupByBookIdAndDate(since)) {
+                byDate.computeIfAbsent((LocalDate) row[1], d -> new HashMap<>()).put((Long) row[0], (Long) row[2]);
+            }
+            NavigableMap<LocalDate, SpaceSaving> rebuilt = new ConcurrentSkipListMap<>();
+            byDate.forEach((date, counts) -> {
+                SpaceSaving bucket = new SpaceSaving(CAPACITY);
+                bucket.load(counts);
+                rebuilt.put(date, bucket);
+            });
+
+            Map<Long, Long> totals = new HashMap<>();
+            for (Object[] row : loanRepository.countBorrowsGroupByBookId()) {
+                totals.put((Long) row[0], (Long) row[1]);
+            }
+            for (Object[] row : loanArchiveRepository.countGroupByBookId()) {
+                totals.merge((Long) row[0], (Long) row[1], Long::sum);
+            }
+            SpaceSaving total = new SpaceSaving(CAPACITY);
+            total.load(totals);
+
+            daily = rebuilt;
+            allTime = total;
+            log.info("인기 도서 순위 재계산: 도서 {}권, 최근 {}일 {}일치 ({}ms)", totals.size(), MAX_DAYS, byDate.size(),
+                    System.currentTimeMillis() - start);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // 대출 승인/직접 대출 시 호출 (커밋 후 반영, 롤백되면 그대로)
+    public void recordBorrow(Long bookId) {
+        AfterCommit.run(() -> {
+            LocalDate today = LocalDate.now();
+            NavigableMap<LocalDate, SpaceSaving> buckets = daily;
+            buckets.computeIfAbsent(today, d -> new SpaceSaving(CAPACITY)).add(bookId, 1);
+            buckets.headMap(today.minusDays(MAX_DAYS - 1)).clear();
+            allTime.add(bookId, 1);
+        });
+    }
+
+    // 도서 삭제 시 순위에서 제외 (커밋 후 반영)
+    public void remove(Long bookId) {
+        AfterCommit.run(() -> {
+            for (SpaceSaving bucket : daily.values()) {
+                bucket.remove(bookId);
+            }
+            allTime.remove(bookId);
+        });
+    }
+
+    // 기간 하나의 순위
+    public List<PopularBook> top(Window window, int limit) {
+        return rankings(List.of(window), limit).get(window);
+    }
+
+    // 기간별 순위 전체 (대시보드, 도서 정보는 기본키 IN 조회 한 번)
+    public Map<Window, List<PopularBook>> rankings(int limit) {
+        return rankings(List.of(Window.values()), limit);
+    }
+
+    private Map<Window, List<PopularBook>> rankings(List<Window> windows, int limit) {
+        Map<Window, List<SpaceSaving.Counter>> counters = new EnumMap<>(Window.class);
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Window window : windows) {
+            List<SpaceSaving.Counter> top = counters(window, limit);
+            counters.put(window, top);
+            for (SpaceSaving.Counter c : top) {
+                ids.add(c.getItem());
+            }
+        }
+        Map<Long, Book> books = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Book book : bookRepository.findAllById(ids)) {
+                books.put(book.getId(), book);
+            }
+        }
+        Map<Window, List<PopularBook>> result = new EnumMap<>(Window.class);
+        counters.forEach((window, top) -> {
+            List<PopularBook> ranked = new ArrayList<>(top.size());
+            for (SpaceSaving.Counter c : top) {
+                Book book = books.get(c.getItem());
+                if (book != null) ranked.add(new PopularBook(book, c.getCount()));
+            }
+            result.put(window, ranked);
+        });
+        return result;
+    }
+
+    // 기간 내 일별 카운터를 합쳐서 상위 limit개 (전체는 카운터 하나 그대로)
+    private List<SpaceSaving.Counter> counters(Window window, int limit) {
+        if (window == Window.ALL) {
+            return allTime.top(limit);
+        }
+        Map<Long, long[]> merged = new HashMap<>();
+        LocalDate from = LocalDate.now().minusDays(window.days - 1);
+        for (SpaceSaving bucket : daily.tailMap(from, true).values()) {
+            bucket.addTo(merged);
+        }
+        return SpaceSaving.top(merged, limit);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.bookmanagement.search;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 오타 허용 검색(LevenshteinTrie) 벤치마크
+// 등록 용어 수(1천 / 1만 / 10만)별로 트라이 검색과 전체 비교 방식의 평균 검색 시간을 출력하고,
+// 두 방식의 결과가 같은지 확인
+// 10만 건까지 만들어 오래 걸리므로 기본 빌드에서는 제외 (mvn test -Pbenchmark로 실행)
+@Tag("benchmark")
+class FuzzySearchBenchmarkTest {
+
+    private static final int[] CATALOG_SIZES = {1_000, 10_000, 100_000};
+    private static final int QUERY_COUNT = 300;
+    private static final int MAX_DISTANCE = 2;
+
+    // 무작위 단어를 만들 때 사용하는 글자 (한글 음절 + 영문)
+    private static final String ALPHABET = "자바의정석클린코드스프링부트객체지향리팩터링데이터베이스네트워크abcdefghijklmnopqrstuvwxyz";
+
+    @Test
+    void fuzzySearchLatencyByCatalogSize() {
+        Random random = new Random(42);
+        System.out.println("=== 오타 허용 검색 벤치마크 (허용 거리 " + MAX_DISTANCE + ") ===");
+        System.out.printf("%10s | %12s | %12s%n", "용어 수", "트라이 (μs)", "전체 비교 (μs)");
+
+        for (int size : CATALOG_SIZES) {
+            List<String> terms = new ArrayList<>(size);
+            LevenshteinTrie trie = new LevenshteinTrie();
+            for (int i = 0; i < size; i++) {
+                String term = randomWord(random);
+                terms.add(term);
+                trie.put((long) i, List.of(term));
+            }
+
+            // 실제 단어에 오타 1개를 넣은 검색어
+            List<String> queries = new ArrayList<>(QUERY_COUNT);
+            for (int i = 0; i < QUERY_COUNT; i++) {
+                queries.add(typo(terms.get(random.nextInt(size)), random));
+            }
+
+            // JIT 워밍업
+            for (String query : queries) {
+                trie.search(query, MAX_DISTANCE);
+            }
+
+            long trieNanos = 0;
+            long scanNanos = 0;
+            for (String query : queries) {
+                long start = System.nanoTime();
+                Map<Long, Integer> fromTrie = trie.search(query, MAX_DISTANCE);
+                trieNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                Set<Long> fromScan = new HashSet<>();
+                for (int i = 0; i < size; i++) {
+                    if (distance(query, terms.get(i)) <= MAX_DISTANCE) {
+                        fromScan.add((long) i);
+                    }
+                }
+                scanNanos += System.nanoTime() - start;
+
+                assertEquals(fromScan, fromTrie.keySet());
+                assertTrue(!fromTrie.isEmpty(), "오타 1개짜리 검색어는 원래 단어를 찾아야 함: " + query);
+            }
+
+            System.out.printf("%10d | %12.1f | %12.1f%n", size,
+                    trieNanos / 1000.0 / QUERY_COUNT, scanNanos / 1000.0 / QUERY_COUNT);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        int length = 2 + random.nextInt(9);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return sb.toString();
+    }
+
+    private static String typo(String term, Random random) {
+        int pos = random.nextInt(term.length());
+        char replacement = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        return term.substring(0, pos) + replacement + term.substring(pos + 1);
+    }
+
+    // 비교 기준용 편집 거리 (일반 DP)
+    private static int distance(String a, String b) {
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[b.length()];
+    }
+}
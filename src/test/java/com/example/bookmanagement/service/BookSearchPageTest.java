@@ -0,0 +1,94 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.search.BookFacets;
+import com.example.bookmanagement.search.BookSearchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 전체(정확도순) 검색: 일치하는 도서가 많아도 전체 건수/항목별 건수는 일치 도서 전체 기준이고
+// 정확도순 페이지를 끝까지 넘길 수 있는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class BookSearchPageTest {
+
+    private static final int BOOKS = 130;
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    void countsAndFacetsCoverEveryMatch() {
+        for (int i = 0; i < BOOKS; i++) {
+            bookService.save(new Book("쿼츠파도 " + i, "저자" + (i % 2), "출판사" + (i % 3), "9790" + i));
+        }
+
+        BookSearchResult first = bookService.searchPage("all", "쿼츠파도", "", "", null,
+                PageRequest.of(0, 10), HashSet::new);
+        assertEquals(BOOKS, first.getBooks().getTotalElements());
+        assertEquals(10, first.getBooks().getContent().size());
+
+        BookFacets facets = first.getFacets();
+        assertEquals(BOOKS, facets.getTotal());
+        assertEquals(BOOKS, facets.getAvailable());
+        assertEquals(44, countOf(facets, "출판사0"));
+        assertEquals(65, countOf(facets, "저자1"));
+
+        // 같은 조건은 캐시 적중 → 같은 도서/건수, 도서 엔티티는 요청마다 새로 조회하고 저장된 집합은 변경 불가
+        BookSearchResult again = bookService.searchPage("all", "쿼츠파도", "", "", null,
+                PageRequest.of(0, 10), HashSet::new);
+        assertEquals(ids(first), ids(again));
+        assertEquals(BOOKS, again.getBooks().getTotalElements());
+        assertNotSame(first.getBooks().getContent().get(0), again.getBooks().getContent().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> again.getBorrowedIds().add(1L));
+
+        // 정확도순 100건을 넘는 뒤 페이지도 끊기지 않고, 페이지끼리 겹치지 않음
+        Set<Long> seen = new HashSet<>();
+        for (int page = 0; page * 10 < BOOKS; page++) {
+            BookSearchResult result = bookService.searchPage("all", "쿼츠파도", "", "", null,
+                    PageRequest.of(page, 10), HashSet::new);
+            for (Book book : result.getBooks().getContent()) {
+                assertTrue(seen.add(book.getId()));
+            }
+        }
+        assertEquals(BOOKS, seen.size());
+
+        // 상세 조건을 걸어도 건수는 조건에 맞는 일치 도서 전체
+        BookSearchResult filtered = bookService.searchPage("all", "쿼츠파도", "", "출판사2", null,
+                PageRequest.of(0, 10), HashSet::new);
+        assertEquals(43, filtered.getBooks().getTotalElements());
+        for (Book book : filtered.getBooks().getContent()) {
+            assertEquals("출판사2", book.getPublisher());
+        }
+    }
+
+    private static List<Long> ids(BookSearchResult result) {
+        List<Long> ids = new ArrayList<>();
+        for (Book book : result.getBooks().getContent()) {
+            ids.add(book.getId());
+        }
+        return ids;
+    }
+
+    private static int countOf(BookFacets facets, String value) {
+        for (BookFacets.Count c : facets.getPublishers()) {
+            if (c.getValue().equals(value)) return c.getCount();
+        }
+        for (BookFacets.Count c : facets.getAuthors()) {
+            if (c.getValue().equals(value)) return c.getCount();
+        }
+        return 0;
+    }
+}
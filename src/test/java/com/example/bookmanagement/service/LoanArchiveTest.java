@@ -0,0 +1,104 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanArchiveRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 대출 기록 보관: 오래된 반납 완료 기록만 loan_archive로 옮겨지고,
+// 도서/회원 대출 이력은 두 테이블을 합쳐서 그대로 보이는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanArchiveTest {
+
+    // 묶음 크기(500)를 넘겨서 여러 트랜잭션으로 나뉘는지까지 확인
+    private static final int OLD_LOANS = 1200;
+
+    @Autowired
+    private LoanArchiver loanArchiver;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private LoanStatusCounters statusCounters;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private LoanArchiveRepository loanArchiveRepository;
+
+    @Test
+    void oldReturnedLoansMoveToArchiveButStayInHistory() {
+        String prefix = TestFixtures.prefix("archive");
+        Member member = memberRepository.save(TestFixtures.member("보관회원", prefix + "member"));
+        Book book = bookRepository.save(TestFixtures.book(prefix + "도서", "974"));
+
+        LocalDate cutoff = LocalDate.now().minusDays(365);
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < OLD_LOANS; i++) {
+            loans.add(newLoan(book, member, LoanStatus.RETURNED, cutoff.minusDays(1 + i % 30)));
+        }
+        loanRepository.saveAll(loans);
+        Long recent = loanRepository.save(newLoan(book, member, LoanStatus.RETURNED, LocalDate.now())).getId();
+        Long active = loanRepository.save(newLoan(book, member, LoanStatus.APPROVED, null)).getId();
+        statusCounters.reloadAfterCommit();
+        long returnedBefore = statusCounters.count(LoanStatus.RETURNED);
+
+        assertEquals(OLD_LOANS, loanArchiver.archive(cutoff));
+
+        // loan 테이블에는 최근 반납 + 대출 중 기록만 남음
+        assertEquals(OLD_LOANS, loanArchiveRepository.findByBookIdOrderByCreatedAtDesc(book.getId()).size());
+        assertEquals(2, loanRepository.findByBookIdOrderByCreatedAtDesc(book.getId()).size());
+        assertTrue(loanRepository.existsById(recent));
+        assertTrue(loanRepository.existsById(active));
+        assertFalse(loanRepository.existsById(loans.get(0).getId()));
+        assertEquals(returnedBefore - OLD_LOANS, statusCounters.count(LoanStatus.RETURNED));
+
+        // 도서/회원 이력은 두 테이블 합산, 최신순
+        List<Loan> bookHistory = loanService.findByBookId(book.getId());
+        assertEquals(OLD_LOANS + 2, bookHistory.size());
+        for (int i = 1; i < bookHistory.size(); i++) {
+            assertFalse(bookHistory.get(i).getCreatedAt().isAfter(bookHistory.get(i - 1).getCreatedAt()));
+        }
+        assertEquals(OLD_LOANS + 2, loanService.findByMemberId(member.getId()).size());
+
+        // 다시 실행하면 옮길 것이 없음
+        assertEquals(0, loanArchiver.archive(cutoff));
+    }
+
+    private Loan newLoan(Book book, Member member, LoanStatus status, LocalDate returnedDate) {
+        LocalDate borrowDate = returnedDate != null ? returnedDate.minusDays(10) : LocalDate.now();
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(borrowDate);
+        loan.setReturnDueDate(borrowDate.plusDays(14));
+        loan.setReturnedDate(returnedDate);
+        loan.setStatus(status);
+        loan.setCreatedAt(borrowDate.atStartOfDay());
+        return loan;
+    }
+}
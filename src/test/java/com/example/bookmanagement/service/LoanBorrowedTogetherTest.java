@@ -0,0 +1,96 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.MemberRepository;
+import com.example.bookmanagement.search.BorrowedTogetherIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 함께 빌린 책: 대출할 때마다 늘어난 이웃 목록이 DB로 다시 만든 결과와 같고,
+// 신청만 한 건/삭제된 도서·회원은 반영되지 않는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanBorrowedTogetherTest {
+
+    @Autowired
+    private BorrowedTogetherIndex index;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    void neighborsFollowMemberHistories() {
+        String prefix = TestFixtures.prefix("together");
+        Member first = memberRepository.save(TestFixtures.member("함께회원1", prefix + "m1"));
+        Member second = memberRepository.save(TestFixtures.member("함께회원2", prefix + "m2"));
+        Member third = memberRepository.save(TestFixtures.member("함께회원3", prefix + "m3"));
+        Book a = bookService.save(TestFixtures.book(prefix + "A", "9771"));
+        Book b = bookService.save(TestFixtures.book(prefix + "B", "9772"));
+        Book c = bookService.save(TestFixtures.book(prefix + "C", "9773"));
+        Book d = bookService.save(TestFixtures.book(prefix + "D", "9774"));
+
+        borrowAndReturn(first, a, b, c);
+        borrowAndReturn(second, a, b);
+        borrowAndReturn(third, a, d);
+        // 같은 회원이 다시 빌려도 회원 수는 그대로
+        borrowAndReturn(second, b);
+
+        // A: B(2명) → C, D(1명, ID순)
+        assertEquals(List.of(b.getId(), c.getId(), d.getId()), index.neighbors(a.getId(), 10));
+        assertEquals(List.of(a.getId(), c.getId()), index.neighbors(b.getId(), 10));
+        assertEquals(2, index.count(a.getId(), b.getId()));
+        assertEquals(List.of(b.getId()), index.neighbors(a.getId(), 1));
+        assertEquals(List.of(a.getId(), c.getId()), ids(bookService.findBorrowedTogether(b.getId())));
+
+        // 신청만 하고 승인 전이면 반영하지 않음, 승인하면 반영
+        Loan requested = loanService.requestLoan(d, first);
+        assertEquals(0, index.count(b.getId(), d.getId()));
+        loanService.approveLoan(requested.getId());
+        assertEquals(1, index.count(b.getId(), d.getId()));
+        loanService.returnBook(requested.getId());
+
+        // 대출 기록으로 다시 만들어도 같은 결과
+        index.build();
+        assertEquals(List.of(b.getId(), d.getId(), c.getId()), index.neighbors(a.getId(), 10));
+        assertEquals(2, index.count(a.getId(), b.getId()));
+        assertEquals(1, index.count(b.getId(), d.getId()));
+
+        // 도서 삭제 → 이웃 목록에서 빠짐
+        index.remove(c.getId());
+        assertEquals(List.of(b.getId(), d.getId()), index.neighbors(a.getId(), 10));
+        assertEquals(List.of(), index.neighbors(c.getId(), 10));
+        // 삭제된 도서는 빌렸던 회원의 목록에서도 빠짐 → 그 회원이 새로 빌려도 삭제된 도서와 쌍이 생기지 않음
+        index.recordBorrow(first.getId(), d.getId());
+        assertEquals(0, index.count(d.getId(), c.getId()));
+        assertEquals(List.of(), index.neighbors(c.getId(), 10));
+
+        // 회원 삭제 → 그 회원이 만든 쌍만 감소
+        index.removeMember(second.getId());
+        assertEquals(1, index.count(a.getId(), b.getId()));
+    }
+
+    // 회원이 도서들을 차례로 직접 대출 → 반납
+    private void borrowAndReturn(Member member, Book... books) {
+        for (Book book : books) {
+            Loan loan = loanService.borrow(book, member);
+            loanService.returnBook(loan.getId());
+        }
+    }
+
+    private static List<Long> ids(List<Book> books) {
+        return books.stream().map(Book::getId).toList();
+    }
+}
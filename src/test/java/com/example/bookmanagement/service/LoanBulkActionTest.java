@@ -0,0 +1,141 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import com.example.bookmanagement.repository.NotificationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 대출 일괄 처리: 선택한 건 수와 무관하게 SQL 수가 일정한지, 상태가 맞지 않는 건은 건별 결과로 남는지 확인
+// (알림 INSERT는 JdbcTemplate 배치라 Hibernate 통계에는 잡히지 않고, 알림 건수로 따로 확인)
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanBulkActionTest {
+
+    private static final int LOANS = 120;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Member member;
+    private final List<Long> loanIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String prefix = TestFixtures.prefix("bulk");
+        member = memberRepository.save(TestFixtures.member("일괄회원", prefix + "member"));
+        for (int i = 0; i < LOANS; i++) {
+            Book book = bookRepository.save(TestFixtures.book(prefix + "도서" + i, "977" + i));
+            loanIds.add(loanRepository.save(newLoan(book, LoanStatus.REQUESTED)).getId());
+        }
+    }
+
+    @Test
+    void approveThenReturnWholeBatch() {
+        // 이미 승인된 건 + 없는 ID는 실패로 보고되고 나머지는 처리됨
+        Book approvedBook = bookRepository.save(TestFixtures.book("bulk-이미승인", "9770"));
+        Long approvedId = loanRepository.save(newLoan(approvedBook, LoanStatus.APPROVED)).getId();
+        List<Long> selected = new ArrayList<>(loanIds);
+        selected.add(approvedId);
+        selected.add(-1L);
+
+        long notificationsBefore = notificationRepository.count();
+        Statistics statistics = statistics();
+        BulkResult approved = loanService.approveAll(selected);
+        long approveQueries = statistics.getPrepareStatementCount();
+
+        assertEquals(LOANS, approved.getSuccessCount());
+        assertEquals(2, approved.getFailureCount());
+        assertTrue(approveQueries <= 3, "일괄 승인이 건마다 SQL을 실행함: " + approveQueries);
+        assertEquals(notificationsBefore + LOANS, notificationRepository.count());
+        for (Long id : loanIds) {
+            assertEquals(LoanStatus.APPROVED, loanRepository.findById(id).orElseThrow().getStatus());
+        }
+
+        // 승인된 건은 반납 대기가 아니므로 반납 확인 대상이 아님
+        BulkResult notReturning = loanService.confirmReturnAll(loanIds);
+        assertEquals(0, notReturning.getSuccessCount());
+        assertEquals(LOANS, notReturning.getFailureCount());
+
+        for (Long id : loanIds) {
+            loanService.requestReturn(id, member.getId());
+        }
+        statistics = statistics();
+        BulkResult returned = loanService.confirmReturnAll(loanIds);
+        long returnQueries = statistics.getPrepareStatementCount();
+
+        assertEquals(LOANS, returned.getSuccessCount());
+        // 잠금 조회 + 상태 UPDATE + 회원별 대출 중 권수 UPDATE + 예약 조회 (건수와 무관)
+        assertTrue(returnQueries <= 4, "일괄 반납 확인이 건마다 SQL을 실행함: " + returnQueries);
+        for (Long id : loanIds) {
+            Loan loan = loanRepository.findById(id).orElseThrow();
+            assertEquals(LoanStatus.RETURNED, loan.getStatus());
+            // 벌크 UPDATE에서도 active_book_id가 비워져야 같은 도서를 다시 대출할 수 있음
+            assertNull(loan.getActiveCopyId());
+        }
+    }
+
+    @Test
+    void rejectDeletesRequestsAndFreesBooks() {
+        BulkResult rejected = loanService.rejectAll(loanIds);
+
+        assertEquals(LOANS, rejected.getSuccessCount());
+        assertEquals(0, rejected.getFailureCount());
+        for (Long id : loanIds) {
+            assertFalse(loanRepository.existsById(id));
+        }
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private Loan newLoan(Book book, LoanStatus status) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(LocalDate.now());
+        loan.setReturnDueDate(LocalDate.now().plusDays(14));
+        loan.setStatus(status);
+        loan.setCreatedAt(LocalDateTime.now());
+        return loan;
+    }
+}
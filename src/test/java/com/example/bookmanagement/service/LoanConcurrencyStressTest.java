@@ -0,0 +1,288 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.BookCopy;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.BookCopyRepository;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 같은 도서에 대출 신청/직접 대출이 동시에 몰려도 대출 중 기록이 보유 권수만큼만 생기는지 확인
+// (도서 i는 i % 3 + 1권 보유, 소장본 한 권에 대출 중 기록은 한 건)
+// THREADS개 스레드가 동시에 출발해서 적은 수의 도서에 요청을 퍼붓고, 라운드마다 전부 반납 후 반복
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanConcurrencyStressTest {
+
+    private static final int BOOKS = 8;
+    private static final int THREADS = 32;
+    private static final int REQUESTS_PER_THREAD = 16;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookCopyRepository bookCopyRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Book> books = new ArrayList<>();
+    private final List<Member> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String prefix = TestFixtures.prefix("stress");
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = TestFixtures.book(prefix + "도서" + i, "978" + i);
+            book.setTotalCopies(i % 3 + 1);
+            books.add(bookService.save(book));
+        }
+        for (int i = 0; i < THREADS; i++) {
+            members.add(memberRepository.save(TestFixtures.member("회원" + i, prefix + i)));
+        }
+    }
+
+    @Test
+    void concurrentRequestsNeverDoubleBookABook() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CountDownLatch startGate = new CountDownLatch(1);
+                AtomicInteger succeeded = new AtomicInteger();
+                AtomicInteger rejected = new AtomicInteger();
+                List<Future<?>> futures = new ArrayList<>();
+
+                for (int t = 0; t < THREADS; t++) {
+                    Member member = members.get(t);
+                    Random random = new Random(round * 1000L + t);
+                    futures.add(executor.submit(() -> {
+                        startGate.await();
+                        for (int r = 0; r < REQUESTS_PER_THREAD; r++) {
+                            Book book = books.get(random.nextInt(BOOKS));
+                            try {
+                                if (random.nextBoolean()) {
+                                    loanService.requestLoan(book, member);
+                                } else {
+                                    loanService.borrow(book, member);
+                                }
+                                succeeded.incrementAndGet();
+                            } catch (DataIntegrityViolationException e) {
+                                // 제약 위반이 그대로 새어 나오면 안 됨 (서비스에서 대출 중 오류로 변환해야 함)
+                                throw e;
+                            } catch (RuntimeException e) {
+                                rejected.incrementAndGet();
+                            }
+                        }
+                        return null;
+                    }));
+                }
+                startGate.countDown();
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+
+                // 도서마다 대출 중 기록은 보유 권수 이하, 소장본은 서로 다름, 대출 가능 권수 = 보유 - 대출 중
+                // 성공 건수 = 대출 중 기록 수
+                int activeLoans = 0;
+                for (Book book : books) {
+                    List<Loan> active = activeLoans(book);
+                    assertTrue(active.size() <= book.getTotalCopies(),
+                            "중복 대출 발생: 도서 " + book.getId() + " → " + active.size() + "건");
+                    assertEquals(active.size(), new HashSet<>(copyIds(active)).size());
+                    assertEquals(book.getTotalCopies() - active.size(),
+                            bookRepository.findAvailableCopies(book.getId()));
+                    activeLoans += active.size();
+                }
+                assertEquals(activeLoans, succeeded.get());
+                assertEquals(THREADS * REQUESTS_PER_THREAD, succeeded.get() + rejected.get());
+
+                // 다음 라운드를 위해 전부 반납 (신청 상태는 거절)
+                for (Book book : books) {
+                    for (Loan loan : activeLoans(book)) {
+                        if (loan.getStatus() == LoanStatus.REQUESTED) {
+                            loanService.rejectLoan(loan.getId());
+                        } else {
+                            loanService.confirmReturn(loan.getId());
+                        }
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 서비스를 거치지 않고 저장해도 DB 제약(active_copy_id UNIQUE)이 같은 소장본의 두 번째 대출 중 기록을 막는지 확인
+    @Test
+    void databaseRejectsSecondActiveLoanForSameCopy() {
+        Book book = books.get(0);
+        BookCopy copy = bookCopyRepository.findFirstByBookIdAndOnLoanFalseOrderByCopyNoAsc(book.getId()).orElseThrow();
+        loanRepository.saveAndFlush(newLoan(book, copy, members.get(0), LoanStatus.APPROVED));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> loanRepository.saveAndFlush(newLoan(book, copy, members.get(1), LoanStatus.REQUESTED)));
+    }
+
+    // 3권 보유 도서에 THREADS명이 동시에 신청 → 정확히 3명만 성공, 4번째부터 대출 중
+    @Test
+    void concurrentRequestsTakeExactlyTheAvailableCopies() throws Exception {
+        Book book = books.get(2);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Member member : members) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        loanService.requestLoan(book, member);
+                        succeeded.incrementAndGet();
+                    } catch (DataIntegrityViolationException e) {
+                        throw e;
+                    } catch (RuntimeException e) {
+                        // 대출 가능 권 없음 / 잠금 대기 초과
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3, book.getTotalCopies());
+        assertEquals(3, succeeded.get());
+        assertEquals(3, new HashSet<>(copyIds(activeLoans(book))).size());
+        assertEquals(0, bookRepository.findAvailableCopies(book.getId()));
+        assertTrue(loanService.isBookBorrowed(book.getId()));
+
+        // 한 권 반납되면 다시 대출 가능
+        Loan first = activeLoans(book).get(0);
+        loanService.approveLoan(first.getId());
+        loanService.returnBook(first.getId());
+        assertEquals(1, bookRepository.findAvailableCopies(book.getId()));
+        assertTrue(!loanService.isBookBorrowed(book.getId()));
+    }
+
+    // 단건 승인/거절/반납은 상태가 맞을 때만 처리 → 두 번 눌러도 소장본이 두 번 돌아오지 않음
+    @Test
+    void singleTransitionsApplyOnlyOnce() {
+        Book book = books.get(1);
+        Long memberId = members.get(0).getId();
+        Loan loan = loanService.requestLoan(book, members.get(0));
+        // 승인 전에는 반납 신청 불가 (승인을 건너뛰지 않음)
+        assertThrows(RuntimeException.class, () -> loanService.requestReturn(loan.getId(), memberId));
+        assertEquals(LoanStatus.REQUESTED, loanService.findById(loan.getId()).getStatus());
+
+        loanService.approveLoan(loan.getId());
+        assertThrows(RuntimeException.class, () -> loanService.approveLoan(loan.getId()));
+        assertThrows(RuntimeException.class, () -> loanService.rejectLoan(loan.getId()));
+        assertEquals(LoanStatus.APPROVED, loanService.findById(loan.getId()).getStatus());
+        assertEquals(book.getTotalCopies() - 1, bookRepository.findAvailableCopies(book.getId()));
+
+        // 다른 회원의 대출은 반납 신청 불가, 본인도 한 번만
+        assertThrows(RuntimeException.class, () -> loanService.requestReturn(loan.getId(), members.get(1).getId()));
+        loanService.requestReturn(loan.getId(), memberId);
+        assertThrows(RuntimeException.class, () -> loanService.requestReturn(loan.getId(), memberId));
+
+        loanService.returnBook(loan.getId());
+        assertThrows(RuntimeException.class, () -> loanService.returnBook(loan.getId()));
+        assertThrows(RuntimeException.class, () -> loanService.confirmReturn(loan.getId()));
+        // 반납된 대출은 다시 반납 신청 불가 → 소장본/대출 권수를 두 번 되돌리지 않음
+        assertThrows(RuntimeException.class, () -> loanService.requestReturn(loan.getId(), memberId));
+        assertEquals(LoanStatus.RETURNED, loanService.findById(loan.getId()).getStatus());
+        assertEquals(book.getTotalCopies(), bookRepository.findAvailableCopies(book.getId()));
+        assertEquals(0, memberRepository.findById(memberId).orElseThrow().getActiveLoanCount());
+        assertEquals(0, activeLoans(book).size());
+    }
+
+    private List<Loan> activeLoans(Book book) {
+        List<Loan> active = new ArrayList<>();
+        for (Loan loan : loanRepository.findByBookIdOrderByCreatedAtDesc(book.getId())) {
+            if (Loan.BORROWED_STATUSES.contains(loan.getStatus())) {
+                active.add(loan);
+            }
+        }
+        return active;
+    }
+
+    private static List<Long> copyIds(List<Loan> loans) {
+        List<Long> ids = new ArrayList<>();
+        for (Loan loan : loans) {
+            ids.add(loan.getCopy().getId());
+        }
+        return ids;
+    }
+
+    private Loan newLoan(Book book, BookCopy copy, Member member, LoanStatus status) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setCopy(copy);
+        loan.setMember(member);
+        loan.setBorrowDate(LocalDate.now());
+        loan.setReturnDueDate(LocalDate.now().plusDays(14));
+        loan.setStatus(status);
+        loan.setCreatedAt(LocalDateTime.now());
+        return loan;
+    }
+
+    // 소장본 도입 전 스키마에 남은 도서 단위 UNIQUE 키는 시작 시 삭제 → 같은 도서를 여러 권 빌려도 걸리지 않음
+    @Test
+    void oldActiveBookIdColumnIsDropped() {
+        jdbcTemplate.execute("ALTER TABLE loan ADD COLUMN active_book_id BIGINT");
+        jdbcTemplate.execute("ALTER TABLE loan ADD CONSTRAINT uk_loan_active_book UNIQUE (active_book_id)");
+
+        inventoryService.dropActiveBookIdColumn();
+        inventoryService.dropActiveBookIdColumn();
+
+        Integer columns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'LOAN' AND COLUMN_NAME = 'ACTIVE_BOOK_ID'",
+                Integer.class);
+        assertEquals(0, columns);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanEventType;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// 대출 이벤트 로그: 신청/승인/거절/반납 흐름을 거친 뒤 로그를 여러 구간으로 나눠 재생해도
+// 대출별 마지막 상태와 도서/회원별 건수가 실제 처리 결과와 같은지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanEventLogTest {
+
+    private static final int BOOKS = 6;
+
+    @Autowired
+    private LoanEventLog eventLog;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    void parallelReplayRebuildsStatusAndStats() {
+        String prefix = TestFixtures.prefix("event");
+        Member member = memberRepository.save(TestFixtures.member("로그회원", prefix + "member"));
+        Member other = memberRepository.save(TestFixtures.member("로그회원2", prefix + "other"));
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(bookService.save(TestFixtures.book(prefix + "도서" + i, "975" + i)));
+        }
+
+        // 0: 신청만, 1: 승인, 2: 반납 신청, 3: 반납 완료, 4: 거절(행 삭제), 5: 직접 대출 → 직접 반납
+        List<Loan> loans = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            loans.add(loanService.requestLoan(books.get(i), member));
+        }
+        loanService.approveAll(List.of(loans.get(1).getId(), loans.get(2).getId(), loans.get(3).getId()));
+        loanService.requestReturn(loans.get(2).getId(), member.getId());
+        loanService.requestReturn(loans.get(3).getId(), member.getId());
+        loanService.confirmReturnAll(List.of(loans.get(3).getId()));
+        loanService.rejectLoan(loans.get(4).getId());
+        Loan direct = loanService.borrow(books.get(5), other);
+        loanService.returnBook(direct.getId());
+        // 같은 도서를 다시 빌리면 도서별 건수가 누적됨
+        Loan again = loanService.borrow(books.get(3), other);
+
+        LoanProjection projection = eventLog.replay(4);
+        // 구간 수와 상관없이 같은 결과
+        LoanProjection single = eventLog.replay(1);
+        assertEquals(single.getEventCount(), projection.getEventCount());
+        assertEquals(single.getLoanCount(), projection.getLoanCount());
+
+        assertEquals(LoanEventType.REQUESTED, projection.statusOf(loans.get(0).getId()));
+        assertEquals(LoanEventType.APPROVED, projection.statusOf(loans.get(1).getId()));
+        assertEquals(LoanEventType.RETURN_REQUESTED, projection.statusOf(loans.get(2).getId()));
+        assertEquals(LoanEventType.RETURNED, projection.statusOf(loans.get(3).getId()));
+        assertEquals(LoanEventType.REJECTED, projection.statusOf(loans.get(4).getId()));
+        assertEquals(LoanEventType.RETURNED, projection.statusOf(direct.getId()));
+        assertEquals(LoanEventType.APPROVED, projection.statusOf(again.getId()));
+        assertNull(projection.statusOf(-1L));
+
+        // 로그의 마지막 상태와 loan 테이블의 현재 상태가 일치
+        for (int i = 0; i < 4; i++) {
+            LoanStatus current = loanService.findById(loans.get(i).getId()).getStatus();
+            assertEquals(current.name(), projection.statusOf(loans.get(i).getId()).name());
+        }
+
+        LoanProjection.Stats memberStats = projection.memberStats(member.getId());
+        assertEquals(5, memberStats.count(LoanEventType.REQUESTED));
+        assertEquals(3, memberStats.count(LoanEventType.APPROVED));
+        assertEquals(1, memberStats.count(LoanEventType.REJECTED));
+        assertEquals(2, memberStats.count(LoanEventType.RETURN_REQUESTED));
+        assertEquals(1, memberStats.count(LoanEventType.RETURNED));
+
+        LoanProjection.Stats otherStats = projection.memberStats(other.getId());
+        assertEquals(0, otherStats.count(LoanEventType.REQUESTED));
+        assertEquals(2, otherStats.count(LoanEventType.APPROVED));
+        assertEquals(1, otherStats.count(LoanEventType.RETURNED));
+
+        LoanProjection.Stats bookStats = projection.bookStats(books.get(3).getId());
+        assertEquals(2, bookStats.count(LoanEventType.APPROVED));
+        assertEquals(1, bookStats.count(LoanEventType.RETURNED));
+        assertEquals(1, projection.bookStats(books.get(4).getId()).count(LoanEventType.REJECTED));
+
+        // 시작 시 대조와 같은 검사: 로그가 있는 모든 대출의 마지막 이벤트가 현재 상태와 일치
+        assertEquals(0, eventLog.verify());
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Hold;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.HoldRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 예약 대기열: 반납(반납 확인/직접 반납)될 때마다 맨 앞 예약자가 대출 신청으로 승격되는지,
+// 대기열이 길어도 반납 한 건의 SQL 수가 늘지 않는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanHoldQueueTest {
+
+    // 인기 도서처럼 긴 대기열
+    private static final int QUEUE_LENGTH = 300;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Book book;
+    private final List<Member> members = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String prefix = TestFixtures.prefix("hold");
+        book = bookService.save(TestFixtures.book(prefix + "인기도서", "975"));
+        for (int i = 0; i <= QUEUE_LENGTH; i++) {
+            members.add(memberRepository.save(TestFixtures.member("예약회원" + i, prefix + i)));
+        }
+    }
+
+    @Test
+    void returnsPromoteHoldersInOrder() {
+        // 대출 가능한 도서는 예약 대신 대출 신청
+        assertThrows(RuntimeException.class, () -> holdService.placeHold(book, members.get(1)));
+
+        Loan first = loanService.borrow(book, members.get(0));
+        // 대출 중인 본인은 예약 불가
+        assertThrows(RuntimeException.class, () -> holdService.placeHold(book, members.get(0)));
+        for (int i = 1; i <= QUEUE_LENGTH; i++) {
+            holdService.placeHold(book, members.get(i));
+        }
+        // 같은 도서 중복 예약 불가
+        assertThrows(RuntimeException.class, () -> holdService.placeHold(book, members.get(1)));
+        assertEquals(QUEUE_LENGTH, holdService.countByBookId(book.getId()));
+
+        // 반납 확인 → 1번 예약자 승격
+        loanService.requestReturn(first.getId(), members.get(0).getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        loanService.confirmReturn(first.getId());
+        long queries = statistics.getPrepareStatementCount();
+        assertTrue(queries <= 20, "반납 시 승격 SQL이 대기열 길이에 비례함: " + queries);
+
+        Loan promoted = loanService.findActiveLoanByBookId(book.getId());
+        assertEquals(members.get(1).getId(), promoted.getMember().getId());
+        assertEquals(LoanStatus.REQUESTED, promoted.getStatus());
+        assertEquals(QUEUE_LENGTH - 1, holdService.countByBookId(book.getId()));
+
+        // 2번 예약자의 순서는 이제 1번째
+        List<Hold> secondHolds = holdService.findByMemberId(members.get(2).getId());
+        assertEquals(1L, holdService.ranksOf(secondHolds).get(secondHolds.get(0).getId()));
+        List<Hold> tenthHolds = holdService.findByMemberId(members.get(10).getId());
+        assertEquals(9L, holdService.ranksOf(tenthHolds).get(tenthHolds.get(0).getId()));
+
+        // 승인 후 직접 반납 → 2번 예약자 승격
+        loanService.approveLoan(promoted.getId());
+        loanService.returnBook(promoted.getId());
+        assertEquals(members.get(2).getId(), loanService.findActiveLoanByBookId(book.getId()).getMember().getId());
+
+        // 거절해도 다음 예약자에게 넘어감, 취소한 예약자는 건너뜀
+        List<Hold> thirdHolds = holdRepository.findByMemberIdOrderByCreatedAtDesc(members.get(3).getId());
+        holdService.cancelHold(thirdHolds.get(0).getId(), members.get(3).getId());
+        loanService.rejectLoan(loanService.findActiveLoanByBookId(book.getId()).getId());
+        assertEquals(members.get(4).getId(), loanService.findActiveLoanByBookId(book.getId()).getMember().getId());
+        assertEquals(QUEUE_LENGTH - 4, holdService.countByBookId(book.getId()));
+    }
+
+    // 맨 앞 예약자가 대출 한도면 다음 예약자가 승격되고, 건너뛴 예약은 맨 앞 순서 그대로 남음
+    @Test
+    void blockedHeadDoesNotStallTheQueue() {
+        Member blocked = members.get(1);
+        Member next = members.get(2);
+        Loan first = loanService.borrow(book, members.get(0));
+        holdService.placeHold(book, blocked);
+        holdService.placeHold(book, next);
+        // 1번 예약자는 다른 도서로 대출 한도까지
+        String prefix = TestFixtures.prefix("hold-limit");
+        for (int i = 0; i < loanService.getMaxActiveLoans(); i++) {
+            loanService.borrow(bookService.save(TestFixtures.book(prefix + i, "9751")), blocked);
+        }
+
+        loanService.returnBook(first.getId());
+        Loan promoted = loanService.findActiveLoanByBookId(book.getId());
+        assertEquals(next.getId(), promoted.getMember().getId());
+        assertEquals(LoanStatus.REQUESTED, promoted.getStatus());
+        List<Hold> blockedHolds = holdService.findByMemberId(blocked.getId());
+        assertEquals(1, blockedHolds.size());
+        assertEquals(1L, holdService.ranksOf(blockedHolds).get(blockedHolds.get(0).getId()));
+        assertEquals(1, holdService.countByBookId(book.getId()));
+    }
+
+    // 맨 앞 예약자가 그사이 같은 도서를 직접 대출받았으면 건너뛰고 다음 예약자를 승격 (한 사람당 한 권)
+    @Test
+    void holderAlreadyBorrowingIsSkipped() {
+        Member holder = members.get(1);
+        Member next = members.get(2);
+        Loan first = loanService.borrow(book, members.get(0));
+        holdService.placeHold(book, holder);
+        // 소장본을 한 권 늘려 1번 예약자에게 관리자 직접 대출 → 다시 남은 권 없음
+        inventoryService.changeCopyCount(book.getId(), 2);
+        loanService.borrow(book, holder);
+        holdService.placeHold(book, next);
+
+        loanService.returnBook(first.getId());
+        assertTrue(loanService.isBorrowedBy(book.getId(), next.getId()));
+        assertEquals(1, memberRepository.findById(holder.getId()).orElseThrow().getActiveLoanCount());
+        List<Hold> holderHolds = holdService.findByMemberId(holder.getId());
+        assertEquals(1, holderHolds.size());
+        assertEquals(1L, holdService.ranksOf(holderHolds).get(holderHolds.get(0).getId()));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.IdempotencyRecord;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.IdempotencyRecordRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 중복 제출 방지: 같은 키로 동시에/다시 보내도 대출 신청은 한 번만 실행되고 처음 결과가 그대로 돌아오는지,
+// 메모리 캐시가 비어도(서버 재시작) DB 기록으로 같은 결과를 돌려주는지,
+// 같은 키를 다른 처리에 쓰면 거절하고 처리 중인 채로 버려진 키는 다시 처리하는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanIdempotencyTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository recordRepository;
+
+    @Test
+    void duplicateSubmissionsRunOnce() throws Exception {
+        String prefix = TestFixtures.prefix("idem");
+        Member member = memberRepository.save(TestFixtures.member("중복회원", prefix + "member"));
+        Book book = bookService.save(TestFixtures.book(prefix + "도서", "9781"));
+        AtomicInteger runs = new AtomicInteger();
+        Supplier<String> request = () -> {
+            runs.incrementAndGet();
+            loanService.requestLoan(book, member);
+            return "신청 완료";
+        };
+
+        // 더블 클릭: 같은 키로 동시에 여러 번
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<IdempotencyService.Result>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return idempotencyService.execute(member.getId(), prefix + "key", "LOAN_REQUEST", request);
+                }));
+            }
+            startGate.countDown();
+            for (Future<IdempotencyService.Result> future : futures) {
+                IdempotencyService.Result result = future.get(60, TimeUnit.SECONDS);
+                assertTrue(result.isSuccess());
+                assertEquals("신청 완료", result.getMessage());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, runs.get());
+        List<Loan> loans = loanRepository.findByMemberIdAndReturnedDateIsNull(member.getId());
+        assertEquals(1, loans.size());
+
+        // 브라우저 재전송 (메모리 캐시)
+        assertTrue(idempotencyService.execute(member.getId(), prefix + "key", "LOAN_REQUEST", request).isSuccess());
+        // 서버 재시작 등으로 메모리가 비어도 DB 기록으로 처음 결과 반환
+        idempotencyService.clearMemory();
+        IdempotencyService.Result replayed = idempotencyService.execute(member.getId(), prefix + "key", "LOAN_REQUEST", request);
+        assertTrue(replayed.isSuccess());
+        assertEquals("신청 완료", replayed.getMessage());
+        assertEquals(1, runs.get());
+
+        // 새 키(새로 그린 폼)는 다시 실행 → 이미 신청 중이라 실패, 그 실패도 같은 키로는 그대로 반환
+        IdempotencyService.Result second = idempotencyService.execute(member.getId(), prefix + "key2", "LOAN_REQUEST", request);
+        assertFalse(second.isSuccess());
+        assertEquals(2, runs.get());
+        idempotencyService.clearMemory();
+        assertEquals(second.getMessage(),
+                idempotencyService.execute(member.getId(), prefix + "key2", "LOAN_REQUEST", request).getMessage());
+        assertEquals(2, runs.get());
+
+        // 반납 신청도 한 번만 (상태 변경/알림 반복 없음)
+        Long loanId = loans.get(0).getId();
+        loanService.approveLoan(loanId);
+        AtomicInteger returns = new AtomicInteger();
+        Supplier<String> returnRequest = () -> {
+            returns.incrementAndGet();
+            loanService.requestReturn(loanId, member.getId());
+            return "반납 신청 완료";
+        };
+        idempotencyService.execute(member.getId(), prefix + "return", "RETURN_REQUEST", returnRequest);
+        idempotencyService.execute(member.getId(), prefix + "return", "RETURN_REQUEST", returnRequest);
+        assertEquals(1, returns.get());
+        assertEquals(LoanStatus.RETURN_REQUESTED, loanService.findById(loanId).getStatus());
+
+        // 같은 키를 다른 처리에 쓰면 실행하지 않고 실패 (메모리/DB 모두)
+        IdempotencyService.Result reused = idempotencyService.execute(member.getId(), prefix + "key", "RETURN_REQUEST", returnRequest);
+        assertFalse(reused.isSuccess());
+        idempotencyService.clearMemory();
+        assertFalse(idempotencyService.execute(member.getId(), prefix + "key", "RETURN_REQUEST", returnRequest).isSuccess());
+        assertEquals(1, returns.get());
+        assertTrue(idempotencyService.execute(member.getId(), prefix + "key", "LOAN_REQUEST", request).isSuccess());
+        assertEquals(2, runs.get());
+
+        // 처리 도중 서버가 멈춰 처리 중으로 남은 키: 최근이면 처리 중 응답, 오래되면 다시 가져가서 한 번만 처리
+        AtomicInteger resumed = new AtomicInteger();
+        Supplier<String> resume = () -> {
+            resumed.incrementAndGet();
+            return "재처리 완료";
+        };
+        recordRepository.saveAndFlush(new IdempotencyRecord(member.getId() + ":" + prefix + "fresh", "LOAN_REQUEST",
+                LocalDateTime.now()));
+        assertFalse(idempotencyService.execute(member.getId(), prefix + "fresh", "LOAN_REQUEST", resume).isSuccess());
+        assertEquals(0, resumed.get());
+        recordRepository.saveAndFlush(new IdempotencyRecord(member.getId() + ":" + prefix + "stale", "LOAN_REQUEST",
+                LocalDateTime.now().minusMinutes(10)));
+        assertEquals("재처리 완료", idempotencyService.execute(member.getId(), prefix + "stale", "LOAN_REQUEST", resume).getMessage());
+        idempotencyService.clearMemory();
+        assertEquals("재처리 완료", idempotencyService.execute(member.getId(), prefix + "stale", "LOAN_REQUEST", resume).getMessage());
+        assertEquals(1, resumed.get());
+
+        // 다른 회원의 같은 키는 별개
+        Member other = memberRepository.save(TestFixtures.member("다른회원", prefix + "other"));
+        AtomicInteger otherRuns = new AtomicInteger();
+        idempotencyService.execute(other.getId(), prefix + "key", "LOAN_REQUEST", () -> {
+            otherRuns.incrementAndGet();
+            return "다른 회원";
+        });
+        assertEquals(1, otherRuns.get());
+
+        // 키 없이 보내면 매번 실행 (기존 동작)
+        idempotencyService.execute(other.getId(), null, "LOAN_REQUEST", () -> {
+            otherRuns.incrementAndGet();
+            return "키 없음";
+        });
+        idempotencyService.execute(other.getId(), null, "LOAN_REQUEST", () -> {
+            otherRuns.incrementAndGet();
+            return "키 없음";
+        });
+        assertEquals(3, otherRuns.get());
+    }
+}
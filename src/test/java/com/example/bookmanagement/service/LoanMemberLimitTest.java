@@ -0,0 +1,116 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// 회원 대출 한도: 한 회원이 여러 도서를 동시에 신청해도 한도만큼만 성공하고,
+// 반납/거절 시 대출 중 권수가 줄어 다시 신청할 수 있는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanMemberLimitTest {
+
+    // 한도(기본 5권)보다 많은 도서를 동시에 신청
+    private static final int BOOKS = 12;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void concurrentRequestsStopAtTheMemberLimit() throws Exception {
+        String prefix = TestFixtures.prefix("limit");
+        Member member = memberRepository.save(TestFixtures.member("한도회원", prefix + "member"));
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            books.add(bookService.save(TestFixtures.book(prefix + "도서" + i, "973" + i)));
+        }
+        int limit = loanService.getMaxActiveLoans();
+
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (Book book : books) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    try {
+                        loanService.requestLoan(book, member);
+                        succeeded.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        // 대출 한도 초과
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(limit, succeeded.get());
+        assertEquals(limit, loanService.countActiveLoansByMember(member.getId()));
+        assertEquals(limit, loanRepository.findByMemberIdAndReturnedDateIsNull(member.getId()).size());
+
+        // 한도에 도달한 상태에서는 직접 대출도 거절
+        Book extra = bookService.save(TestFixtures.book(prefix + "추가", "9739"));
+        assertThrows(RuntimeException.class, () -> loanService.borrow(extra, member));
+        // 소장본을 먼저 확보한 뒤 한도에서 거절되어도 롤백으로 재고는 그대로
+        assertEquals(1, bookRepository.findAvailableCopies(extra.getId()));
+
+        // 승인 → 반납 확인하면 한 권 줄어 다시 대출 가능
+        List<Loan> active = loanRepository.findByMemberIdAndReturnedDateIsNull(member.getId());
+        loanService.approveLoan(active.get(0).getId());
+        loanService.requestReturn(active.get(0).getId(), member.getId());
+        loanService.confirmReturn(active.get(0).getId());
+        assertEquals(limit - 1, loanService.countActiveLoansByMember(member.getId()));
+        // 반납 확인을 한 번 더 눌러도 대출 중 권수/대출 가능 권수는 그대로
+        Long returnedBookId = active.get(0).getBook().getId();
+        Integer available = bookRepository.findAvailableCopies(returnedBookId);
+        assertThrows(RuntimeException.class, () -> loanService.confirmReturn(active.get(0).getId()));
+        assertEquals(limit - 1, loanService.countActiveLoansByMember(member.getId()));
+        assertEquals(available, bookRepository.findAvailableCopies(returnedBookId));
+        loanService.borrow(extra, member);
+        assertEquals(limit, loanService.countActiveLoansByMember(member.getId()));
+
+        // 일괄 거절하면 거절된 권수만큼 감소
+        List<Long> requested = new ArrayList<>();
+        for (Loan loan : loanRepository.findByMemberIdAndReturnedDateIsNull(member.getId())) {
+            if (!loan.getBook().getId().equals(extra.getId())) requested.add(loan.getId());
+        }
+        assertEquals(limit - 1, loanService.rejectAll(requested).getSuccessCount());
+        assertEquals(1, loanService.countActiveLoansByMember(member.getId()));
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import com.example.bookmanagement.repository.NotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 연체 처리: 반납기한이 지난 대출 중 기록만 배치로 연체 표시 + 알림, 다시 실행하면 새로 표시할 것이 없어야 함
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanOverdueSweepTest {
+
+    // 배치 크기(200)를 넘겨서 여러 배치로 나뉘는지까지 확인
+    private static final int OVERDUE_LOANS = 250;
+
+    @Autowired
+    private OverdueSweeper overdueSweeper;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Test
+    void sweepMarksOnlyActiveLoansPastTheirDueDate() {
+        String prefix = TestFixtures.prefix("overdue");
+        Member member = memberRepository.save(TestFixtures.member("연체회원", prefix + "member"));
+        List<Long> overdueIds = new ArrayList<>();
+        for (int i = 0; i < OVERDUE_LOANS; i++) {
+            overdueIds.add(saveLoan(prefix + i, member, LoanStatus.APPROVED, LocalDate.now().minusDays(1 + i % 5)));
+        }
+        Long dueToday = saveLoan(prefix + "today", member, LoanStatus.APPROVED, LocalDate.now());
+        Long returned = saveLoan(prefix + "returned", member, LoanStatus.RETURNED, LocalDate.now().minusDays(3));
+
+        long overdueBefore = loanService.countOverdueLoans();
+        long notificationsBefore = notificationRepository.count();
+        int marked = overdueSweeper.sweep();
+
+        assertEquals(OVERDUE_LOANS, marked);
+        assertEquals(overdueBefore + OVERDUE_LOANS, loanService.countOverdueLoans());
+        // 대출자 알림 OVERDUE_LOANS건 + 관리자 요약 알림
+        assertTrue(notificationRepository.count() >= notificationsBefore + OVERDUE_LOANS);
+        for (Long id : overdueIds) {
+            assertTrue(loanRepository.findById(id).orElseThrow().isOverdueMarked());
+        }
+        assertFalse(loanRepository.findById(dueToday).orElseThrow().isOverdueMarked());
+        assertFalse(loanRepository.findById(returned).orElseThrow().isOverdueMarked());
+
+        // 이미 표시된 건은 다시 처리하지 않음 (알림 중복 없음)
+        assertEquals(0, overdueSweeper.sweep());
+        assertEquals(OVERDUE_LOANS, loanService.findOverduePage(null, null, OVERDUE_LOANS + 50).getContent().stream()
+                .filter(loan -> overdueIds.contains(loan.getId())).count());
+    }
+
+    private Long saveLoan(String title, Member member, LoanStatus status, LocalDate dueDate) {
+        Book book = bookRepository.save(TestFixtures.book(title, "976"));
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(dueDate.minusDays(14));
+        loan.setReturnDueDate(dueDate);
+        loan.setStatus(status);
+        loan.setCreatedAt(LocalDateTime.now());
+        if (status == LoanStatus.RETURNED) {
+            loan.setReturnedDate(LocalDate.now());
+        }
+        return loanRepository.save(loan).getId();
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 인기 도서 순위: 대출할 때마다 메모리 카운터가 바로 올라가고,
+// DB 재계산 후에는 기간(7일/30일/전체)별 대출 횟수가 정확히 맞는지 확인
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanPopularBooksTest {
+
+    // 다른 테스트에서 만든 도서와 섞여도 찾을 수 있도록 넉넉하게 조회
+    private static final int LIMIT = 100;
+
+    @Autowired
+    private PopularBookRanking ranking;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Test
+    void rankingFollowsBorrowsAndReconcilesWithLoans() {
+        String prefix = TestFixtures.prefix("popular");
+        Member member = memberRepository.save(TestFixtures.member("인기회원", prefix + "member"));
+        Book first = bookService.save(TestFixtures.book(prefix + "1위", "9761"));
+        Book second = bookService.save(TestFixtures.book(prefix + "2위", "9762"));
+        Book third = bookService.save(TestFixtures.book(prefix + "3위", "9763"));
+
+        borrowTimes(first, member, 6);
+        borrowTimes(second, member, 4);
+        borrowTimes(third, member, 2);
+
+        // 재계산 전: 커밋된 대출이 바로 반영 (Space-Saving은 추적 중인 도서를 적게 세지 않음)
+        Map<Long, Long> week = counts(PopularBookRanking.Window.WEEK);
+        assertTrue(week.get(first.getId()) >= 6);
+        assertTrue(week.get(second.getId()) >= 4);
+        assertTrue(week.get(third.getId()) >= 2);
+        assertTrue(rankOf(PopularBookRanking.Window.WEEK, first) < rankOf(PopularBookRanking.Window.WEEK, second));
+
+        // 열흘 전 대출 5건 (DB에 직접) → 재계산하면 30일/전체에는 포함, 7일에는 제외
+        List<Loan> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(oldLoan(third, member, LocalDate.now().minusDays(10)));
+        }
+        loanRepository.saveAll(old);
+        ranking.reconcile();
+
+        week = counts(PopularBookRanking.Window.WEEK);
+        assertEquals(6L, week.get(first.getId()));
+        assertEquals(4L, week.get(second.getId()));
+        assertEquals(2L, week.get(third.getId()));
+
+        Map<Long, Long> month = counts(PopularBookRanking.Window.MONTH);
+        assertEquals(6L, month.get(first.getId()));
+        assertEquals(7L, month.get(third.getId()));
+        assertTrue(rankOf(PopularBookRanking.Window.MONTH, third) < rankOf(PopularBookRanking.Window.MONTH, first));
+
+        Map<Long, Long> all = counts(PopularBookRanking.Window.ALL);
+        assertEquals(7L, all.get(third.getId()));
+
+        // 대출 신청만 한 건은 세지 않음, 승인하면 반영
+        Loan requested = loanService.requestLoan(second, member);
+        assertEquals(4L, counts(PopularBookRanking.Window.WEEK).get(second.getId()));
+        loanService.approveLoan(requested.getId());
+        assertEquals(5L, counts(PopularBookRanking.Window.WEEK).get(second.getId()));
+        // 같은 신청을 다시 승인해도 한 번만 셈
+        assertThrows(RuntimeException.class, () -> loanService.approveLoan(requested.getId()));
+        assertEquals(5L, counts(PopularBookRanking.Window.WEEK).get(second.getId()));
+        assertEquals(5L, counts(PopularBookRanking.Window.MONTH).get(second.getId()));
+
+        // 삭제된 도서는 순위에서 제외
+        ranking.remove(first.getId());
+        assertFalse(counts(PopularBookRanking.Window.ALL).containsKey(first.getId()));
+    }
+
+    // 직접 대출 → 직접 반납을 count번 반복
+    private void borrowTimes(Book book, Member member, int count) {
+        for (int i = 0; i < count; i++) {
+            Loan loan = loanService.borrow(book, member);
+            loanService.returnBook(loan.getId());
+        }
+    }
+
+    private Map<Long, Long> counts(PopularBookRanking.Window window) {
+        Map<Long, Long> counts = new HashMap<>();
+        for (PopularBook popular : ranking.top(window, LIMIT)) {
+            counts.put(popular.getBook().getId(), popular.getBorrowCount());
+        }
+        return counts;
+    }
+
+    private int rankOf(PopularBookRanking.Window window, Book book) {
+        List<PopularBook> top = ranking.top(window, LIMIT);
+        for (int i = 0; i < top.size(); i++) {
+            if (top.get(i).getBook().getId().equals(book.getId())) return i;
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private Loan oldLoan(Book book, Member member, LocalDate borrowDate) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(borrowDate);
+        loan.setReturnDueDate(borrowDate.plusDays(14));
+        loan.setReturnedDate(borrowDate.plusDays(3));
+        loan.setStatus(LoanStatus.RETURNED);
+        loan.setCreatedAt(borrowDate.atStartOfDay());
+        return loan;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Loan;
+import com.example.bookmanagement.entity.LoanStatus;
+import com.example.bookmanagement.entity.Member;
+import com.example.bookmanagement.repository.BookRepository;
+import com.example.bookmanagement.repository.LoanRepository;
+import com.example.bookmanagement.repository.MemberRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 대출 목록 조회가 행 수와 무관하게 SELECT 한 번으로 끝나는지 확인 (N+1 회귀 방지)
+// 보관 기록까지 합치는 이력/내보내기는 loan + loan_archive 테이블별 한 번씩
+// 화면/내보내기에서 쓰는 연관(도서 제목, 회원 이름)까지 실제로 읽은 뒤 실행된 SQL 수를 Hibernate 통계로 셈
+// 트랜잭션 안에서 읽으므로 엔티티 그래프가 빠지면 예외 대신 행마다 추가 SELECT가 잡힘 (화면의 open-in-view와 동일)
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanQueryCountTest {
+
+    private static final int LOANS = 12;
+
+    @Autowired
+    private LoanService loanService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private LoanRepository loanRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Member firstMember;
+    private Book firstBook;
+
+    // 서로 다른 도서/회원으로 대출 중 기록 LOANS건 + 같은 도서의 반납 완료 기록 LOANS건
+    @BeforeEach
+    void setUp() {
+        String prefix = TestFixtures.prefix("query");
+        for (int i = 0; i < LOANS; i++) {
+            Book book = bookRepository.save(new Book(prefix + "도서" + i, "저자" + i, "출판사", "979" + i));
+            Member member = memberRepository.save(TestFixtures.member("회원" + i, prefix + i));
+            loanRepository.save(newLoan(book, member, i % 2 == 0 ? LoanStatus.APPROVED : LoanStatus.REQUESTED));
+            loanRepository.save(newLoan(book, member, LoanStatus.RETURNED));
+            if (i == 0) {
+                firstMember = member;
+                firstBook = book;
+            }
+        }
+    }
+
+    @Test
+    void loanListsLoadBooksAndMembersInOneQuery() {
+        assertQueries("전체 (엑셀/PDF)", 2, () -> readBookAndMember(loanService.findAll()));
+        assertSingleQuery("상태별", () -> readBookAndMember(loanService.findByStatus(LoanStatus.APPROVED)));
+        assertSingleQuery("대시보드", () -> readBookAndMember(loanService.findActiveLoans()));
+        assertSingleQuery("대출 목록 페이지", () ->
+                readBookAndMember(loanService.findPage(null, null, null, KeysetPage.DEFAULT_SIZE).getContent()));
+        assertSingleQuery("대출 목록 상태 필터", () ->
+                readBookAndMember(loanService.findPage(LoanStatus.RETURNED, null, null, KeysetPage.DEFAULT_SIZE)
+                        .getContent()));
+    }
+
+    @Test
+    void memberAndBookHistoriesLoadOnlyWhatTheyShow() {
+        // 내 대출 현황: 도서 정보만 표시
+        assertQueries("내 대출 현황", 2, () -> {
+            List<Loan> loans = loanService.findByMemberId(firstMember.getId());
+            for (Loan loan : loans) {
+                loan.getBook().getTitle();
+            }
+            return loans.size();
+        });
+        // 도서 상세 대출 이력: 대여자 이름만 표시
+        assertQueries("도서 대출 이력", 2, () -> {
+            List<Loan> loans = loanService.findByBookId(firstBook.getId());
+            for (Loan loan : loans) {
+                loan.getMember().getName();
+            }
+            return loans.size();
+        });
+    }
+
+    private void assertSingleQuery(String label, Supplier<Integer> work) {
+        assertQueries(label, 1, work);
+    }
+
+    private void assertQueries(String label, long expected, Supplier<Integer> work) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        Integer rows = transaction.execute(status -> work.get());
+        long queries = statistics.getPrepareStatementCount();
+        assertTrue(rows != null && rows > 1, label + " 결과가 비어 있음");
+        assertEquals(expected, queries, label + " 조회가 행마다 추가 SELECT를 실행함");
+    }
+
+    private static int readBookAndMember(List<Loan> loans) {
+        for (Loan loan : loans) {
+            loan.getBook().getTitle();
+            loan.getMember().getName();
+        }
+        return loans.size();
+    }
+
+    private Loan newLoan(Book book, Member member, LoanStatus status) {
+        Loan loan = new Loan();
+        loan.setBook(book);
+        loan.setMember(member);
+        loan.setBorrowDate(LocalDate.now().minusDays(3));
+        loan.setReturnDueDate(LocalDate.now().plusDays(11));
+        loan.setStatus(status);
+        loan.setCreatedAt(LocalDateTime.now());
+        if (status == LoanStatus.RETURNED) {
+            loan.setReturnedDate(LocalDate.now());
+        }
+        return loan;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.bookmanagement.service;
+
+import com.example.bookmanagement.entity.Book;
+import com.example.bookmanagement.entity.Member;
+
+// 서비스 테스트 공용 데이터 (저장은 각 테스트에서)
+// 테스트들이 같은 H2 DB를 함께 쓰므로 로그인 아이디/도서 제목에 테스트마다 다른 접두어를 붙임
+final class TestFixtures {
+
+    private static final String PHONE = "01000000000";
+    private static final String PASSWORD = "password";
+
+    private TestFixtures() {
+    }
+
+    // "hold" → "hold-<nanoTime>-"
+    static String prefix(String name) {
+        return name + "-" + System.nanoTime() + "-";
+    }
+
+    // 로그인 아이디가 username인 일반 회원
+    static Member member(String name, String username) {
+        return new Member(name, PHONE, username, PASSWORD);
+    }
+
+    // 저자/출판사는 공통 값인 도서 (보유 1권)
+    static Book book(String title, String isbn) {
+        return new Book(title, "저자", "출판사", isbn);
+    }
+}